@@ -0,0 +1,23 @@
+package com.evernote.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts the serialized bytes a benchmark processed. JMH reports it next to
+ * the score as a rate, bytes/s divided by ops/s gives bytes/op.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class ByteCounter {
+
+  public long bytes;
+
+  @Setup(Level.Iteration)
+  public void reset() {
+    bytes = 0;
+  }
+}
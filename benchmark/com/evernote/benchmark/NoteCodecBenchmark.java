@@ -0,0 +1,111 @@
+package com.evernote.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.evernote.edam.type.Note;
+import com.evernote.thrift.TException;
+import com.evernote.thrift.TFieldMask;
+import com.evernote.thrift.protocol.TProtocol;
+import com.evernote.thrift.protocol.TProtocolFactory;
+import com.evernote.thrift.protocol.TProtocolUtil;
+import com.evernote.thrift.protocol.TType;
+import com.evernote.thrift.transport.TMemoryBuffer;
+
+/**
+ * Writes, reads and skips a {@link Note} with 0, 10 or 100 resources of
+ * {@link Payloads#RESOURCE_SIZE} bytes each, through a reused
+ * {@link TMemoryBuffer}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NoteCodecBenchmark {
+
+  private static final TFieldMask LIST_VIEW = TFieldMask.of(Note.class,
+      "title", "updated", "notebookGuid");
+
+  @Param({ "0", "10", "100" })
+  public int resources;
+
+  @Param({ "binary", "compact" })
+  public String protocol;
+
+  private Note note;
+  private byte[] bytes;
+  private TMemoryBuffer buffer;
+  private TProtocol prot;
+
+  @Setup
+  public void setUp() throws TException {
+    TProtocolFactory factory = Payloads.protocol(protocol);
+    note = Payloads.note(new Random(42), resources);
+    bytes = Payloads.serialize(note, factory);
+    buffer = new TMemoryBuffer(bytes.length);
+    prot = factory.getProtocol(buffer);
+  }
+
+  @Benchmark
+  public int write(ByteCounter counter) throws TException {
+    buffer.reset();
+    note.write(prot);
+    counter.bytes += buffer.length();
+    return buffer.length();
+  }
+
+  @Benchmark
+  public Note read(ByteCounter counter) throws TException {
+    buffer.reset(bytes, 0, bytes.length);
+    Note result = new Note();
+    result.read(prot);
+    counter.bytes += bytes.length;
+    return result;
+  }
+
+  /**
+   * A note list row: only the title, timestamp and notebook are decoded.
+   */
+  @Benchmark
+  public Note readProjected(ByteCounter counter) throws TException {
+    buffer.reset(bytes, 0, bytes.length);
+    Note result = new Note();
+    result.read(prot, LIST_VIEW);
+    counter.bytes += bytes.length;
+    return result;
+  }
+
+  @Benchmark
+  public Note roundTrip(ByteCounter counter) throws TException {
+    buffer.reset();
+    note.write(prot);
+    counter.bytes += 2 * buffer.length();
+    Note result = new Note();
+    result.read(prot);
+    return result;
+  }
+
+  /**
+   * What a reader pays for a note it is not interested in.
+   */
+  @Benchmark
+  public void skip(ByteCounter counter) throws TException {
+    buffer.reset(bytes, 0, bytes.length);
+    TProtocolUtil.skip(prot, TType.STRUCT);
+    counter.bytes += bytes.length;
+  }
+}
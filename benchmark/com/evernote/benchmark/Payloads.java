@@ -0,0 +1,208 @@
+package com.evernote.benchmark;
+
+import java.util.Random;
+
+import com.evernote.edam.notestore.NoteFilter;
+import com.evernote.edam.notestore.NoteMetadata;
+import com.evernote.edam.notestore.NotesMetadataList;
+import com.evernote.edam.notestore.SyncChunk;
+import com.evernote.edam.type.Data;
+import com.evernote.edam.type.Note;
+import com.evernote.edam.type.NoteAttributes;
+import com.evernote.edam.type.NoteSortOrder;
+import com.evernote.edam.type.Notebook;
+import com.evernote.edam.type.Resource;
+import com.evernote.edam.type.ResourceAttributes;
+import com.evernote.edam.type.Tag;
+import com.evernote.thrift.TBase;
+import com.evernote.thrift.TDeserializer;
+import com.evernote.thrift.TException;
+import com.evernote.thrift.TSerializer;
+import com.evernote.thrift.protocol.TBinaryProtocol;
+import com.evernote.thrift.protocol.TCompactProtocol;
+import com.evernote.thrift.protocol.TProtocolFactory;
+
+/**
+ * Deterministic payloads shaped like what the service sends, shared by the
+ * benchmarks.
+ */
+final class Payloads {
+
+  /** Size of a resource body, about a compressed web image. */
+  static final int RESOURCE_SIZE = 24 * 1024;
+
+  private Payloads() {
+  }
+
+  static TProtocolFactory protocol(String name) {
+    if ("binary".equals(name)) {
+      return new TBinaryProtocol.Factory();
+    } else if ("compact".equals(name)) {
+      return new TCompactProtocol.Factory();
+    }
+    throw new IllegalArgumentException("Unknown protocol " + name);
+  }
+
+  /**
+   * A note as the archiver creates it: ENML content, attributes and
+   * <code>resources</code> images with data and attributes.
+   */
+  static Note note(Random random, int resources) {
+    Note note = new Note();
+    note.setGuid(guid(random));
+    note.setTitle("A representative article title " + random.nextInt());
+    StringBuilder content = new StringBuilder(
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<!DOCTYPE en-note SYSTEM \"http://xml.evernote.com/pub/enml2.dtd\">"
+            + "<en-note>");
+    for (int i = 0; i < 40; i++) {
+      content.append("<p>Paragraph ").append(i)
+          .append(" of the article, with some text in it, 中文 too.</p>");
+    }
+    content.append("</en-note>");
+    note.setContent(content.toString());
+    note.setContentHash(bytes(random, 16));
+    note.setContentLength(note.getContent().length());
+    note.setCreated(1500000000000L + random.nextInt());
+    note.setUpdated(note.getCreated() + 1000);
+    note.setActive(true);
+    note.setUpdateSequenceNum(random.nextInt(1 << 20));
+    note.setNotebookGuid(guid(random));
+    for (int i = 0; i < 3; i++) {
+      note.addToTagGuids(guid(random));
+    }
+
+    NoteAttributes attributes = new NoteAttributes();
+    attributes.setSourceURL("https://example.com/articles/" + random.nextInt());
+    attributes.setSource("web.clip");
+    attributes.setAuthor("Someone");
+    attributes.setLatitude(random.nextDouble());
+    attributes.setLongitude(random.nextDouble());
+    note.setAttributes(attributes);
+
+    for (int i = 0; i < resources; i++) {
+      note.addToResources(resource(random, note.getGuid(), i));
+    }
+    return note;
+  }
+
+  static Resource resource(Random random, String noteGuid, int index) {
+    Data data = new Data();
+    data.setBody(bytes(random, RESOURCE_SIZE));
+    data.setSize(RESOURCE_SIZE);
+    data.setBodyHash(bytes(random, 16));
+
+    ResourceAttributes attributes = new ResourceAttributes();
+    attributes.setFileName((index + 1) + ".jpeg");
+    attributes.setSourceURL("https://example.com/images/" + random.nextInt());
+
+    Resource resource = new Resource();
+    resource.setGuid(guid(random));
+    resource.setNoteGuid(noteGuid);
+    resource.setData(data);
+    resource.setMime("image/jpeg");
+    resource.setWidth((short) 800);
+    resource.setHeight((short) 600);
+    resource.setActive(true);
+    resource.setUpdateSequenceNum(random.nextInt(1 << 20));
+    resource.setAttributes(attributes);
+    return resource;
+  }
+
+  /**
+   * A sync chunk of note metadata, the way getSyncChunk returns it: notes
+   * without content or resource bodies, plus a few notebooks, tags and
+   * expunged GUIDs.
+   */
+  static SyncChunk syncChunk(Random random, int notes) {
+    SyncChunk chunk = new SyncChunk();
+    chunk.setCurrentTime(1500000000000L);
+    chunk.setUpdateCount(random.nextInt(1 << 20));
+    chunk.setChunkHighUSN(chunk.getUpdateCount() - 1);
+    for (int i = 0; i < notes; i++) {
+      Note note = note(random, 0);
+      note.unsetContent();
+      chunk.addToNotes(note);
+    }
+    for (int i = 0; i < 5; i++) {
+      Notebook notebook = new Notebook();
+      notebook.setGuid(guid(random));
+      notebook.setName("Notebook " + i);
+      notebook.setUpdateSequenceNum(random.nextInt(1 << 20));
+      notebook.setServiceCreated(1500000000000L);
+      notebook.setServiceUpdated(1500000000000L);
+      chunk.addToNotebooks(notebook);
+
+      Tag tag = new Tag();
+      tag.setGuid(guid(random));
+      tag.setName("tag" + i);
+      tag.setUpdateSequenceNum(random.nextInt(1 << 20));
+      chunk.addToTags(tag);
+
+      chunk.addToExpungedNotes(guid(random));
+    }
+    return chunk;
+  }
+
+  /**
+   * A page of findNotesMetadata results with titles, dates and attributes.
+   */
+  static NotesMetadataList notesMetadataList(Random random, int notes) {
+    NotesMetadataList list = new NotesMetadataList();
+    list.setStartIndex(0);
+    list.setTotalNotes(notes * 10);
+    list.setUpdateCount(random.nextInt(1 << 20));
+    for (int i = 0; i < notes; i++) {
+      NoteMetadata metadata = new NoteMetadata();
+      metadata.setGuid(guid(random));
+      metadata.setTitle("A representative article title " + i);
+      metadata.setContentLength(4096 + i);
+      metadata.setCreated(1500000000000L + i);
+      metadata.setUpdated(1500000000000L + i);
+      metadata.setUpdateSequenceNum(random.nextInt(1 << 20));
+      metadata.setNotebookGuid(guid(random));
+      metadata.addToTagGuids(guid(random));
+      NoteAttributes attributes = new NoteAttributes();
+      attributes.setSourceURL("https://example.com/articles/" + i);
+      metadata.setAttributes(attributes);
+      metadata.setLargestResourceMime("image/jpeg");
+      metadata.setLargestResourceSize(RESOURCE_SIZE);
+      list.addToNotes(metadata);
+    }
+    list.addToSearchedWords("archive");
+    return list;
+  }
+
+  static NoteFilter noteFilter(Random random) {
+    NoteFilter filter = new NoteFilter();
+    filter.setOrder(NoteSortOrder.UPDATED.getValue());
+    filter.setAscending(false);
+    filter.setWords("intitle:archive any:");
+    filter.setNotebookGuid(guid(random));
+    filter.addToTagGuids(guid(random));
+    filter.setTimeZone("Asia/Taipei");
+    filter.setInactive(false);
+    return filter;
+  }
+
+  static byte[] serialize(TBase<?> struct, TProtocolFactory protocol)
+      throws TException {
+    return new TSerializer(protocol).serialize(struct);
+  }
+
+  static <T extends TBase<?>> T deserialize(T struct, byte[] bytes,
+      TProtocolFactory protocol) throws TException {
+    new TDeserializer(protocol).deserialize(struct, bytes);
+    return struct;
+  }
+
+  static String guid(Random random) {
+    return new java.util.UUID(random.nextLong(), random.nextLong()).toString();
+  }
+
+  static byte[] bytes(Random random, int length) {
+    byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,94 @@
+package com.evernote.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.evernote.edam.notestore.NoteFilter;
+import com.evernote.edam.notestore.NotesMetadataList;
+import com.evernote.edam.notestore.SyncChunk;
+import com.evernote.thrift.TBase;
+import com.evernote.thrift.TException;
+import com.evernote.thrift.protocol.TProtocol;
+import com.evernote.thrift.protocol.TProtocolFactory;
+import com.evernote.thrift.transport.TMemoryBuffer;
+
+/**
+ * Writes and reads the sync and search payloads: a {@link SyncChunk} of 100
+ * notes, a {@link NotesMetadataList} page of 100 entries and a
+ * {@link NoteFilter}, through a reused {@link TMemoryBuffer}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StructCodecBenchmark {
+
+  private static final int NOTES = 100;
+
+  @Param({ "SyncChunk", "NotesMetadataList", "NoteFilter" })
+  public String payload;
+
+  @Param({ "binary", "compact" })
+  public String protocol;
+
+  private TBase<?> struct;
+  private byte[] bytes;
+  private TMemoryBuffer buffer;
+  private TProtocol prot;
+
+  @Setup
+  public void setUp() throws TException {
+    TProtocolFactory factory = Payloads.protocol(protocol);
+    Random random = new Random(42);
+    if ("SyncChunk".equals(payload)) {
+      struct = Payloads.syncChunk(random, NOTES);
+    } else if ("NotesMetadataList".equals(payload)) {
+      struct = Payloads.notesMetadataList(random, NOTES);
+    } else {
+      struct = Payloads.noteFilter(random);
+    }
+    bytes = Payloads.serialize(struct, factory);
+    buffer = new TMemoryBuffer(bytes.length);
+    prot = factory.getProtocol(buffer);
+  }
+
+  @Benchmark
+  public int write(ByteCounter counter) throws TException {
+    buffer.reset();
+    struct.write(prot);
+    counter.bytes += buffer.length();
+    return buffer.length();
+  }
+
+  @Benchmark
+  public TBase<?> read(ByteCounter counter) throws TException {
+    buffer.reset(bytes, 0, bytes.length);
+    TBase<?> result = newInstance();
+    result.read(prot);
+    counter.bytes += bytes.length;
+    return result;
+  }
+
+  private TBase<?> newInstance() {
+    if ("SyncChunk".equals(payload)) {
+      return new SyncChunk();
+    } else if ("NotesMetadataList".equals(payload)) {
+      return new NotesMetadataList();
+    }
+    return new NoteFilter();
+  }
+}
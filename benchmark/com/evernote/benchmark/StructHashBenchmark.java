@@ -0,0 +1,71 @@
+package com.evernote.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.evernote.edam.type.Note;
+
+/**
+ * Removes duplicates from a list of synced notes, half of which are copies.
+ * <code>hashSet</code> relies on the struct hash codes and should grow
+ * linearly with the number of notes; <code>linearScan</code> compares every
+ * note with every kept note, which is what a hash set degrades to when all
+ * hash codes are equal, and grows quadratically.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StructHashBenchmark {
+
+  @Param({ "1000", "10000" })
+  public int notes;
+
+  private List<Note> input;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    input = new ArrayList<Note>(notes);
+    for (int i = 0; i < notes / 2; i++) {
+      Note note = Payloads.note(random, 0);
+      input.add(note);
+      input.add(new Note(note));
+    }
+    Collections.shuffle(input, random);
+  }
+
+  @Benchmark
+  public int hashSet() {
+    return new HashSet<Note>(input).size();
+  }
+
+  @Benchmark
+  public int linearScan() {
+    List<Note> unique = new ArrayList<Note>();
+    for (Note note : input) {
+      if (!unique.contains(note)) {
+        unique.add(note);
+      }
+    }
+    return unique.size();
+  }
+}
@@ -0,0 +1,141 @@
+package com.evernote.clients;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs blocking store calls on an {@link Executor} and reports their outcome
+ * through a {@link CompletableFuture}. Shared by {@link AsyncNoteStoreClient}
+ * and {@link AsyncUserStoreClient}.
+ */
+class AsyncCalls {
+
+  /**
+   * A blocking call, free to throw the checked EDAM and Thrift exceptions.
+   */
+  interface Call<T> {
+    T call() throws Exception;
+  }
+
+  // how long an idle fallback thread is kept
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private static ExecutorService virtualThreadExecutor;
+  private static boolean virtualThreadsChecked;
+
+  private final Executor executor;
+  private final Lock lock;
+
+  /**
+   * @param serial
+   *          whether calls must run one at a time, because the target is not
+   *          thread safe
+   */
+  AsyncCalls(Executor executor, boolean serial) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Executor must not be null.");
+    }
+    this.executor = executor;
+    // a monitor would pin the carrier of a virtual thread for the whole
+    // round trip; fair, so that calls run in the order they were made
+    this.lock = serial ? new ReentrantLock(true) : null;
+  }
+
+  Executor getExecutor() {
+    return executor;
+  }
+
+  <T> CompletableFuture<T> submit(final Call<T> call) {
+    final CompletableFuture<T> future = new CompletableFuture<T>();
+    try {
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          if (future.isDone()) {
+            // cancelled before it started
+            return;
+          }
+          try {
+            T result;
+            if (lock == null) {
+              result = call.call();
+            } else {
+              lock.lock();
+              try {
+                result = call.call();
+              } finally {
+                lock.unlock();
+              }
+            }
+            future.complete(result);
+          } catch (Throwable t) {
+            future.completeExceptionally(t);
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * The executor async clients use unless they are given one. Where the
+   * runtime supports them this is a virtual thread per call, shared by all
+   * clients, since calls spend nearly all of their time waiting for the
+   * network. Otherwise it is a new pool of at most <code>maxThreads</code>
+   * daemon threads, which exit when idle, and further calls queue up.
+   */
+  static ExecutorService defaultExecutor(int maxThreads) {
+    ExecutorService executor = virtualThreadExecutor();
+    if (executor != null) {
+      return executor;
+    }
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads,
+        KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+          private final AtomicInteger count = new AtomicInteger();
+
+          @Override
+          public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "evernote-async-"
+                + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+          }
+        });
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
+  private static synchronized ExecutorService virtualThreadExecutor() {
+    if (!virtualThreadsChecked) {
+      virtualThreadExecutor = newVirtualThreadExecutor();
+      virtualThreadsChecked = true;
+    }
+    return virtualThreadExecutor;
+  }
+
+  private static ExecutorService newVirtualThreadExecutor() {
+    try {
+      Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) m.invoke(null);
+    } catch (Exception e) {
+      // not available on this runtime
+      return null;
+    } catch (LinkageError e) {
+      return null;
+    }
+  }
+}
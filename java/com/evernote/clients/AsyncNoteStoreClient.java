@@ -0,0 +1,1122 @@
+package com.evernote.clients;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.evernote.edam.notestore.ClientUsageMetrics;
+import com.evernote.edam.notestore.NoteCollectionCounts;
+import com.evernote.edam.notestore.NoteEmailParameters;
+import com.evernote.edam.notestore.NoteFilter;
+import com.evernote.edam.notestore.NoteList;
+import com.evernote.edam.notestore.NoteVersionId;
+import com.evernote.edam.notestore.NotesMetadataList;
+import com.evernote.edam.notestore.NotesMetadataResultSpec;
+import com.evernote.edam.notestore.RelatedQuery;
+import com.evernote.edam.notestore.RelatedResult;
+import com.evernote.edam.notestore.RelatedResultSpec;
+import com.evernote.edam.notestore.SyncChunk;
+import com.evernote.edam.notestore.SyncChunkFilter;
+import com.evernote.edam.notestore.SyncChunkHandler;
+import com.evernote.edam.notestore.SyncState;
+import com.evernote.edam.type.LazyMap;
+import com.evernote.edam.type.LinkedNotebook;
+import com.evernote.edam.type.Note;
+import com.evernote.edam.type.Notebook;
+import com.evernote.edam.type.Resource;
+import com.evernote.edam.type.ResourceAttributes;
+import com.evernote.edam.type.SavedSearch;
+import com.evernote.edam.type.SharedNotebook;
+import com.evernote.edam.type.SharedNotebookRecipientSettings;
+import com.evernote.edam.type.Tag;
+import com.evernote.edam.userstore.AuthenticationResult;
+
+/**
+ * A non-blocking view of a {@link NoteStoreClient}: every operation runs on an
+ * {@link Executor} and returns a {@link CompletableFuture} that completes with
+ * the result, or exceptionally with the EDAM or Thrift exception the call
+ * threw.
+ * <p>
+ * To have several calls in flight at once, wrap a
+ * {@link PooledNoteStoreClient}. Its pool bounds the number of concurrent
+ * requests, while the remaining calls wait for a free connection without
+ * holding up the caller. Any other NoteStoreClient is not thread safe, so calls
+ * on it are run one at a time.
+ * 
+ * <pre>
+ * AsyncNoteStoreClient async = new AsyncNoteStoreClient(
+ *     factory.createPooledNoteStoreClient(8));
+ * List&lt;CompletableFuture&lt;Note&gt;&gt; notes =
+ *     new ArrayList&lt;CompletableFuture&lt;Note&gt;&gt;();
+ * for (String guid : guids) {
+ *   notes.add(async.getNote(guid, true, false, false, false));
+ * }
+ * </pre>
+ */
+public class AsyncNoteStoreClient {
+
+  private final NoteStoreClient client;
+  private final AsyncCalls calls;
+
+  /**
+   * Runs calls on a virtual thread each where available. Otherwise they run on
+   * a pool of daemon threads, with as many threads as a
+   * {@link PooledNoteStoreClient} has connections, or one for any other client.
+   */
+  public AsyncNoteStoreClient(NoteStoreClient client) {
+    this(client, AsyncCalls.defaultExecutor(
+        client instanceof PooledNoteStoreClient
+            ? ((PooledNoteStoreClient) client).getPool().getMaxSize() : 1));
+  }
+
+  /**
+   * @param executor
+   *          the executor calls run on. With a pooled client the pool, not the
+   *          executor, limits how many requests are sent at once.
+   */
+  public AsyncNoteStoreClient(NoteStoreClient client, Executor executor) {
+    if (client == null) {
+      throw new IllegalArgumentException("NoteStoreClient must not be null.");
+    }
+    this.client = client;
+    this.calls = new AsyncCalls(executor,
+        !(client instanceof PooledNoteStoreClient));
+  }
+
+  /**
+   * @return the blocking client calls are delegated to
+   */
+  public NoteStoreClient getNoteStoreClient() {
+    return client;
+  }
+
+  /**
+   * @return the executor calls run on
+   */
+  public Executor getExecutor() {
+    return calls.getExecutor();
+  }
+
+  /**
+   * The calls of this client, for helpers that make their own calls to the
+   * same service and must be serialized with these.
+   */
+  AsyncCalls getCalls() {
+    return calls;
+  }
+
+  /**
+   * @see NoteStoreClient#getSyncState()
+   */
+  public CompletableFuture<SyncState> getSyncState() {
+    return calls.submit(new AsyncCalls.Call<SyncState>() {
+      @Override
+      public SyncState call() throws Exception {
+        return client.getSyncState();
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getSyncStateWithMetrics(ClientUsageMetrics)
+   */
+  public CompletableFuture<SyncState> getSyncStateWithMetrics(
+      final ClientUsageMetrics clientMetrics) {
+    return calls.submit(new AsyncCalls.Call<SyncState>() {
+      @Override
+      public SyncState call() throws Exception {
+        return client.getSyncStateWithMetrics(clientMetrics);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getSyncChunk(int, int, boolean)
+   */
+  public CompletableFuture<SyncChunk> getSyncChunk(final int afterUSN,
+      final int maxEntries, final boolean fullSyncOnly) {
+    return calls.submit(new AsyncCalls.Call<SyncChunk>() {
+      @Override
+      public SyncChunk call() throws Exception {
+        return client.getSyncChunk(afterUSN, maxEntries, fullSyncOnly);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getFilteredSyncChunk(int, int, SyncChunkFilter)
+   */
+  public CompletableFuture<SyncChunk> getFilteredSyncChunk(final int afterUSN,
+      final int maxEntries, final SyncChunkFilter filter) {
+    return calls.submit(new AsyncCalls.Call<SyncChunk>() {
+      @Override
+      public SyncChunk call() throws Exception {
+        return client.getFilteredSyncChunk(afterUSN, maxEntries, filter);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getSyncChunk(int, int, boolean, SyncChunkHandler)
+   */
+  public CompletableFuture<SyncChunk> getSyncChunk(final int afterUSN,
+      final int maxEntries, final boolean fullSyncOnly,
+      final SyncChunkHandler handler) {
+    return calls.submit(new AsyncCalls.Call<SyncChunk>() {
+      @Override
+      public SyncChunk call() throws Exception {
+        return client.getSyncChunk(afterUSN, maxEntries, fullSyncOnly, handler);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getFilteredSyncChunk(int, int, SyncChunkFilter,
+   *      SyncChunkHandler)
+   */
+  public CompletableFuture<SyncChunk> getFilteredSyncChunk(final int afterUSN,
+      final int maxEntries, final SyncChunkFilter filter,
+      final SyncChunkHandler handler) {
+    return calls.submit(new AsyncCalls.Call<SyncChunk>() {
+      @Override
+      public SyncChunk call() throws Exception {
+        return client.getFilteredSyncChunk(afterUSN, maxEntries, filter,
+            handler);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getLinkedNotebookSyncState(LinkedNotebook)
+   */
+  public CompletableFuture<SyncState> getLinkedNotebookSyncState(
+      final LinkedNotebook linkedNotebook) {
+    return calls.submit(new AsyncCalls.Call<SyncState>() {
+      @Override
+      public SyncState call() throws Exception {
+        return client.getLinkedNotebookSyncState(linkedNotebook);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getLinkedNotebookSyncChunk(LinkedNotebook, int, int,
+   *      boolean)
+   */
+  public CompletableFuture<SyncChunk> getLinkedNotebookSyncChunk(
+      final LinkedNotebook linkedNotebook, final int afterUSN,
+      final int maxEntries, final boolean fullSyncOnly) {
+    return calls.submit(new AsyncCalls.Call<SyncChunk>() {
+      @Override
+      public SyncChunk call() throws Exception {
+        return client.getLinkedNotebookSyncChunk(linkedNotebook, afterUSN,
+            maxEntries, fullSyncOnly);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getLinkedNotebookSyncChunk(LinkedNotebook, int, int,
+   *      boolean, SyncChunkHandler)
+   */
+  public CompletableFuture<SyncChunk> getLinkedNotebookSyncChunk(
+      final LinkedNotebook linkedNotebook, final int afterUSN,
+      final int maxEntries, final boolean fullSyncOnly,
+      final SyncChunkHandler handler) {
+    return calls.submit(new AsyncCalls.Call<SyncChunk>() {
+      @Override
+      public SyncChunk call() throws Exception {
+        return client.getLinkedNotebookSyncChunk(linkedNotebook, afterUSN,
+            maxEntries, fullSyncOnly, handler);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#listNotebooks()
+   */
+  public CompletableFuture<List<Notebook>> listNotebooks() {
+    return calls.submit(new AsyncCalls.Call<List<Notebook>>() {
+      @Override
+      public List<Notebook> call() throws Exception {
+        return client.listNotebooks();
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getNotebook(String)
+   */
+  public CompletableFuture<Notebook> getNotebook(final String guid) {
+    return calls.submit(new AsyncCalls.Call<Notebook>() {
+      @Override
+      public Notebook call() throws Exception {
+        return client.getNotebook(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getDefaultNotebook()
+   */
+  public CompletableFuture<Notebook> getDefaultNotebook() {
+    return calls.submit(new AsyncCalls.Call<Notebook>() {
+      @Override
+      public Notebook call() throws Exception {
+        return client.getDefaultNotebook();
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#createNotebook(Notebook)
+   */
+  public CompletableFuture<Notebook> createNotebook(final Notebook notebook) {
+    return calls.submit(new AsyncCalls.Call<Notebook>() {
+      @Override
+      public Notebook call() throws Exception {
+        return client.createNotebook(notebook);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#updateNotebook(Notebook)
+   */
+  public CompletableFuture<Integer> updateNotebook(final Notebook notebook) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.updateNotebook(notebook);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#expungeNotebook(String)
+   */
+  public CompletableFuture<Integer> expungeNotebook(final String guid) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.expungeNotebook(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#listTags()
+   */
+  public CompletableFuture<List<Tag>> listTags() {
+    return calls.submit(new AsyncCalls.Call<List<Tag>>() {
+      @Override
+      public List<Tag> call() throws Exception {
+        return client.listTags();
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#listTagsByNotebook(String)
+   */
+  public CompletableFuture<List<Tag>> listTagsByNotebook(
+      final String notebookGuid) {
+    return calls.submit(new AsyncCalls.Call<List<Tag>>() {
+      @Override
+      public List<Tag> call() throws Exception {
+        return client.listTagsByNotebook(notebookGuid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getTag(String)
+   */
+  public CompletableFuture<Tag> getTag(final String guid) {
+    return calls.submit(new AsyncCalls.Call<Tag>() {
+      @Override
+      public Tag call() throws Exception {
+        return client.getTag(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#createTag(Tag)
+   */
+  public CompletableFuture<Tag> createTag(final Tag tag) {
+    return calls.submit(new AsyncCalls.Call<Tag>() {
+      @Override
+      public Tag call() throws Exception {
+        return client.createTag(tag);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#updateTag(Tag)
+   */
+  public CompletableFuture<Integer> updateTag(final Tag tag) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.updateTag(tag);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#untagAll(String)
+   */
+  public CompletableFuture<Void> untagAll(final String guid) {
+    return calls.submit(new AsyncCalls.Call<Void>() {
+      @Override
+      public Void call() throws Exception {
+        client.untagAll(guid);
+        return null;
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#expungeTag(String)
+   */
+  public CompletableFuture<Integer> expungeTag(final String guid) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.expungeTag(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#listSearches()
+   */
+  public CompletableFuture<List<SavedSearch>> listSearches() {
+    return calls.submit(new AsyncCalls.Call<List<SavedSearch>>() {
+      @Override
+      public List<SavedSearch> call() throws Exception {
+        return client.listSearches();
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getSearch(String)
+   */
+  public CompletableFuture<SavedSearch> getSearch(final String guid) {
+    return calls.submit(new AsyncCalls.Call<SavedSearch>() {
+      @Override
+      public SavedSearch call() throws Exception {
+        return client.getSearch(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#createSearch(SavedSearch)
+   */
+  public CompletableFuture<SavedSearch> createSearch(final SavedSearch search) {
+    return calls.submit(new AsyncCalls.Call<SavedSearch>() {
+      @Override
+      public SavedSearch call() throws Exception {
+        return client.createSearch(search);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#updateSearch(SavedSearch)
+   */
+  public CompletableFuture<Integer> updateSearch(final SavedSearch search) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.updateSearch(search);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#expungeSearch(String)
+   */
+  public CompletableFuture<Integer> expungeSearch(final String guid) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.expungeSearch(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#findNotes(NoteFilter, int, int)
+   */
+  public CompletableFuture<NoteList> findNotes(final NoteFilter filter,
+      final int offset, final int maxNotes) {
+    return calls.submit(new AsyncCalls.Call<NoteList>() {
+      @Override
+      public NoteList call() throws Exception {
+        return client.findNotes(filter, offset, maxNotes);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#findNoteOffset(NoteFilter, String)
+   */
+  public CompletableFuture<Integer> findNoteOffset(final NoteFilter filter,
+      final String guid) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.findNoteOffset(filter, guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#findNotesMetadata(NoteFilter, int, int,
+   *      NotesMetadataResultSpec)
+   */
+  public CompletableFuture<NotesMetadataList> findNotesMetadata(
+      final NoteFilter filter, final int offset, final int maxNotes,
+      final NotesMetadataResultSpec resultSpec) {
+    return calls.submit(new AsyncCalls.Call<NotesMetadataList>() {
+      @Override
+      public NotesMetadataList call() throws Exception {
+        return client.findNotesMetadata(filter, offset, maxNotes, resultSpec);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#findNoteCounts(NoteFilter, boolean)
+   */
+  public CompletableFuture<NoteCollectionCounts> findNoteCounts(
+      final NoteFilter filter, final boolean withTrash) {
+    return calls.submit(new AsyncCalls.Call<NoteCollectionCounts>() {
+      @Override
+      public NoteCollectionCounts call() throws Exception {
+        return client.findNoteCounts(filter, withTrash);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getNote(String, boolean, boolean, boolean, boolean)
+   */
+  public CompletableFuture<Note> getNote(final String guid,
+      final boolean withContent, final boolean withResourcesData,
+      final boolean withResourcesRecognition,
+      final boolean withResourcesAlternateData) {
+    return calls.submit(new AsyncCalls.Call<Note>() {
+      @Override
+      public Note call() throws Exception {
+        return client.getNote(guid, withContent, withResourcesData,
+            withResourcesRecognition, withResourcesAlternateData);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getNoteApplicationData(String)
+   */
+  public CompletableFuture<LazyMap> getNoteApplicationData(final String guid) {
+    return calls.submit(new AsyncCalls.Call<LazyMap>() {
+      @Override
+      public LazyMap call() throws Exception {
+        return client.getNoteApplicationData(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getNoteApplicationDataEntry(String, String)
+   */
+  public CompletableFuture<String> getNoteApplicationDataEntry(
+      final String guid, final String key) {
+    return calls.submit(new AsyncCalls.Call<String>() {
+      @Override
+      public String call() throws Exception {
+        return client.getNoteApplicationDataEntry(guid, key);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#setNoteApplicationDataEntry(String, String, String)
+   */
+  public CompletableFuture<Integer> setNoteApplicationDataEntry(
+      final String guid, final String key, final String value) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.setNoteApplicationDataEntry(guid, key, value);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#unsetNoteApplicationDataEntry(String, String)
+   */
+  public CompletableFuture<Integer> unsetNoteApplicationDataEntry(
+      final String guid, final String key) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.unsetNoteApplicationDataEntry(guid, key);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getNoteContent(String)
+   */
+  public CompletableFuture<String> getNoteContent(final String guid) {
+    return calls.submit(new AsyncCalls.Call<String>() {
+      @Override
+      public String call() throws Exception {
+        return client.getNoteContent(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getNoteSearchText(String, boolean, boolean)
+   */
+  public CompletableFuture<String> getNoteSearchText(final String guid,
+      final boolean noteOnly, final boolean tokenizeForIndexing) {
+    return calls.submit(new AsyncCalls.Call<String>() {
+      @Override
+      public String call() throws Exception {
+        return client.getNoteSearchText(guid, noteOnly, tokenizeForIndexing);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getResourceSearchText(String)
+   */
+  public CompletableFuture<String> getResourceSearchText(final String guid) {
+    return calls.submit(new AsyncCalls.Call<String>() {
+      @Override
+      public String call() throws Exception {
+        return client.getResourceSearchText(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getNoteTagNames(String)
+   */
+  public CompletableFuture<List<String>> getNoteTagNames(final String guid) {
+    return calls.submit(new AsyncCalls.Call<List<String>>() {
+      @Override
+      public List<String> call() throws Exception {
+        return client.getNoteTagNames(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#createNote(Note)
+   */
+  public CompletableFuture<Note> createNote(final Note note) {
+    return calls.submit(new AsyncCalls.Call<Note>() {
+      @Override
+      public Note call() throws Exception {
+        return client.createNote(note);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#updateNote(Note)
+   */
+  public CompletableFuture<Note> updateNote(final Note note) {
+    return calls.submit(new AsyncCalls.Call<Note>() {
+      @Override
+      public Note call() throws Exception {
+        return client.updateNote(note);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#deleteNote(String)
+   */
+  public CompletableFuture<Integer> deleteNote(final String guid) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.deleteNote(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#expungeNote(String)
+   */
+  public CompletableFuture<Integer> expungeNote(final String guid) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.expungeNote(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#expungeNotes(List)
+   */
+  public CompletableFuture<Integer> expungeNotes(final List<String> noteGuids) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.expungeNotes(noteGuids);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#expungeInactiveNotes()
+   */
+  public CompletableFuture<Integer> expungeInactiveNotes() {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.expungeInactiveNotes();
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#copyNote(String, String)
+   */
+  public CompletableFuture<Note> copyNote(final String noteGuid,
+      final String toNotebookGuid) {
+    return calls.submit(new AsyncCalls.Call<Note>() {
+      @Override
+      public Note call() throws Exception {
+        return client.copyNote(noteGuid, toNotebookGuid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#listNoteVersions(String)
+   */
+  public CompletableFuture<List<NoteVersionId>> listNoteVersions(
+      final String noteGuid) {
+    return calls.submit(new AsyncCalls.Call<List<NoteVersionId>>() {
+      @Override
+      public List<NoteVersionId> call() throws Exception {
+        return client.listNoteVersions(noteGuid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getNoteVersion(String, int, boolean, boolean, boolean)
+   */
+  public CompletableFuture<Note> getNoteVersion(final String noteGuid,
+      final int updateSequenceNum, final boolean withResourcesData,
+      final boolean withResourcesRecognition,
+      final boolean withResourcesAlternateData) {
+    return calls.submit(new AsyncCalls.Call<Note>() {
+      @Override
+      public Note call() throws Exception {
+        return client.getNoteVersion(noteGuid, updateSequenceNum,
+            withResourcesData, withResourcesRecognition,
+            withResourcesAlternateData);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getResource(String, boolean, boolean, boolean,
+   *      boolean)
+   */
+  public CompletableFuture<Resource> getResource(final String guid,
+      final boolean withData, final boolean withRecognition,
+      final boolean withAttributes, final boolean withAlternateData) {
+    return calls.submit(new AsyncCalls.Call<Resource>() {
+      @Override
+      public Resource call() throws Exception {
+        return client.getResource(guid, withData, withRecognition,
+            withAttributes, withAlternateData);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getResourceApplicationData(String)
+   */
+  public CompletableFuture<LazyMap> getResourceApplicationData(
+      final String guid) {
+    return calls.submit(new AsyncCalls.Call<LazyMap>() {
+      @Override
+      public LazyMap call() throws Exception {
+        return client.getResourceApplicationData(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getResourceApplicationDataEntry(String, String)
+   */
+  public CompletableFuture<String> getResourceApplicationDataEntry(
+      final String guid, final String key) {
+    return calls.submit(new AsyncCalls.Call<String>() {
+      @Override
+      public String call() throws Exception {
+        return client.getResourceApplicationDataEntry(guid, key);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#setResourceApplicationDataEntry(String, String,
+   *      String)
+   */
+  public CompletableFuture<Integer> setResourceApplicationDataEntry(
+      final String guid, final String key, final String value) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.setResourceApplicationDataEntry(guid, key, value);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#unsetResourceApplicationDataEntry(String, String)
+   */
+  public CompletableFuture<Integer> unsetResourceApplicationDataEntry(
+      final String guid, final String key) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.unsetResourceApplicationDataEntry(guid, key);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#updateResource(Resource)
+   */
+  public CompletableFuture<Integer> updateResource(final Resource resource) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.updateResource(resource);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getResourceData(String)
+   */
+  public CompletableFuture<byte[]> getResourceData(final String guid) {
+    return calls.submit(new AsyncCalls.Call<byte[]>() {
+      @Override
+      public byte[] call() throws Exception {
+        return client.getResourceData(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getResourceByHash(String, byte[], boolean, boolean,
+   *      boolean)
+   */
+  public CompletableFuture<Resource> getResourceByHash(final String noteGuid,
+      final byte[] contentHash, final boolean withData,
+      final boolean withRecognition, final boolean withAlternateData) {
+    return calls.submit(new AsyncCalls.Call<Resource>() {
+      @Override
+      public Resource call() throws Exception {
+        return client.getResourceByHash(noteGuid, contentHash, withData,
+            withRecognition, withAlternateData);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getResourceRecognition(String)
+   */
+  public CompletableFuture<byte[]> getResourceRecognition(final String guid) {
+    return calls.submit(new AsyncCalls.Call<byte[]>() {
+      @Override
+      public byte[] call() throws Exception {
+        return client.getResourceRecognition(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getResourceAlternateData(String)
+   */
+  public CompletableFuture<byte[]> getResourceAlternateData(final String guid) {
+    return calls.submit(new AsyncCalls.Call<byte[]>() {
+      @Override
+      public byte[] call() throws Exception {
+        return client.getResourceAlternateData(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getResourceAttributes(String)
+   */
+  public CompletableFuture<ResourceAttributes> getResourceAttributes(
+      final String guid) {
+    return calls.submit(new AsyncCalls.Call<ResourceAttributes>() {
+      @Override
+      public ResourceAttributes call() throws Exception {
+        return client.getResourceAttributes(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getPublicNotebook(int, String)
+   */
+  public CompletableFuture<Notebook> getPublicNotebook(final int userId,
+      final String publicUri) {
+    return calls.submit(new AsyncCalls.Call<Notebook>() {
+      @Override
+      public Notebook call() throws Exception {
+        return client.getPublicNotebook(userId, publicUri);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#createSharedNotebook(SharedNotebook)
+   */
+  public CompletableFuture<SharedNotebook> createSharedNotebook(
+      final SharedNotebook sharedNotebook) {
+    return calls.submit(new AsyncCalls.Call<SharedNotebook>() {
+      @Override
+      public SharedNotebook call() throws Exception {
+        return client.createSharedNotebook(sharedNotebook);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#updateSharedNotebook(SharedNotebook)
+   */
+  public CompletableFuture<Integer> updateSharedNotebook(
+      final SharedNotebook sharedNotebook) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.updateSharedNotebook(sharedNotebook);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#sendMessageToSharedNotebookMembers(String, String,
+   *      List)
+   */
+  public CompletableFuture<Integer> sendMessageToSharedNotebookMembers(
+      final String notebookGuid, final String messageText,
+      final List<String> recipients) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.sendMessageToSharedNotebookMembers(notebookGuid,
+            messageText, recipients);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#listSharedNotebooks()
+   */
+  public CompletableFuture<List<SharedNotebook>> listSharedNotebooks() {
+    return calls.submit(new AsyncCalls.Call<List<SharedNotebook>>() {
+      @Override
+      public List<SharedNotebook> call() throws Exception {
+        return client.listSharedNotebooks();
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#expungeSharedNotebooks(List)
+   */
+  public CompletableFuture<Integer> expungeSharedNotebooks(
+      final List<Long> sharedNotebookIds) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.expungeSharedNotebooks(sharedNotebookIds);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#createLinkedNotebook(LinkedNotebook)
+   */
+  public CompletableFuture<LinkedNotebook> createLinkedNotebook(
+      final LinkedNotebook linkedNotebook) {
+    return calls.submit(new AsyncCalls.Call<LinkedNotebook>() {
+      @Override
+      public LinkedNotebook call() throws Exception {
+        return client.createLinkedNotebook(linkedNotebook);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#updateLinkedNotebook(LinkedNotebook)
+   */
+  public CompletableFuture<Integer> updateLinkedNotebook(
+      final LinkedNotebook linkedNotebook) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.updateLinkedNotebook(linkedNotebook);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#listLinkedNotebooks()
+   */
+  public CompletableFuture<List<LinkedNotebook>> listLinkedNotebooks() {
+    return calls.submit(new AsyncCalls.Call<List<LinkedNotebook>>() {
+      @Override
+      public List<LinkedNotebook> call() throws Exception {
+        return client.listLinkedNotebooks();
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#expungeLinkedNotebook(String)
+   */
+  public CompletableFuture<Integer> expungeLinkedNotebook(final String guid) {
+    return calls.submit(new AsyncCalls.Call<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return client.expungeLinkedNotebook(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#authenticateToSharedNotebook(String)
+   */
+  public CompletableFuture<AuthenticationResult> authenticateToSharedNotebook(
+      final String shareKey) {
+    return calls.submit(new AsyncCalls.Call<AuthenticationResult>() {
+      @Override
+      public AuthenticationResult call() throws Exception {
+        return client.authenticateToSharedNotebook(shareKey);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#getSharedNotebookByAuth()
+   */
+  public CompletableFuture<SharedNotebook> getSharedNotebookByAuth() {
+    return calls.submit(new AsyncCalls.Call<SharedNotebook>() {
+      @Override
+      public SharedNotebook call() throws Exception {
+        return client.getSharedNotebookByAuth();
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#emailNote(NoteEmailParameters)
+   */
+  public CompletableFuture<Void> emailNote(
+      final NoteEmailParameters parameters) {
+    return calls.submit(new AsyncCalls.Call<Void>() {
+      @Override
+      public Void call() throws Exception {
+        client.emailNote(parameters);
+        return null;
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#shareNote(String)
+   */
+  public CompletableFuture<String> shareNote(final String guid) {
+    return calls.submit(new AsyncCalls.Call<String>() {
+      @Override
+      public String call() throws Exception {
+        return client.shareNote(guid);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#stopSharingNote(String)
+   */
+  public CompletableFuture<Void> stopSharingNote(final String guid) {
+    return calls.submit(new AsyncCalls.Call<Void>() {
+      @Override
+      public Void call() throws Exception {
+        client.stopSharingNote(guid);
+        return null;
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#authenticateToSharedNote(String, String, String)
+   */
+  public CompletableFuture<AuthenticationResult> authenticateToSharedNote(
+      final String guid, final String noteKey,
+      final String authenticationToken) {
+    return calls.submit(new AsyncCalls.Call<AuthenticationResult>() {
+      @Override
+      public AuthenticationResult call() throws Exception {
+        return client.authenticateToSharedNote(guid, noteKey,
+            authenticationToken);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#findRelated(RelatedQuery, RelatedResultSpec)
+   */
+  public CompletableFuture<RelatedResult> findRelated(final RelatedQuery query,
+      final RelatedResultSpec resultSpec) {
+    return calls.submit(new AsyncCalls.Call<RelatedResult>() {
+      @Override
+      public RelatedResult call() throws Exception {
+        return client.findRelated(query, resultSpec);
+      }
+    });
+  }
+
+  /**
+   * @see NoteStoreClient#setSharedNotebookRecipientSettings(String, long,
+   *      SharedNotebookRecipientSettings)
+   */
+  public CompletableFuture<Void> setSharedNotebookRecipientSettings(
+      final String authenticationToken, final long sharedNotebookId,
+      final SharedNotebookRecipientSettings recipientSettings) {
+    return calls.submit(new AsyncCalls.Call<Void>() {
+      @Override
+      public Void call() throws Exception {
+        client.setSharedNotebookRecipientSettings(authenticationToken,
+            sharedNotebookId, recipientSettings);
+        return null;
+      }
+    });
+  }
+}
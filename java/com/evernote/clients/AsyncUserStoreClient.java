@@ -0,0 +1,232 @@
+package com.evernote.clients;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.evernote.edam.type.PremiumInfo;
+import com.evernote.edam.type.User;
+import com.evernote.edam.userstore.AuthenticationResult;
+import com.evernote.edam.userstore.BootstrapInfo;
+import com.evernote.edam.userstore.PublicUserInfo;
+
+/**
+ * A non-blocking view of a {@link UserStoreClient}: every operation runs on an
+ * {@link Executor} and returns a {@link CompletableFuture} that completes with
+ * the result, or exceptionally with the EDAM or Thrift exception the call
+ * threw. The UserStoreClient is not thread safe, so calls are run one at a
+ * time.
+ */
+public class AsyncUserStoreClient {
+
+  private final UserStoreClient client;
+  private final AsyncCalls calls;
+
+  /**
+   * Runs calls on a virtual thread each where available, or on a single daemon
+   * thread otherwise.
+   */
+  public AsyncUserStoreClient(UserStoreClient client) {
+    this(client, AsyncCalls.defaultExecutor(1));
+  }
+
+  /**
+   * @param executor
+   *          the executor calls run on
+   */
+  public AsyncUserStoreClient(UserStoreClient client, Executor executor) {
+    if (client == null) {
+      throw new IllegalArgumentException("UserStoreClient must not be null.");
+    }
+    this.client = client;
+    this.calls = new AsyncCalls(executor, true);
+  }
+
+  /**
+   * @return the blocking client calls are delegated to
+   */
+  public UserStoreClient getUserStoreClient() {
+    return client;
+  }
+
+  /**
+   * @return the executor calls run on
+   */
+  public Executor getExecutor() {
+    return calls.getExecutor();
+  }
+
+  /**
+   * @see UserStoreClient#isBusinessUser()
+   */
+  public CompletableFuture<Boolean> isBusinessUser() {
+    return calls.submit(new AsyncCalls.Call<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        return client.isBusinessUser();
+      }
+    });
+  }
+
+  /**
+   * @see UserStoreClient#checkVersion(String, short, short)
+   */
+  public CompletableFuture<Boolean> checkVersion(final String clientName,
+      final short edamVersionMajor, final short edamVersionMinor) {
+    return calls.submit(new AsyncCalls.Call<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        return client.checkVersion(clientName, edamVersionMajor,
+            edamVersionMinor);
+      }
+    });
+  }
+
+  /**
+   * @see UserStoreClient#getBootstrapInfo(String)
+   */
+  public CompletableFuture<BootstrapInfo> getBootstrapInfo(
+      final String locale) {
+    return calls.submit(new AsyncCalls.Call<BootstrapInfo>() {
+      @Override
+      public BootstrapInfo call() throws Exception {
+        return client.getBootstrapInfo(locale);
+      }
+    });
+  }
+
+  /**
+   * @see UserStoreClient#authenticate(String, String, String, String, boolean)
+   */
+  public CompletableFuture<AuthenticationResult> authenticate(
+      final String username, final String password, final String consumerKey,
+      final String consumerSecret, final boolean supportsTwoFactor) {
+    return calls.submit(new AsyncCalls.Call<AuthenticationResult>() {
+      @Override
+      public AuthenticationResult call() throws Exception {
+        return client.authenticate(username, password, consumerKey,
+            consumerSecret, supportsTwoFactor);
+      }
+    });
+  }
+
+  /**
+   * @see UserStoreClient#authenticateLongSession(String, String, String,
+   *      String, String, String, boolean)
+   */
+  public CompletableFuture<AuthenticationResult> authenticateLongSession(
+      final String username, final String password, final String consumerKey,
+      final String consumerSecret, final String deviceIdentifier,
+      final String deviceDescription, final boolean supportsTwoFactor) {
+    return calls.submit(new AsyncCalls.Call<AuthenticationResult>() {
+      @Override
+      public AuthenticationResult call() throws Exception {
+        return client.authenticateLongSession(username, password, consumerKey,
+            consumerSecret, deviceIdentifier, deviceDescription,
+            supportsTwoFactor);
+      }
+    });
+  }
+
+  /**
+   * @see UserStoreClient#authenticateToBusiness()
+   */
+  public CompletableFuture<AuthenticationResult> authenticateToBusiness() {
+    return calls.submit(new AsyncCalls.Call<AuthenticationResult>() {
+      @Override
+      public AuthenticationResult call() throws Exception {
+        return client.authenticateToBusiness();
+      }
+    });
+  }
+
+  /**
+   * @see UserStoreClient#refreshAuthentication()
+   */
+  public CompletableFuture<AuthenticationResult> refreshAuthentication() {
+    return calls.submit(new AsyncCalls.Call<AuthenticationResult>() {
+      @Override
+      public AuthenticationResult call() throws Exception {
+        return client.refreshAuthentication();
+      }
+    });
+  }
+
+  /**
+   * @see UserStoreClient#getUser()
+   */
+  public CompletableFuture<User> getUser() {
+    return calls.submit(new AsyncCalls.Call<User>() {
+      @Override
+      public User call() throws Exception {
+        return client.getUser();
+      }
+    });
+  }
+
+  /**
+   * @see UserStoreClient#getPublicUserInfo(String)
+   */
+  public CompletableFuture<PublicUserInfo> getPublicUserInfo(
+      final String username) {
+    return calls.submit(new AsyncCalls.Call<PublicUserInfo>() {
+      @Override
+      public PublicUserInfo call() throws Exception {
+        return client.getPublicUserInfo(username);
+      }
+    });
+  }
+
+  /**
+   * @see UserStoreClient#getPremiumInfo()
+   */
+  public CompletableFuture<PremiumInfo> getPremiumInfo() {
+    return calls.submit(new AsyncCalls.Call<PremiumInfo>() {
+      @Override
+      public PremiumInfo call() throws Exception {
+        return client.getPremiumInfo();
+      }
+    });
+  }
+
+  /**
+   * @see UserStoreClient#getNoteStoreUrl()
+   */
+  public CompletableFuture<String> getNoteStoreUrl() {
+    return calls.submit(new AsyncCalls.Call<String>() {
+      @Override
+      public String call() throws Exception {
+        return client.getNoteStoreUrl();
+      }
+    });
+  }
+
+  /**
+   * @see UserStoreClient#revokeLongSession()
+   */
+  public CompletableFuture<Void> revokeLongSession() {
+    return calls.submit(new AsyncCalls.Call<Void>() {
+      @Override
+      public Void call() throws Exception {
+        client.revokeLongSession();
+        return null;
+      }
+    });
+  }
+
+  /**
+   * @see UserStoreClient#completeTwoFactorAuthentication(String, String,
+   *      String, String)
+   */
+  public CompletableFuture<Void> completeTwoFactorAuthentication(
+      final String authenticationToken, final String oneTimeCode,
+      final String deviceIdentifier, final String deviceDescription) {
+    return calls.submit(new AsyncCalls.Call<Void>() {
+      @Override
+      public Void call() throws Exception {
+        client.completeTwoFactorAuthentication(authenticationToken, oneTimeCode,
+            deviceIdentifier, deviceDescription);
+        return null;
+      }
+    });
+  }
+}
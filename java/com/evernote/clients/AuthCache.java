@@ -0,0 +1,200 @@
+package com.evernote.clients;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.evernote.edam.error.EDAMNotFoundException;
+import com.evernote.edam.error.EDAMSystemException;
+import com.evernote.edam.error.EDAMUserException;
+import com.evernote.edam.userstore.AuthenticationResult;
+import com.evernote.thrift.TException;
+
+/**
+ * Remembers what {@link ClientFactory} has to ask the service for before it
+ * can create a client: the note store URL of a user, and the
+ * {@link AuthenticationResult}s of shared notebook and business
+ * authentication. Factories that share a cache, e.g. {@link #getDefault()},
+ * only pay for these calls once per user token.
+ * <p>
+ * Note store URLs don't change and are kept until {@link #invalidate(String)}.
+ * Authentication results are kept until shortly before their
+ * <code>expiration</code>: once less than the refresh margin is left, the next
+ * request authenticates again, so callers never receive a token that is about
+ * to expire. If that fails while the old result is still valid, the old result
+ * is used. The expiration is converted to local time using the difference to
+ * the result's <code>currentTime</code>, so the local clock may be off.
+ * <p>
+ * Instances are thread safe. Concurrent requests for the same entry wait for
+ * one call to the service.
+ * 
+ * @see ClientFactory#setAuthCache(AuthCache)
+ */
+public class AuthCache {
+
+  public static final long DEFAULT_REFRESH_MARGIN = 10 * 60 * 1000;
+
+  interface UrlLoader {
+    String load() throws EDAMUserException, EDAMSystemException, TException;
+  }
+
+  interface Authenticator {
+    AuthenticationResult authenticate() throws EDAMUserException,
+        EDAMSystemException, EDAMNotFoundException, TException;
+  }
+
+  private static AuthCache defaultCache;
+
+  private final ConcurrentMap<Key, Entry> entries =
+      new ConcurrentHashMap<Key, Entry>();
+  private volatile long refreshMargin = DEFAULT_REFRESH_MARGIN;
+
+  /**
+   * The cache shared by the whole process.
+   */
+  public static synchronized AuthCache getDefault() {
+    if (defaultCache == null) {
+      defaultCache = new AuthCache();
+    }
+    return defaultCache;
+  }
+
+  /**
+   * Sets how long, in ms, before its expiration an authentication result is
+   * renewed. At most a quarter of the result's lifetime is used, so short
+   * lived results are still reused.
+   */
+  public void setRefreshMargin(long refreshMargin) {
+    if (refreshMargin < 0) {
+      throw new IllegalArgumentException("refreshMargin must not be negative");
+    }
+    this.refreshMargin = refreshMargin;
+  }
+
+  /**
+   * Forgets everything obtained with <code>token</code>, e.g. after it has been
+   * revoked or a cached result was rejected.
+   */
+  public void invalidate(String token) {
+    for (Iterator<Key> it = entries.keySet().iterator(); it.hasNext();) {
+      if (it.next().token.equals(token)) {
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * Forgets everything.
+   */
+  public void clear() {
+    entries.clear();
+  }
+
+  String getNoteStoreUrl(String userStoreUrl, String token, UrlLoader loader)
+      throws EDAMUserException, EDAMSystemException, TException {
+    Entry entry = entry(new Key("url", token, userStoreUrl));
+    synchronized (entry) {
+      if (entry.noteStoreUrl == null) {
+        entry.noteStoreUrl = loader.load();
+      }
+      return entry.noteStoreUrl;
+    }
+  }
+
+  AuthenticationResult getSharedNotebookAuth(String token, String shareKey,
+      Authenticator authenticator) throws EDAMUserException,
+      EDAMSystemException, EDAMNotFoundException, TException {
+    return authenticate(new Key("share", token, shareKey), authenticator);
+  }
+
+  AuthenticationResult getBusinessAuth(String token,
+      Authenticator authenticator) throws EDAMUserException,
+      EDAMSystemException, TException {
+    try {
+      return authenticate(new Key("business", token, ""), authenticator);
+    } catch (EDAMNotFoundException e) {
+      // business authentication does not throw it
+      throw new AssertionError(e);
+    }
+  }
+
+  private AuthenticationResult authenticate(Key key,
+      Authenticator authenticator) throws EDAMUserException,
+      EDAMSystemException, EDAMNotFoundException, TException {
+    Entry entry = entry(key);
+    synchronized (entry) {
+      long now = System.currentTimeMillis();
+      if (entry.auth != null && now < entry.refreshAt) {
+        return entry.auth;
+      }
+
+      AuthenticationResult auth;
+      try {
+        auth = authenticator.authenticate();
+      } catch (TException e) {
+        if (entry.auth != null && now < entry.expiresAt) {
+          return entry.auth;
+        }
+        throw e;
+      } catch (EDAMSystemException e) {
+        if (entry.auth != null && now < entry.expiresAt) {
+          return entry.auth;
+        }
+        throw e;
+      }
+
+      long lifetime = auth.getExpiration() - auth.getCurrentTime();
+      entry.auth = auth;
+      // measured from before the request, so we err on the early side
+      entry.expiresAt = now + lifetime;
+      entry.refreshAt = entry.expiresAt - Math.min(refreshMargin, lifetime / 4);
+      return auth;
+    }
+  }
+
+  private Entry entry(Key key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      Entry created = new Entry();
+      entry = entries.putIfAbsent(key, created);
+      if (entry == null) {
+        entry = created;
+      }
+    }
+    return entry;
+  }
+
+  private static class Key {
+    final String kind;
+    final String token;
+    final String scope;
+
+    Key(String kind, String token, String scope) {
+      this.kind = kind;
+      this.token = token;
+      this.scope = scope;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return kind.equals(other.kind) && token.equals(other.token)
+          && scope.equals(other.scope);
+    }
+
+    @Override
+    public int hashCode() {
+      return (kind.hashCode() * 31 + token.hashCode()) * 31 + scope.hashCode();
+    }
+  }
+
+  private static class Entry {
+    String noteStoreUrl;
+    AuthenticationResult auth;
+    long expiresAt;
+    long refreshAt;
+  }
+}
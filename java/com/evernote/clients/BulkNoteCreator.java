@@ -0,0 +1,304 @@
+package com.evernote.clients;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiConsumer;
+
+import com.evernote.edam.notestore.NoteStore;
+import com.evernote.edam.type.Note;
+
+/**
+ * Creates many notes with several requests in flight at once.
+ * <p>
+ * Notes are taken from an {@link Iterator} as capacity frees up, so the input
+ * may be produced lazily and need not fit in memory. With
+ * {@link #setPreserveNotebookOrder(boolean)}, notes of the same notebook are
+ * created one after the other in input order, so they receive increasing
+ * update sequence numbers and creation order is kept, while different
+ * notebooks still proceed in parallel.
+ * <p>
+ * A failed note does not stop the batch; every note gets a {@link Result} with
+ * either the created note or the exception. Rate limiting is handled by the
+ * {@link RequestScheduler} of the underlying client: a rate limit reported for
+ * one note pauses the whole batch for the duration the service asked for,
+ * instead of every in-flight note discovering it on its own. If the client has
+ * no scheduler, the creator routes its own calls through a private one that
+ * does not pace calls and only shares the rate limit cooldowns; the client
+ * itself is left unchanged.
+ * 
+ * <pre>
+ * BulkNoteCreator creator = new BulkNoteCreator(
+ *     factory.createPooledNoteStoreClient(4));
+ * creator.setPreserveNotebookOrder(true);
+ * for (BulkNoteCreator.Result result : creator.createNotes(notes)) {
+ *   if (!result.isSuccess()) { ... }
+ * }
+ * </pre>
+ */
+public class BulkNoteCreator {
+
+  // notes read ahead of their notebook, per note in flight
+  private static final int READ_AHEAD = 4;
+
+  /**
+   * The outcome of creating one note.
+   */
+  public static class Result {
+    private final int index;
+    private final Note note;
+    private final Note created;
+    private final Throwable error;
+
+    Result(int index, Note note, Note created, Throwable error) {
+      this.index = index;
+      this.note = note;
+      this.created = created;
+      this.error = error;
+    }
+
+    /**
+     * @return the position of the note in the input, starting at 0
+     */
+    public int getIndex() {
+      return index;
+    }
+
+    /**
+     * @return the note as it was passed in
+     */
+    public Note getNote() {
+      return note;
+    }
+
+    public boolean isSuccess() {
+      return error == null;
+    }
+
+    /**
+     * @return the note returned by the service, or null if creating it failed
+     */
+    public Note getCreatedNote() {
+      return created;
+    }
+
+    /**
+     * @return the GUID of the created note, or null if creating it failed
+     */
+    public String getGuid() {
+      return created != null ? created.getGuid() : null;
+    }
+
+    /**
+     * @return the update sequence number of the created note, or 0 if
+     *         creating it failed
+     */
+    public int getUpdateSequenceNum() {
+      return created != null ? created.getUpdateSequenceNum() : 0;
+    }
+
+    /**
+     * @return the EDAM, Thrift or runtime exception creating the note failed
+     *         with, or null
+     */
+    public Throwable getError() {
+      return error;
+    }
+  }
+
+  /**
+   * Receives results as notes complete, on the thread that called
+   * {@link BulkNoteCreator#createNotes(Iterator, ResultHandler)}.
+   */
+  public interface ResultHandler {
+    void onResult(Result result);
+  }
+
+  private final AsyncCalls calls;
+  private final NoteStore.Iface service;
+  private final String token;
+  private int maxInFlight;
+  private boolean preserveNotebookOrder;
+
+  /**
+   * Creates notes through <code>client</code>. A {@link PooledNoteStoreClient}
+   * allows as many notes in flight as its pool has connections, any other
+   * client one at a time.
+   */
+  public BulkNoteCreator(NoteStoreClient client) {
+    this(new AsyncNoteStoreClient(client));
+  }
+
+  public BulkNoteCreator(AsyncNoteStoreClient client) {
+    if (client == null) {
+      throw new IllegalArgumentException("Client must not be null.");
+    }
+    this.calls = client.getCalls();
+    NoteStoreClient target = client.getNoteStoreClient();
+    if (target.getRequestScheduler() != null) {
+      this.service = target.getService();
+    } else {
+      // no pacing, only the shared cooldown after a rate limit
+      this.service = new RequestScheduler(Double.MAX_VALUE, 1).wrap(
+          NoteStore.Iface.class, target.getService());
+    }
+    this.token = target.getToken();
+    this.maxInFlight = target instanceof PooledNoteStoreClient
+        ? ((PooledNoteStoreClient) target).getPool().getMaxSize() : 1;
+  }
+
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  /**
+   * Sets how many notes may be uploading at once. Defaults to the size of the
+   * client's pool.
+   */
+  public void setMaxInFlight(int maxInFlight) {
+    if (maxInFlight <= 0) {
+      throw new IllegalArgumentException("maxInFlight must be positive");
+    }
+    this.maxInFlight = maxInFlight;
+  }
+
+  public boolean isPreserveNotebookOrder() {
+    return preserveNotebookOrder;
+  }
+
+  /**
+   * If true, notes with the same notebook GUID are created in input order, one
+   * at a time. Notes without a notebook GUID count as one notebook, the
+   * default notebook. Defaults to false.
+   */
+  public void setPreserveNotebookOrder(boolean preserveNotebookOrder) {
+    this.preserveNotebookOrder = preserveNotebookOrder;
+  }
+
+  /**
+   * Creates all <code>notes</code> and waits for them.
+   * 
+   * @return one result per note, in input order
+   */
+  public List<Result> createNotes(Iterable<Note> notes)
+      throws InterruptedException {
+    final List<Result> results = new ArrayList<Result>();
+    createNotes(notes.iterator(), new ResultHandler() {
+      @Override
+      public void onResult(Result result) {
+        results.add(result);
+      }
+    });
+    Collections.sort(results, new Comparator<Result>() {
+      @Override
+      public int compare(Result a, Result b) {
+        return a.index < b.index ? -1 : (a.index == b.index ? 0 : 1);
+      }
+    });
+    return results;
+  }
+
+  /**
+   * Creates the notes of <code>notes</code> as they are produced and passes
+   * each result to <code>handler</code> as soon as it is available, which is
+   * not necessarily in input order. Returns when all notes are done.
+   * <p>
+   * If the thread is interrupted, no further notes are started and the
+   * InterruptedException is thrown without waiting for the notes in flight.
+   */
+  public void createNotes(Iterator<Note> notes, ResultHandler handler)
+      throws InterruptedException {
+    BlockingQueue<Result> done = new LinkedBlockingQueue<Result>();
+    // notes waiting for an earlier note of their notebook, by notebook
+    Map<String, ArrayDeque<Pending>> blocked =
+        new HashMap<String, ArrayDeque<Pending>>();
+    int index = 0;
+    int inFlight = 0;
+    int parked = 0;
+
+    while (true) {
+      // keep the pipeline full, but don't read arbitrarily far ahead while
+      // notes wait for their notebook
+      while (inFlight < maxInFlight && parked < maxInFlight * READ_AHEAD
+          && notes.hasNext()) {
+        Pending pending = new Pending(index++, notes.next());
+        if (preserveNotebookOrder) {
+          ArrayDeque<Pending> queue = blocked.get(pending.notebook);
+          if (queue != null) {
+            queue.add(pending);
+            parked++;
+            continue;
+          }
+          blocked.put(pending.notebook, new ArrayDeque<Pending>());
+        }
+        start(pending, done);
+        inFlight++;
+      }
+      if (inFlight == 0) {
+        break;
+      }
+
+      Result result = done.take();
+      inFlight--;
+      if (preserveNotebookOrder) {
+        String notebook = notebookOf(result.note);
+        ArrayDeque<Pending> queue = blocked.get(notebook);
+        Pending next = queue.poll();
+        if (next != null) {
+          parked--;
+          start(next, done);
+          inFlight++;
+        } else {
+          blocked.remove(notebook);
+        }
+      }
+      handler.onResult(result);
+    }
+  }
+
+  private void start(final Pending pending, final BlockingQueue<Result> done) {
+    CompletableFuture<Note> future;
+    try {
+      future = calls.submit(new AsyncCalls.Call<Note>() {
+        @Override
+        public Note call() throws Exception {
+          return service.createNote(token, pending.note);
+        }
+      });
+    } catch (RuntimeException e) {
+      done.add(new Result(pending.index, pending.note, null, e));
+      return;
+    }
+    future.whenComplete(new BiConsumer<Note, Throwable>() {
+      @Override
+      public void accept(Note created, Throwable error) {
+        done.add(new Result(pending.index, pending.note, error == null
+            ? created : null, error));
+      }
+    });
+  }
+
+  private static String notebookOf(Note note) {
+    return note.isSetNotebookGuid() ? note.getNotebookGuid() : "";
+  }
+
+  private static class Pending {
+    final int index;
+    final Note note;
+    final String notebook;
+
+    Pending(int index, Note note) {
+      this.index = index;
+      this.note = note;
+      this.notebook = notebookOf(note);
+    }
+  }
+}
@@ -33,12 +33,15 @@ import com.evernote.auth.EvernoteAuth;
 import com.evernote.edam.error.EDAMNotFoundException;
 import com.evernote.edam.error.EDAMSystemException;
 import com.evernote.edam.error.EDAMUserException;
+import com.evernote.edam.notestore.NoteStore;
 import com.evernote.edam.type.LinkedNotebook;
 import com.evernote.edam.userstore.AuthenticationResult;
 import com.evernote.edam.userstore.Constants;
 import com.evernote.thrift.TException;
 import com.evernote.thrift.protocol.TBinaryProtocol;
+import com.evernote.thrift.protocol.TBinarySpool;
 import com.evernote.thrift.protocol.TProtocol;
+import com.evernote.thrift.protocol.TProtocolFactory;
 import com.evernote.thrift.transport.THttpClient;
 import com.evernote.thrift.transport.TTransportException;
 
@@ -57,6 +60,12 @@ public class ClientFactory {
   private EvernoteAuth evernoteAuth;
   private String userAgent;
   private Map<String, String> customHeaders;
+  private int chunkLength;
+  private TProtocolFactory protocolFactory = new TBinaryProtocol.Factory();
+  private TBinarySpool binarySpool;
+  private ResourceCache resourceCache;
+  private RequestScheduler requestScheduler;
+  private AuthCache authCache;
 
   /**
    * @param auth
@@ -98,13 +107,70 @@ public class ClientFactory {
    */
   public NoteStoreClient createNoteStoreClient() throws EDAMUserException,
       EDAMSystemException, TException {
+    String noteStoreUrl = getNoteStoreUrl();
+    return createStoreClient(NoteStoreClient.class, noteStoreUrl,
+        this.evernoteAuth.getToken());
+  }
+
+  /**
+   * The URL of the user's note store, asked from the UserStore the first time
+   * unless it is already known to the {@link EvernoteAuth} or the auth cache.
+   */
+  private String getNoteStoreUrl() throws EDAMUserException,
+      EDAMSystemException, TException {
     String noteStoreUrl = this.evernoteAuth.getNoteStoreUrl();
     if (noteStoreUrl == null) {
-      noteStoreUrl = createUserStoreClient().getNoteStoreUrl();
+      if (authCache != null) {
+        noteStoreUrl = authCache.getNoteStoreUrl(
+            this.evernoteAuth.getUserStoreUrl(), this.evernoteAuth.getToken(),
+            new AuthCache.UrlLoader() {
+              @Override
+              public String load() throws EDAMUserException,
+                  EDAMSystemException, TException {
+                return createUserStoreClient().getNoteStoreUrl();
+              }
+            });
+      } else {
+        noteStoreUrl = createUserStoreClient().getNoteStoreUrl();
+      }
       this.evernoteAuth.setNoteStoreUrl(noteStoreUrl);
     }
-    return createStoreClient(NoteStoreClient.class, noteStoreUrl,
-        this.evernoteAuth.getToken());
+    return noteStoreUrl;
+  }
+
+  /**
+   * Create a pool of up to <code>maxSize</code> NoteStore clients for the
+   * user's note store, for direct use of the pooled NoteStore.Client instances.
+   * 
+   * @see #createPooledNoteStoreClient(int)
+   * 
+   * @throws TException
+   * @throws EDAMSystemException
+   * @throws EDAMUserException
+   */
+  public NoteStoreClientPool createNoteStoreClientPool(int maxSize)
+      throws EDAMUserException, EDAMSystemException, TException {
+    String noteStoreUrl = getNoteStoreUrl();
+    return new NoteStoreClientPool(this, noteStoreUrl,
+        this.evernoteAuth.getToken(), maxSize);
+  }
+
+  /**
+   * Create a NoteStore client that can be shared between threads, backed by a
+   * pool of up to <code>maxSize</code> connections. Like the clients of
+   * {@link #createNoteStoreClient()}, it uses the resource cache and request
+   * scheduler of this factory.
+   * 
+   * @throws TException
+   * @throws EDAMSystemException
+   * @throws EDAMUserException
+   */
+  public PooledNoteStoreClient createPooledNoteStoreClient(int maxSize)
+      throws EDAMUserException, EDAMSystemException, TException {
+    PooledNoteStoreClient client = new PooledNoteStoreClient(
+        createNoteStoreClientPool(maxSize));
+    configure(client);
+    return client;
   }
 
   /**
@@ -116,9 +182,23 @@ public class ClientFactory {
       LinkedNotebook linkedNotebook) throws EDAMUserException,
       EDAMSystemException, TException, EDAMNotFoundException {
 
-    NoteStoreClient mainNoteStoreClient = createNoteStoreClient();
-    AuthenticationResult sharedAuth = mainNoteStoreClient
-        .authenticateToSharedNotebook(linkedNotebook.getShareKey());
+    final NoteStoreClient mainNoteStoreClient = createNoteStoreClient();
+    final String shareKey = linkedNotebook.getShareKey();
+    AuthenticationResult sharedAuth;
+    if (authCache != null) {
+      sharedAuth = authCache.getSharedNotebookAuth(
+          this.evernoteAuth.getToken(), shareKey,
+          new AuthCache.Authenticator() {
+            @Override
+            public AuthenticationResult authenticate()
+                throws EDAMUserException, EDAMSystemException,
+                EDAMNotFoundException, TException {
+              return mainNoteStoreClient.authenticateToSharedNotebook(shareKey);
+            }
+          });
+    } else {
+      sharedAuth = mainNoteStoreClient.authenticateToSharedNotebook(shareKey);
+    }
     NoteStoreClient linkedNoteStoreClient = createStoreClient(
         NoteStoreClient.class, linkedNotebook.getNoteStoreUrl(),
         sharedAuth.getAuthenticationToken());
@@ -133,7 +213,8 @@ public class ClientFactory {
    * any number of API calls, but is NOT thread safe.
    * 
    * This method will check expiration time for the business authorization
-   * token, this is a network request
+   * token, this is a network request unless a valid result is in the auth
+   * cache
    * 
    * This method is synchronous
    * 
@@ -146,8 +227,19 @@ public class ClientFactory {
       throws TException, EDAMUserException, EDAMSystemException {
 
     NoteStoreClient mainNoteStoreClient = createNoteStoreClient();
-    AuthenticationResult businessAuthResult = createUserStoreClient()
-        .authenticateToBusiness();
+    AuthenticationResult businessAuthResult;
+    if (authCache != null) {
+      businessAuthResult = authCache.getBusinessAuth(
+          this.evernoteAuth.getToken(), new AuthCache.Authenticator() {
+            @Override
+            public AuthenticationResult authenticate()
+                throws EDAMUserException, EDAMSystemException, TException {
+              return createUserStoreClient().authenticateToBusiness();
+            }
+          });
+    } else {
+      businessAuthResult = createUserStoreClient().authenticateToBusiness();
+    }
     NoteStoreClient linkedNoteStoreClient = createStoreClient(
         NoteStoreClient.class, businessAuthResult.getNoteStoreUrl(),
         businessAuthResult.getAuthenticationToken());
@@ -165,8 +257,33 @@ public class ClientFactory {
    */
   <T> T createStoreClient(Class<T> clientClass, String url, String token)
       throws TTransportException {
-    THttpClient transport = new THttpClient(url);
+    TProtocol protocol = createProtocol(url);
+    T client;
+    try {
+      client = clientClass.getDeclaredConstructor(TProtocol.class,
+          TProtocol.class, String.class).newInstance(protocol, protocol, token);
+    } catch (Throwable e) {
+      throw new RuntimeException("Couldn't create " + clientClass.getName()
+          + " due to the error.", e);
+    }
+    if (client instanceof NoteStoreClient) {
+      configure((NoteStoreClient) client);
+    }
+    return client;
+  }
+
+  /**
+   * Create a bare NoteStore.Client for <code>url</code>, without the wrapper,
+   * resource cache or request scheduler of {@link #createStoreClient}.
+   */
+  NoteStore.Client createNoteStoreServiceClient(String url)
+      throws TTransportException {
+    return new NoteStore.Client(createProtocol(url));
+  }
 
+  private TProtocol createProtocol(String url) throws TTransportException {
+    THttpClient transport = new THttpClient(url);
+    transport.setChunkedStreamingMode(chunkLength);
     transport.setCustomHeader(USER_AGENT_KEY, generateUserAgent());
     if (customHeaders != null) {
       for (Map.Entry<String, String> header : customHeaders.entrySet()) {
@@ -174,13 +291,19 @@ public class ClientFactory {
       }
     }
 
-    TProtocol protocol = new TBinaryProtocol(transport);
-    try {
-      return clientClass.getDeclaredConstructor(TProtocol.class,
-          TProtocol.class, String.class).newInstance(protocol, protocol, token);
-    } catch (Throwable e) {
-      throw new RuntimeException("Couldn't create " + clientClass.getName()
-          + " due to the error.", e);
+    TProtocol protocol = protocolFactory.getProtocol(transport);
+    if (binarySpool != null) {
+      protocol.setBinarySpool(binarySpool);
+    }
+    return protocol;
+  }
+
+  private void configure(NoteStoreClient noteStoreClient) {
+    if (resourceCache != null) {
+      noteStoreClient.setResourceCache(resourceCache);
+    }
+    if (requestScheduler != null) {
+      noteStoreClient.setRequestScheduler(requestScheduler);
     }
   }
 
@@ -226,4 +349,83 @@ public class ClientFactory {
     this.customHeaders = customHeaders;
   }
 
+  /**
+   * Stream request bodies of the created clients with chunked transfer
+   * encoding instead of buffering each request in memory. Useful when
+   * creating or updating notes with large resources.
+   * 
+   * @param chunkLength
+   *          the chunk size in bytes, or 0 to buffer requests (the default)
+   * @see THttpClient#setChunkedStreamingMode(int)
+   */
+  public void setChunkedStreamingMode(int chunkLength) {
+    this.chunkLength = chunkLength;
+  }
+
+  /**
+   * Set the protocol the created clients speak. The Evernote service uses
+   * {@link TBinaryProtocol}, which is the default; other protocols such as
+   * {@link com.evernote.thrift.protocol.TCompactProtocol} are only useful
+   * against endpoints known to accept them.
+   * 
+   * @param protocolFactory
+   */
+  public void setProtocolFactory(TProtocolFactory protocolFactory) {
+    if (protocolFactory == null) {
+      throw new IllegalArgumentException("protocolFactory must not be null");
+    }
+    this.protocolFactory = protocolFactory;
+  }
+
+  /**
+   * Defer large binary bodies in responses of the created clients. Resource
+   * data, recognition and alternate data bodies at or above the spool's
+   * threshold are written to temporary files while the response is read and
+   * only loaded by {@link com.evernote.edam.type.Data#getBody()}.
+   * 
+   * @param binarySpool
+   *          the spool to use, or null to read bodies into memory (the default)
+   */
+  public void setBinarySpool(TBinarySpool binarySpool) {
+    this.binarySpool = binarySpool;
+  }
+
+  /**
+   * Have the created note store clients serve resource bodies from the given
+   * cache when possible.
+   * 
+   * @param resourceCache
+   *          the cache to use, or null to always download bodies (the default)
+   * @see NoteStoreClient#setResourceCache(ResourceCache)
+   */
+  public void setResourceCache(ResourceCache resourceCache) {
+    this.resourceCache = resourceCache;
+  }
+
+  /**
+   * Pace the calls of all created note store clients with one shared
+   * scheduler, which also retries calls rejected with a rate limit.
+   * 
+   * @param requestScheduler
+   *          the scheduler to use, or null to call the service directly (the
+   *          default)
+   * @see NoteStoreClient#setRequestScheduler(RequestScheduler)
+   */
+  public void setRequestScheduler(RequestScheduler requestScheduler) {
+    this.requestScheduler = requestScheduler;
+  }
+
+  /**
+   * Reuse note store URLs and shared notebook and business authentication
+   * results across factories, instead of asking the service again for every
+   * factory and every linked or business client.
+   * 
+   * @param authCache
+   *          the cache to use, e.g. {@link AuthCache#getDefault()}, or null to
+   *          always ask the service (the default)
+   */
+  public void setAuthCache(AuthCache authCache) {
+    this.authCache = authCache;
+  }
+
 }
@@ -25,6 +25,7 @@
  */
 package com.evernote.clients;
 
+import java.io.IOException;
 import java.util.List;
 
 import com.evernote.edam.error.EDAMNotFoundException;
@@ -44,7 +45,9 @@ import com.evernote.edam.notestore.RelatedResult;
 import com.evernote.edam.notestore.RelatedResultSpec;
 import com.evernote.edam.notestore.SyncChunk;
 import com.evernote.edam.notestore.SyncChunkFilter;
+import com.evernote.edam.notestore.SyncChunkHandler;
 import com.evernote.edam.notestore.SyncState;
+import com.evernote.edam.type.Data;
 import com.evernote.edam.type.LazyMap;
 import com.evernote.edam.type.LinkedNotebook;
 import com.evernote.edam.type.Note;
@@ -68,6 +71,9 @@ public class NoteStoreClient {
 
   protected String token;
   protected final NoteStore.Client client;
+  private NoteStore.StreamingIface service;
+  private RequestScheduler requestScheduler;
+  private ResourceCache resourceCache;
 
   NoteStoreClient(TProtocol prot, String token) {
     if (prot == null || token == null) {
@@ -87,6 +93,18 @@ public class NoteStoreClient {
     this.token = token;
   }
 
+  /**
+   * For subclasses that are not bound to a single {@link NoteStore.Client} and
+   * override {@link #directService()} instead.
+   */
+  NoteStoreClient(String token) {
+    if (token == null) {
+      throw new IllegalArgumentException("Token must not be null.");
+    }
+    this.client = null;
+    this.token = token;
+  }
+
   /**
    * If direct access to the Note Store is needed, all of these calls are
    * synchronous
@@ -97,6 +115,60 @@ public class NoteStoreClient {
     return client;
   }
 
+  /**
+   * The service all calls of this wrapper go through: the client itself, or a
+   * proxy that paces calls with the {@link RequestScheduler}.
+   */
+  NoteStore.StreamingIface getService() {
+    return service != null ? service : directService();
+  }
+
+  /**
+   * The service calls go to, before any pacing.
+   */
+  NoteStore.StreamingIface directService() {
+    return client;
+  }
+
+  /**
+   * @return the scheduler calls are paced with, or null
+   */
+  public RequestScheduler getRequestScheduler() {
+    return requestScheduler;
+  }
+
+  /**
+   * Route every call of this wrapper through <code>requestScheduler</code>.
+   * Calls made on {@link #getClient()} directly are not affected.
+   * 
+   * @param requestScheduler
+   *          the scheduler to use, or null to call the service directly
+   */
+  public void setRequestScheduler(RequestScheduler requestScheduler) {
+    this.requestScheduler = requestScheduler;
+    this.service = requestScheduler == null ? null : requestScheduler.wrap(
+        NoteStore.StreamingIface.class, directService());
+  }
+
+  /**
+   * @return the cache resource bodies are looked up in, or null
+   */
+  public ResourceCache getResourceCache() {
+    return resourceCache;
+  }
+
+  /**
+   * Serve the bodies of {@link #getResourceByHash} lookups from
+   * <code>resourceCache</code> when possible. Bodies that are not cached yet are
+   * downloaded as usual and added to the cache.
+   * 
+   * @param resourceCache
+   *          the cache to use, or null to always download bodies
+   */
+  public void setResourceCache(ResourceCache resourceCache) {
+    this.resourceCache = resourceCache;
+  }
+
   /**
    * @return authToken inserted into calls
    */
@@ -109,7 +181,7 @@ public class NoteStoreClient {
    */
   public SyncState getSyncState() throws EDAMUserException,
       EDAMSystemException, TException {
-    return getClient().getSyncState(getToken());
+    return getService().getSyncState(getToken());
   }
 
   /**
@@ -118,7 +190,7 @@ public class NoteStoreClient {
    */
   public SyncState getSyncStateWithMetrics(ClientUsageMetrics clientMetrics)
       throws EDAMUserException, EDAMSystemException, TException {
-    return getClient().getSyncStateWithMetrics(getToken(), clientMetrics);
+    return getService().getSyncStateWithMetrics(getToken(), clientMetrics);
   }
 
   /**
@@ -127,7 +199,7 @@ public class NoteStoreClient {
   public SyncChunk getSyncChunk(int afterUSN, int maxEntries,
       boolean fullSyncOnly) throws EDAMUserException, EDAMSystemException,
       TException {
-    return getClient().getSyncChunk(getToken(), afterUSN, maxEntries,
+    return getService().getSyncChunk(getToken(), afterUSN, maxEntries,
         fullSyncOnly);
   }
 
@@ -138,10 +210,38 @@ public class NoteStoreClient {
   public SyncChunk getFilteredSyncChunk(int afterUSN, int maxEntries,
       SyncChunkFilter filter) throws EDAMUserException, EDAMSystemException,
       TException {
-    return getClient().getFilteredSyncChunk(getToken(), afterUSN, maxEntries,
+    return getService().getFilteredSyncChunk(getToken(), afterUSN, maxEntries,
         filter);
   }
 
+  /**
+   * Streams a sync chunk to <code>handler</code> element by element. The
+   * returned chunk only carries currentTime, chunkHighUSN and updateCount.
+   *
+   * @see NoteStore.Client#getSyncChunk(String, int, int, boolean,
+   *      SyncChunkHandler)
+   */
+  public SyncChunk getSyncChunk(int afterUSN, int maxEntries,
+      boolean fullSyncOnly, SyncChunkHandler handler)
+      throws EDAMUserException, EDAMSystemException, TException {
+    return getService().getSyncChunk(getToken(), afterUSN, maxEntries,
+        fullSyncOnly, handler);
+  }
+
+  /**
+   * Streams a filtered sync chunk to <code>handler</code> element by element.
+   * The returned chunk only carries currentTime, chunkHighUSN and updateCount.
+   *
+   * @see NoteStore.Client#getFilteredSyncChunk(String, int, int,
+   *      SyncChunkFilter, SyncChunkHandler)
+   */
+  public SyncChunk getFilteredSyncChunk(int afterUSN, int maxEntries,
+      SyncChunkFilter filter, SyncChunkHandler handler)
+      throws EDAMUserException, EDAMSystemException, TException {
+    return getService().getFilteredSyncChunk(getToken(), afterUSN, maxEntries,
+        filter, handler);
+  }
+
   /**
    * @see NoteStore.Client#getLinkedNotebookSyncState(String,
    *      com.evernote.edam.type.LinkedNotebook)
@@ -149,7 +249,7 @@ public class NoteStoreClient {
   public SyncState getLinkedNotebookSyncState(LinkedNotebook linkedNotebook)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().getLinkedNotebookSyncState(getToken(), linkedNotebook);
+    return getService().getLinkedNotebookSyncState(getToken(), linkedNotebook);
   }
 
   /**
@@ -161,16 +261,33 @@ public class NoteStoreClient {
       int afterUSN, int maxEntries, boolean fullSyncOnly)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().getLinkedNotebookSyncChunk(getToken(), linkedNotebook,
+    return getService().getLinkedNotebookSyncChunk(getToken(), linkedNotebook,
         afterUSN, maxEntries, fullSyncOnly);
   }
 
+  /**
+   * Streams a linked notebook sync chunk to <code>handler</code> element by
+   * element. The returned chunk only carries currentTime, chunkHighUSN and
+   * updateCount.
+   *
+   * @see NoteStore.Client#getLinkedNotebookSyncChunk(String,
+   *      com.evernote.edam.type.LinkedNotebook, int, int, boolean,
+   *      SyncChunkHandler)
+   */
+  public SyncChunk getLinkedNotebookSyncChunk(LinkedNotebook linkedNotebook,
+      int afterUSN, int maxEntries, boolean fullSyncOnly,
+      SyncChunkHandler handler) throws EDAMUserException, EDAMSystemException,
+      EDAMNotFoundException, TException {
+    return getService().getLinkedNotebookSyncChunk(getToken(), linkedNotebook,
+        afterUSN, maxEntries, fullSyncOnly, handler);
+  }
+
   /**
    * @see NoteStore.Client#listNotebooks(String)
    */
   public List<Notebook> listNotebooks() throws EDAMUserException,
       EDAMSystemException, TException {
-    return getClient().listNotebooks(getToken());
+    return getService().listNotebooks(getToken());
   }
 
   /**
@@ -178,7 +295,7 @@ public class NoteStoreClient {
    */
   public Notebook getNotebook(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().getNotebook(getToken(), guid);
+    return getService().getNotebook(getToken(), guid);
   }
 
   /**
@@ -186,7 +303,7 @@ public class NoteStoreClient {
    */
   public Notebook getDefaultNotebook() throws EDAMUserException,
       EDAMSystemException, TException {
-    return getClient().getDefaultNotebook(getToken());
+    return getService().getDefaultNotebook(getToken());
   }
 
   /**
@@ -195,7 +312,7 @@ public class NoteStoreClient {
    */
   public Notebook createNotebook(Notebook notebook) throws EDAMUserException,
       EDAMSystemException, TException {
-    return getClient().createNotebook(getToken(), notebook);
+    return getService().createNotebook(getToken(), notebook);
   }
 
   /**
@@ -204,7 +321,7 @@ public class NoteStoreClient {
    */
   public int updateNotebook(Notebook notebook) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().updateNotebook(getToken(), notebook);
+    return getService().updateNotebook(getToken(), notebook);
   }
 
   /**
@@ -212,7 +329,7 @@ public class NoteStoreClient {
    */
   public int expungeNotebook(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().expungeNotebook(getToken(), guid);
+    return getService().expungeNotebook(getToken(), guid);
   }
 
   /**
@@ -220,7 +337,7 @@ public class NoteStoreClient {
    */
   public List<Tag> listTags() throws EDAMUserException, EDAMSystemException,
       TException {
-    return getClient().listTags(getToken());
+    return getService().listTags(getToken());
   }
 
   /**
@@ -229,7 +346,7 @@ public class NoteStoreClient {
   public List<Tag> listTagsByNotebook(String notebookGuid)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().listTagsByNotebook(getToken(), notebookGuid);
+    return getService().listTagsByNotebook(getToken(), notebookGuid);
   }
 
   /**
@@ -237,7 +354,7 @@ public class NoteStoreClient {
    */
   public Tag getTag(String guid) throws EDAMUserException, EDAMSystemException,
       EDAMNotFoundException, TException {
-    return getClient().getTag(getToken(), guid);
+    return getService().getTag(getToken(), guid);
   }
 
   /**
@@ -245,7 +362,7 @@ public class NoteStoreClient {
    */
   public Tag createTag(Tag tag) throws EDAMUserException, EDAMSystemException,
       EDAMNotFoundException, TException {
-    return getClient().createTag(getToken(), tag);
+    return getService().createTag(getToken(), tag);
   }
 
   /**
@@ -253,7 +370,7 @@ public class NoteStoreClient {
    */
   public int updateTag(Tag tag) throws EDAMUserException, EDAMSystemException,
       EDAMNotFoundException, TException {
-    return getClient().updateTag(getToken(), tag);
+    return getService().updateTag(getToken(), tag);
   }
 
   /**
@@ -261,7 +378,7 @@ public class NoteStoreClient {
    */
   public void untagAll(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    getClient().untagAll(getToken(), guid);
+    getService().untagAll(getToken(), guid);
   }
 
   /**
@@ -269,7 +386,7 @@ public class NoteStoreClient {
    */
   public int expungeTag(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().expungeTag(getToken(), guid);
+    return getService().expungeTag(getToken(), guid);
   }
 
   /**
@@ -277,7 +394,7 @@ public class NoteStoreClient {
    */
   public List<SavedSearch> listSearches() throws EDAMUserException,
       EDAMSystemException, TException {
-    return getClient().listSearches(getToken());
+    return getService().listSearches(getToken());
   }
 
   /**
@@ -285,7 +402,7 @@ public class NoteStoreClient {
    */
   public SavedSearch getSearch(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().getSearch(getToken(), guid);
+    return getService().getSearch(getToken(), guid);
   }
 
   /**
@@ -294,7 +411,7 @@ public class NoteStoreClient {
    */
   public SavedSearch createSearch(SavedSearch search) throws EDAMUserException,
       EDAMSystemException, TException {
-    return getClient().createSearch(getToken(), search);
+    return getService().createSearch(getToken(), search);
   }
 
   /**
@@ -303,7 +420,7 @@ public class NoteStoreClient {
    */
   public int updateSearch(SavedSearch search) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().updateSearch(getToken(), search);
+    return getService().updateSearch(getToken(), search);
   }
 
   /**
@@ -311,7 +428,7 @@ public class NoteStoreClient {
    */
   public int expungeSearch(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().expungeSearch(getToken(), guid);
+    return getService().expungeSearch(getToken(), guid);
   }
 
   /**
@@ -321,7 +438,7 @@ public class NoteStoreClient {
   public NoteList findNotes(NoteFilter filter, int offset, int maxNotes)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().findNotes(getToken(), filter, offset, maxNotes);
+    return getService().findNotes(getToken(), filter, offset, maxNotes);
   }
 
   /**
@@ -331,7 +448,7 @@ public class NoteStoreClient {
   public int findNoteOffset(NoteFilter filter, String guid)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().findNoteOffset(getToken(), filter, guid);
+    return getService().findNoteOffset(getToken(), filter, guid);
   }
 
   /**
@@ -343,7 +460,7 @@ public class NoteStoreClient {
       int maxNotes, NotesMetadataResultSpec resultSpec)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().findNotesMetadata(getToken(), filter, offset, maxNotes,
+    return getService().findNotesMetadata(getToken(), filter, offset, maxNotes,
         resultSpec);
   }
 
@@ -354,7 +471,7 @@ public class NoteStoreClient {
   public NoteCollectionCounts findNoteCounts(NoteFilter filter,
       boolean withTrash) throws EDAMUserException, EDAMSystemException,
       EDAMNotFoundException, TException {
-    return getClient().findNoteCounts(getToken(), filter, withTrash);
+    return getService().findNoteCounts(getToken(), filter, withTrash);
   }
 
   /**
@@ -365,7 +482,7 @@ public class NoteStoreClient {
       boolean withResourcesData, boolean withResourcesRecognition,
       boolean withResourcesAlternateData) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient()
+    return getService()
         .getNote(getToken(), guid, withContent, withResourcesData,
             withResourcesRecognition, withResourcesAlternateData);
   }
@@ -375,7 +492,7 @@ public class NoteStoreClient {
    */
   public LazyMap getNoteApplicationData(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().getNoteApplicationData(getToken(), guid);
+    return getService().getNoteApplicationData(getToken(), guid);
   }
 
   /**
@@ -384,7 +501,7 @@ public class NoteStoreClient {
   public String getNoteApplicationDataEntry(String guid, String key)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().getNoteApplicationDataEntry(getToken(), guid, key);
+    return getService().getNoteApplicationDataEntry(getToken(), guid, key);
   }
 
   /**
@@ -394,7 +511,7 @@ public class NoteStoreClient {
   public int setNoteApplicationDataEntry(String guid, String key, String value)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient()
+    return getService()
         .setNoteApplicationDataEntry(getToken(), guid, key, value);
   }
 
@@ -404,7 +521,7 @@ public class NoteStoreClient {
   public int unsetNoteApplicationDataEntry(String guid, String key)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().unsetNoteApplicationDataEntry(getToken(), guid, key);
+    return getService().unsetNoteApplicationDataEntry(getToken(), guid, key);
   }
 
   /**
@@ -412,7 +529,7 @@ public class NoteStoreClient {
    */
   public String getNoteContent(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().getNoteContent(getToken(), guid);
+    return getService().getNoteContent(getToken(), guid);
   }
 
   /**
@@ -421,7 +538,7 @@ public class NoteStoreClient {
   public String getNoteSearchText(String guid, boolean noteOnly,
       boolean tokenizeForIndexing) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().getNoteSearchText(getToken(), guid, noteOnly,
+    return getService().getNoteSearchText(getToken(), guid, noteOnly,
         tokenizeForIndexing);
   }
 
@@ -430,7 +547,7 @@ public class NoteStoreClient {
    */
   public String getResourceSearchText(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().getResourceSearchText(getToken(), guid);
+    return getService().getResourceSearchText(getToken(), guid);
   }
 
   /**
@@ -438,7 +555,7 @@ public class NoteStoreClient {
    */
   public List<String> getNoteTagNames(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().getNoteTagNames(getToken(), guid);
+    return getService().getNoteTagNames(getToken(), guid);
   }
 
   /**
@@ -446,7 +563,7 @@ public class NoteStoreClient {
    */
   public Note createNote(Note note) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().createNote(getToken(), note);
+    return getService().createNote(getToken(), note);
   }
 
   /**
@@ -454,7 +571,7 @@ public class NoteStoreClient {
    */
   public Note updateNote(Note note) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().updateNote(getToken(), note);
+    return getService().updateNote(getToken(), note);
   }
 
   /**
@@ -462,7 +579,7 @@ public class NoteStoreClient {
    */
   public int deleteNote(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().deleteNote(getToken(), guid);
+    return getService().deleteNote(getToken(), guid);
   }
 
   /**
@@ -470,7 +587,7 @@ public class NoteStoreClient {
    */
   public int expungeNote(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().expungeNote(getToken(), guid);
+    return getService().expungeNote(getToken(), guid);
   }
 
   /**
@@ -478,7 +595,7 @@ public class NoteStoreClient {
    */
   public int expungeNotes(List<String> noteGuids) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().expungeNotes(getToken(), noteGuids);
+    return getService().expungeNotes(getToken(), noteGuids);
   }
 
   /**
@@ -486,7 +603,7 @@ public class NoteStoreClient {
    */
   public int expungeInactiveNotes() throws EDAMUserException,
       EDAMSystemException, TException {
-    return getClient().expungeInactiveNotes(getToken());
+    return getService().expungeInactiveNotes(getToken());
   }
 
   /**
@@ -495,7 +612,7 @@ public class NoteStoreClient {
   public Note copyNote(String noteGuid, String toNotebookGuid)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().copyNote(getToken(), noteGuid, toNotebookGuid);
+    return getService().copyNote(getToken(), noteGuid, toNotebookGuid);
   }
 
   /**
@@ -504,7 +621,7 @@ public class NoteStoreClient {
   public List<NoteVersionId> listNoteVersions(String noteGuid)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().listNoteVersions(getToken(), noteGuid);
+    return getService().listNoteVersions(getToken(), noteGuid);
   }
 
   /**
@@ -515,7 +632,7 @@ public class NoteStoreClient {
       boolean withResourcesData, boolean withResourcesRecognition,
       boolean withResourcesAlternateData) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient()
+    return getService()
         .getNoteVersion(getToken(), noteGuid, updateSequenceNum,
             withResourcesData, withResourcesRecognition,
             withResourcesAlternateData);
@@ -529,7 +646,7 @@ public class NoteStoreClient {
       boolean withRecognition, boolean withAttributes, boolean withAlternateData)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().getResource(getToken(), guid, withData, withRecognition,
+    return getService().getResource(getToken(), guid, withData, withRecognition,
         withAttributes, withAlternateData);
   }
 
@@ -539,7 +656,7 @@ public class NoteStoreClient {
   public LazyMap getResourceApplicationData(String guid)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().getResourceApplicationData(getToken(), guid);
+    return getService().getResourceApplicationData(getToken(), guid);
   }
 
   /**
@@ -549,7 +666,7 @@ public class NoteStoreClient {
   public String getResourceApplicationDataEntry(String guid, String key)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().getResourceApplicationDataEntry(getToken(), guid, key);
+    return getService().getResourceApplicationDataEntry(getToken(), guid, key);
   }
 
   /**
@@ -559,7 +676,7 @@ public class NoteStoreClient {
   public int setResourceApplicationDataEntry(String guid, String key,
       String value) throws EDAMUserException, EDAMSystemException,
       EDAMNotFoundException, TException {
-    return getClient().setResourceApplicationDataEntry(getToken(), guid, key,
+    return getService().setResourceApplicationDataEntry(getToken(), guid, key,
         value);
   }
 
@@ -570,7 +687,7 @@ public class NoteStoreClient {
   public int unsetResourceApplicationDataEntry(String guid, String key)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().unsetResourceApplicationDataEntry(getToken(), guid, key);
+    return getService().unsetResourceApplicationDataEntry(getToken(), guid, key);
   }
 
   /**
@@ -579,7 +696,7 @@ public class NoteStoreClient {
    */
   public int updateResource(Resource resource) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().updateResource(getToken(), resource);
+    return getService().updateResource(getToken(), resource);
   }
 
   /**
@@ -587,7 +704,7 @@ public class NoteStoreClient {
    */
   public byte[] getResourceData(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().getResourceData(getToken(), guid);
+    return getService().getResourceData(getToken(), guid);
   }
 
   /**
@@ -598,8 +715,30 @@ public class NoteStoreClient {
       boolean withData, boolean withRecognition, boolean withAlternateData)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().getResourceByHash(getToken(), noteGuid, contentHash,
-        withData, withRecognition, withAlternateData);
+    if (!withData || resourceCache == null) {
+      return getService().getResourceByHash(getToken(), noteGuid, contentHash,
+          withData, withRecognition, withAlternateData);
+    }
+
+    ResourceCache.Entry cached = resourceCache.getByHash(contentHash);
+    if (cached != null) {
+      Resource resource = getService().getResourceByHash(getToken(), noteGuid,
+          contentHash, false, withRecognition, withAlternateData);
+      resource.setData(cached.toData());
+      return resource;
+    }
+
+    Resource resource = getService().getResourceByHash(getToken(), noteGuid,
+        contentHash, true, withRecognition, withAlternateData);
+    Data data = resource.getData();
+    if (data != null && data.isSetBody() && !data.isBodyDeferred()) {
+      try {
+        resourceCache.put(null, data.getBody(), resource.getMime());
+      } catch (IOException e) {
+        // the cache is only an optimization
+      }
+    }
+    return resource;
   }
 
   /**
@@ -607,7 +746,7 @@ public class NoteStoreClient {
    */
   public byte[] getResourceRecognition(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().getResourceRecognition(getToken(), guid);
+    return getService().getResourceRecognition(getToken(), guid);
   }
 
   /**
@@ -615,7 +754,7 @@ public class NoteStoreClient {
    */
   public byte[] getResourceAlternateData(String guid) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().getResourceAlternateData(getToken(), guid);
+    return getService().getResourceAlternateData(getToken(), guid);
   }
 
   /**
@@ -624,7 +763,7 @@ public class NoteStoreClient {
   public ResourceAttributes getResourceAttributes(String guid)
       throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
       TException {
-    return getClient().getResourceAttributes(getToken(), guid);
+    return getService().getResourceAttributes(getToken(), guid);
   }
 
   /**
@@ -632,7 +771,7 @@ public class NoteStoreClient {
    */
   public Notebook getPublicNotebook(int userId, String publicUri)
       throws EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().getPublicNotebook(userId, publicUri);
+    return getService().getPublicNotebook(userId, publicUri);
   }
 
   /**
@@ -642,7 +781,7 @@ public class NoteStoreClient {
   public SharedNotebook createSharedNotebook(SharedNotebook sharedNotebook)
       throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
       TException {
-    return getClient().createSharedNotebook(getToken(), sharedNotebook);
+    return getService().createSharedNotebook(getToken(), sharedNotebook);
   }
 
   /**
@@ -652,7 +791,7 @@ public class NoteStoreClient {
   public int updateSharedNotebook(SharedNotebook sharedNotebook)
       throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
       TException {
-    return getClient().updateSharedNotebook(getToken(), sharedNotebook);
+    return getService().updateSharedNotebook(getToken(), sharedNotebook);
   }
 
   /**
@@ -662,7 +801,7 @@ public class NoteStoreClient {
   public int sendMessageToSharedNotebookMembers(String notebookGuid,
       String messageText, List<String> recipients) throws EDAMUserException,
       EDAMNotFoundException, EDAMSystemException, TException {
-    return getClient().sendMessageToSharedNotebookMembers(getToken(),
+    return getService().sendMessageToSharedNotebookMembers(getToken(),
         notebookGuid, messageText, recipients);
   }
 
@@ -671,7 +810,7 @@ public class NoteStoreClient {
    */
   public List<SharedNotebook> listSharedNotebooks() throws EDAMUserException,
       EDAMNotFoundException, EDAMSystemException, TException {
-    return getClient().listSharedNotebooks(getToken());
+    return getService().listSharedNotebooks(getToken());
   }
 
   /**
@@ -680,7 +819,7 @@ public class NoteStoreClient {
   public int expungeSharedNotebooks(List<Long> sharedNotebookIds)
       throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
       TException {
-    return getClient().expungeSharedNotebooks(getToken(), sharedNotebookIds);
+    return getService().expungeSharedNotebooks(getToken(), sharedNotebookIds);
   }
 
   /**
@@ -690,7 +829,7 @@ public class NoteStoreClient {
   public LinkedNotebook createLinkedNotebook(LinkedNotebook linkedNotebook)
       throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
       TException {
-    return getClient().createLinkedNotebook(getToken(), linkedNotebook);
+    return getService().createLinkedNotebook(getToken(), linkedNotebook);
   }
 
   /**
@@ -700,7 +839,7 @@ public class NoteStoreClient {
   public int updateLinkedNotebook(LinkedNotebook linkedNotebook)
       throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
       TException {
-    return getClient().updateLinkedNotebook(getToken(), linkedNotebook);
+    return getService().updateLinkedNotebook(getToken(), linkedNotebook);
   }
 
   /**
@@ -708,7 +847,7 @@ public class NoteStoreClient {
    */
   public List<LinkedNotebook> listLinkedNotebooks() throws EDAMUserException,
       EDAMNotFoundException, EDAMSystemException, TException {
-    return getClient().listLinkedNotebooks(getToken());
+    return getService().listLinkedNotebooks(getToken());
   }
 
   /**
@@ -716,7 +855,7 @@ public class NoteStoreClient {
    */
   public int expungeLinkedNotebook(String guid) throws EDAMUserException,
       EDAMNotFoundException, EDAMSystemException, TException {
-    return getClient().expungeLinkedNotebook(getToken(), guid);
+    return getService().expungeLinkedNotebook(getToken(), guid);
   }
 
   /**
@@ -725,7 +864,7 @@ public class NoteStoreClient {
   public AuthenticationResult authenticateToSharedNotebook(String shareKey)
       throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
       TException {
-    return getClient().authenticateToSharedNotebook(shareKey, getToken());
+    return getService().authenticateToSharedNotebook(shareKey, getToken());
   }
 
   /**
@@ -733,7 +872,7 @@ public class NoteStoreClient {
    */
   public SharedNotebook getSharedNotebookByAuth() throws EDAMUserException,
       EDAMNotFoundException, EDAMSystemException, TException {
-    return getClient().getSharedNotebookByAuth(getToken());
+    return getService().getSharedNotebookByAuth(getToken());
   }
 
   /**
@@ -743,7 +882,7 @@ public class NoteStoreClient {
   public void emailNote(NoteEmailParameters parameters)
       throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
       TException {
-    getClient().emailNote(getToken(), parameters);
+    getService().emailNote(getToken(), parameters);
   }
 
   /**
@@ -751,7 +890,7 @@ public class NoteStoreClient {
    */
   public String shareNote(String guid) throws EDAMUserException,
       EDAMNotFoundException, EDAMSystemException, TException {
-    return getClient().shareNote(getToken(), guid);
+    return getService().shareNote(getToken(), guid);
   }
 
   /**
@@ -759,7 +898,7 @@ public class NoteStoreClient {
    */
   public void stopSharingNote(String guid) throws EDAMUserException,
       EDAMNotFoundException, EDAMSystemException, TException {
-    getClient().stopSharingNote(getToken(), guid);
+    getService().stopSharingNote(getToken(), guid);
   }
 
   /**
@@ -768,7 +907,7 @@ public class NoteStoreClient {
   public AuthenticationResult authenticateToSharedNote(String guid,
       String noteKey, String authenticationToken) throws EDAMUserException,
       EDAMNotFoundException, EDAMSystemException, TException {
-    return getClient().authenticateToSharedNote(guid, noteKey,
+    return getService().authenticateToSharedNote(guid, noteKey,
         authenticationToken);
   }
 
@@ -780,7 +919,7 @@ public class NoteStoreClient {
   public RelatedResult findRelated(RelatedQuery query,
       RelatedResultSpec resultSpec) throws EDAMUserException,
       EDAMSystemException, EDAMNotFoundException, TException {
-    return getClient().findRelated(getToken(), query, resultSpec);
+    return getService().findRelated(getToken(), query, resultSpec);
   }
 
   /**
@@ -792,7 +931,7 @@ public class NoteStoreClient {
       final SharedNotebookRecipientSettings recipientSettings)
       throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
       TException {
-    getClient().setSharedNotebookRecipientSettings(authenticationToken,
+    getService().setSharedNotebookRecipientSettings(authenticationToken,
         sharedNotebookId, recipientSettings);
   }
 
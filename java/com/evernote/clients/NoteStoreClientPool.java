@@ -0,0 +1,139 @@
+package com.evernote.clients;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+import com.evernote.edam.notestore.NoteStore;
+import com.evernote.thrift.TException;
+import com.evernote.thrift.transport.TTransport;
+
+/**
+ * A bounded pool of {@link NoteStore.Client}s for one note store URL and
+ * authentication token.
+ * <p>
+ * A NoteStore.Client owns its protocol, its HTTP transport and a sequence id,
+ * so it must only be used by one thread at a time. The pool creates up to
+ * <code>maxSize</code> of them on demand and lends each to one caller at a
+ * time; further callers wait in {@link #borrow()} until one is returned.
+ * <p>
+ * Most code should use {@link PooledNoteStoreClient}, which borrows a client
+ * for every call. Instances are thread safe.
+ * 
+ * @see ClientFactory#createNoteStoreClientPool(int)
+ */
+public class NoteStoreClientPool {
+
+  private final ClientFactory factory;
+  private final String url;
+  private final String token;
+  private final int maxSize;
+  private final Semaphore permits;
+  private final ConcurrentLinkedQueue<NoteStore.Client> idle = new ConcurrentLinkedQueue<NoteStore.Client>();
+  private volatile boolean closed;
+
+  NoteStoreClientPool(ClientFactory factory, String url, String token,
+      int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be positive");
+    }
+    this.factory = factory;
+    this.url = url;
+    this.token = token;
+    this.maxSize = maxSize;
+    this.permits = new Semaphore(maxSize, true);
+  }
+
+  /**
+   * Takes a client out of the pool, creating one if none is idle and the pool
+   * is not full, or waiting for one otherwise. The client must be handed back
+   * with {@link #release(NoteStore.Client)} or
+   * {@link #invalidate(NoteStore.Client)}.
+   */
+  public NoteStore.Client borrow() throws TException {
+    if (closed) {
+      throw new IllegalStateException("The pool has been closed");
+    }
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TException("Interrupted while waiting for a NoteStore client",
+          e);
+    }
+
+    NoteStore.Client client = idle.poll();
+    if (client != null) {
+      return client;
+    }
+    try {
+      return factory.createNoteStoreServiceClient(url);
+    } catch (TException e) {
+      permits.release();
+      throw e;
+    } catch (RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns a client after a call that left its connection in a clean state,
+   * i.e. the call returned or threw one of the declared EDAM exceptions.
+   */
+  public void release(NoteStore.Client client) {
+    if (closed) {
+      close(client);
+    } else {
+      idle.offer(client);
+    }
+    permits.release();
+  }
+
+  /**
+   * Returns a client whose connection can't be trusted any more, e.g. after a
+   * transport or protocol error. The client is closed and will be replaced by a
+   * new one when needed.
+   */
+  public void invalidate(NoteStore.Client client) {
+    close(client);
+    permits.release();
+  }
+
+  /**
+   * Closes the idle clients. Clients that are borrowed are closed when they
+   * are returned.
+   */
+  public void close() {
+    closed = true;
+    NoteStore.Client client;
+    while ((client = idle.poll()) != null) {
+      close(client);
+    }
+  }
+
+  public String getToken() {
+    return token;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * @return the number of clients that are currently lent out
+   */
+  public int getBorrowedCount() {
+    return maxSize - permits.availablePermits();
+  }
+
+  private static void close(NoteStore.Client client) {
+    TTransport transport = client.getInputProtocol().getTransport();
+    if (transport.isOpen()) {
+      transport.close();
+    }
+  }
+}
@@ -0,0 +1,273 @@
+package com.evernote.clients;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.evernote.edam.error.EDAMSystemException;
+import com.evernote.edam.error.EDAMUserException;
+import com.evernote.edam.notestore.SyncState;
+import com.evernote.edam.type.Notebook;
+import com.evernote.edam.type.Tag;
+import com.evernote.thrift.TException;
+
+/**
+ * An in-memory copy of the user's notebooks and tags, indexed by GUID and by
+ * name.
+ * <p>
+ * The lists are downloaded on first use and then trusted until the account's
+ * {@link SyncState#getUpdateCount() updateCount} changes. The update count is
+ * checked with a cheap {@link NoteStoreClient#getSyncState()} at most once per
+ * {@link #setCheckInterval(long) check interval}, and when a lookup misses, so a
+ * notebook created elsewhere is found without waiting for the interval. A name
+ * or GUID that is still missing after that check is remembered and does not
+ * cause another check until the interval has passed. Only when the count has
+ * moved are the lists downloaded again.
+ * <p>
+ * Names are matched case-insensitively, as the service does when it enforces
+ * unique notebook and tag names. Instances are thread safe if the client is.
+ * Lookups read an immutable copy of the lists and do not wait for each other;
+ * the calls to the service are made by one thread at a time, and the new lists
+ * replace the old ones when they are complete.
+ */
+public class NotebookTagCache {
+
+  public static final long DEFAULT_CHECK_INTERVAL = 5 * 60 * 1000;
+
+  /**
+   * The lists as of one update count. The maps are not changed after
+   * construction.
+   */
+  private static class Lists {
+    final Map<String, Notebook> notebooksByGuid;
+    final Map<String, Notebook> notebooksByName;
+    final Notebook defaultNotebook;
+    final Map<String, Tag> tagsByGuid;
+    final Map<String, Tag> tagsByName;
+    final int updateCount;
+    final long checkedAt;
+    /** keys that missed since checkedAt and have been checked for already */
+    final Set<String> misses = Collections
+        .newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    Lists(List<Notebook> notebooks, List<Tag> tags, int updateCount,
+        long checkedAt) {
+      Notebook defaultNotebook = null;
+      notebooksByGuid = new HashMap<String, Notebook>();
+      notebooksByName = new HashMap<String, Notebook>();
+      for (Notebook notebook : notebooks) {
+        notebooksByGuid.put(notebook.getGuid(), notebook);
+        notebooksByName.put(key(notebook.getName()), notebook);
+        if (notebook.isDefaultNotebook()) {
+          defaultNotebook = notebook;
+        }
+      }
+      this.defaultNotebook = defaultNotebook;
+      tagsByGuid = new HashMap<String, Tag>();
+      tagsByName = new HashMap<String, Tag>();
+      for (Tag tag : tags) {
+        tagsByGuid.put(tag.getGuid(), tag);
+        tagsByName.put(key(tag.getName()), tag);
+      }
+      this.updateCount = updateCount;
+      this.checkedAt = checkedAt;
+    }
+
+    /** the same lists, checked again at <code>checkedAt</code> */
+    Lists(Lists lists, long checkedAt) {
+      notebooksByGuid = lists.notebooksByGuid;
+      notebooksByName = lists.notebooksByName;
+      defaultNotebook = lists.defaultNotebook;
+      tagsByGuid = lists.tagsByGuid;
+      tagsByName = lists.tagsByName;
+      updateCount = lists.updateCount;
+      this.checkedAt = checkedAt;
+    }
+  }
+
+  private final NoteStoreClient client;
+  private volatile long checkInterval = DEFAULT_CHECK_INTERVAL;
+
+  private volatile Lists lists;
+  /** held while the service is called */
+  private final Object refreshLock = new Object();
+
+  public NotebookTagCache(NoteStoreClient client) {
+    if (client == null) {
+      throw new IllegalArgumentException("Client must not be null.");
+    }
+    this.client = client;
+  }
+
+  /**
+   * Sets how long, in ms, the cached lists are used before the update count is
+   * checked again. 0 checks on every lookup.
+   */
+  public void setCheckInterval(long checkInterval) {
+    this.checkInterval = checkInterval;
+  }
+
+  /**
+   * @return the notebook named <code>name</code>, or null if there is none
+   */
+  public Notebook getNotebookByName(String name) throws EDAMUserException,
+      EDAMSystemException, TException {
+    Lists l = current();
+    Notebook notebook = l.notebooksByName.get(key(name));
+    if (notebook == null && (l = recheck(l, "N " + key(name))) != null) {
+      notebook = l.notebooksByName.get(key(name));
+    }
+    return notebook;
+  }
+
+  /**
+   * @return the notebook with the given GUID, or null if there is none
+   */
+  public Notebook getNotebook(String guid) throws EDAMUserException,
+      EDAMSystemException, TException {
+    Lists l = current();
+    Notebook notebook = l.notebooksByGuid.get(guid);
+    if (notebook == null && (l = recheck(l, "n " + guid)) != null) {
+      notebook = l.notebooksByGuid.get(guid);
+    }
+    return notebook;
+  }
+
+  /**
+   * @return the user's default notebook, or null if none is marked as default
+   */
+  public Notebook getDefaultNotebook() throws EDAMUserException,
+      EDAMSystemException, TException {
+    return current().defaultNotebook;
+  }
+
+  /**
+   * @return all notebooks
+   */
+  public Collection<Notebook> getNotebooks() throws EDAMUserException,
+      EDAMSystemException, TException {
+    return Collections.unmodifiableCollection(current().notebooksByGuid
+        .values());
+  }
+
+  /**
+   * @return the tag named <code>name</code>, or null if there is none
+   */
+  public Tag getTagByName(String name) throws EDAMUserException,
+      EDAMSystemException, TException {
+    Lists l = current();
+    Tag tag = l.tagsByName.get(key(name));
+    if (tag == null && (l = recheck(l, "T " + key(name))) != null) {
+      tag = l.tagsByName.get(key(name));
+    }
+    return tag;
+  }
+
+  /**
+   * @return the tag with the given GUID, or null if there is none
+   */
+  public Tag getTag(String guid) throws EDAMUserException,
+      EDAMSystemException, TException {
+    Lists l = current();
+    Tag tag = l.tagsByGuid.get(guid);
+    if (tag == null && (l = recheck(l, "t " + guid)) != null) {
+      tag = l.tagsByGuid.get(guid);
+    }
+    return tag;
+  }
+
+  /**
+   * @return all tags
+   */
+  public Collection<Tag> getTags() throws EDAMUserException,
+      EDAMSystemException, TException {
+    return Collections.unmodifiableCollection(current().tagsByGuid.values());
+  }
+
+  /**
+   * Drops the cached lists, e.g. after the service reported a cached GUID as
+   * not found. The next lookup downloads them again.
+   */
+  public void invalidate() {
+    lists = null;
+  }
+
+  /**
+   * @return the lists, checking the update count first if the check interval
+   *         has passed
+   */
+  private Lists current() throws EDAMUserException, EDAMSystemException,
+      TException {
+    Lists l = lists;
+    if (l == null || System.currentTimeMillis() - l.checkedAt >= checkInterval) {
+      l = refresh(l, false);
+    }
+    return l;
+  }
+
+  /**
+   * Checks the update count after a lookup of <code>miss</code> missed in
+   * <code>l</code>, unless it has missed before since the last interval check.
+   * 
+   * @return the new lists if they were downloaded again, or null
+   */
+  private Lists recheck(Lists l, String miss) throws EDAMUserException,
+      EDAMSystemException, TException {
+    if (!l.misses.add(miss)) {
+      return null;
+    }
+    Lists fresh = refresh(l, true);
+    if (fresh == l) {
+      return null;
+    }
+    fresh.misses.add(miss);
+    return fresh;
+  }
+
+  /**
+   * Makes sure the lists are current.
+   * 
+   * @param seen
+   *          the lists the caller found wanting
+   * @param force
+   *          true for a check after a miss, which does not start a new check
+   *          interval
+   * @return the current lists, the same instance as <code>seen</code> if they
+   *         were not downloaded again
+   */
+  private Lists refresh(Lists seen, boolean force) throws EDAMUserException,
+      EDAMSystemException, TException {
+    synchronized (refreshLock) {
+      Lists l = lists;
+      if (l != seen && l != null) {
+        // another thread refreshed them while we waited
+        return l;
+      }
+
+      // read the count before the lists, so changes made while we download
+      // them are picked up by the next check
+      long now = System.currentTimeMillis();
+      SyncState state = client.getSyncState();
+      if (l != null && state.getUpdateCount() == l.updateCount) {
+        if (!force) {
+          lists = l = new Lists(l, now);
+        }
+        return l;
+      }
+
+      List<Notebook> notebooks = client.listNotebooks();
+      List<Tag> tags = client.listTags();
+      lists = l = new Lists(notebooks, tags, state.getUpdateCount(), now);
+      return l;
+    }
+  }
+
+  private static String key(String name) {
+    return name == null ? null : name.toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,794 @@
+package com.evernote.clients;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import com.evernote.edam.error.EDAMNotFoundException;
+import com.evernote.edam.error.EDAMSystemException;
+import com.evernote.edam.error.EDAMUserException;
+import com.evernote.edam.notestore.ClientUsageMetrics;
+import com.evernote.edam.notestore.NoteCollectionCounts;
+import com.evernote.edam.notestore.NoteEmailParameters;
+import com.evernote.edam.notestore.NoteFilter;
+import com.evernote.edam.notestore.NoteList;
+import com.evernote.edam.notestore.NoteStore;
+import com.evernote.edam.notestore.NoteVersionId;
+import com.evernote.edam.notestore.NotesMetadataList;
+import com.evernote.edam.notestore.NotesMetadataResultSpec;
+import com.evernote.edam.notestore.RelatedQuery;
+import com.evernote.edam.notestore.RelatedResult;
+import com.evernote.edam.notestore.RelatedResultSpec;
+import com.evernote.edam.notestore.SyncChunk;
+import com.evernote.edam.notestore.SyncChunkFilter;
+import com.evernote.edam.notestore.SyncChunkHandler;
+import com.evernote.edam.notestore.SyncState;
+import com.evernote.edam.type.LazyMap;
+import com.evernote.edam.type.LinkedNotebook;
+import com.evernote.edam.type.Note;
+import com.evernote.edam.type.Notebook;
+import com.evernote.edam.type.Resource;
+import com.evernote.edam.type.ResourceAttributes;
+import com.evernote.edam.type.SavedSearch;
+import com.evernote.edam.type.SharedNotebook;
+import com.evernote.edam.type.SharedNotebookRecipientSettings;
+import com.evernote.edam.type.Tag;
+import com.evernote.edam.userstore.AuthenticationResult;
+import com.evernote.thrift.TApplicationException;
+import com.evernote.thrift.TException;
+import com.evernote.thrift.protocol.TBinaryProtocol;
+import com.evernote.thrift.transport.TTransport;
+import com.evernote.thrift.transport.TTransportException;
+
+/**
+ * A thread safe {@link NoteStoreClient}. Every call borrows a
+ * {@link NoteStore.Client} from a {@link NoteStoreClientPool} for its duration,
+ * so any number of threads can share one instance; at most
+ * {@link NoteStoreClientPool#getMaxSize()} calls are in flight at once and the
+ * rest wait for a free client.
+ * <p>
+ * {@link #getClient()} returns a NoteStore.Client that goes through the pool
+ * the same way. Only its split <code>send_</code>/<code>recv_</code> methods
+ * can't be pooled, since they would need one connection across two calls;
+ * they fail with a {@link TTransportException}. Use
+ * {@link NoteStoreClientPool#borrow()} for those.
+ */
+public class PooledNoteStoreClient extends NoteStoreClient {
+
+  private final NoteStoreClientPool pool;
+  private final NoteStore.StreamingIface pooledService;
+  private final NoteStore.Client pooledClient;
+
+  public PooledNoteStoreClient(final NoteStoreClientPool pool) {
+    super(pool.getToken());
+    this.pool = pool;
+    this.pooledService = (NoteStore.StreamingIface) Proxy.newProxyInstance(
+        NoteStore.StreamingIface.class.getClassLoader(),
+        new Class<?>[] { NoteStore.StreamingIface.class },
+        new InvocationHandler() {
+          @Override
+          public Object invoke(Object proxy, Method method, Object[] args)
+              throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+              return invokeObjectMethod(proxy, method, args);
+            }
+            return call(method, args);
+          }
+        });
+    this.pooledClient = new PooledClient(pooledService);
+  }
+
+  public NoteStoreClientPool getPool() {
+    return pool;
+  }
+
+  /**
+   * @return a NoteStore.Client that borrows a pooled client for every call
+   */
+  @Override
+  public NoteStore.Client getClient() {
+    return pooledClient;
+  }
+
+  @Override
+  NoteStore.StreamingIface directService() {
+    return pooledService;
+  }
+
+  private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+    String name = method.getName();
+    if (name.equals("equals")) {
+      return proxy == args[0];
+    }
+    if (name.equals("hashCode")) {
+      return System.identityHashCode(proxy);
+    }
+    return "PooledNoteStore(" + pool.getUrl() + ")";
+  }
+
+  private Object call(Method method, Object[] args) throws Throwable {
+    NoteStore.Client client = pool.borrow();
+    boolean reusable = false;
+    try {
+      Object result = method.invoke(client, args);
+      reusable = true;
+      return result;
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      // EDAM exceptions and application errors are complete responses.
+      // Anything else, including a RuntimeException from a SyncChunkHandler,
+      // may have left a half read response behind.
+      reusable = cause instanceof EDAMUserException
+          || cause instanceof EDAMSystemException
+          || cause instanceof EDAMNotFoundException
+          || cause instanceof TApplicationException;
+      throw cause;
+    } finally {
+      if (reusable) {
+        pool.release(client);
+      } else {
+        pool.invalidate(client);
+      }
+    }
+  }
+
+  /**
+   * The NoteStore.Client of {@link #getClient()}. Its own protocol sits on a
+   * transport that can't be opened, so only the overridden service methods
+   * work.
+   */
+  private static final class PooledClient extends NoteStore.Client {
+
+    private final NoteStore.StreamingIface service;
+
+    PooledClient(NoteStore.StreamingIface service) {
+      super(new TBinaryProtocol(new NoConnection()));
+      this.service = service;
+    }
+
+    @Override
+    public SyncState getSyncState(String authenticationToken)
+        throws EDAMUserException, EDAMSystemException, TException {
+      return service.getSyncState(authenticationToken);
+    }
+
+    @Override
+    public SyncState getSyncStateWithMetrics(String authenticationToken,
+        ClientUsageMetrics clientMetrics)
+        throws EDAMUserException, EDAMSystemException, TException {
+      return service.getSyncStateWithMetrics(authenticationToken,
+          clientMetrics);
+    }
+
+    @Override
+    public SyncChunk getSyncChunk(String authenticationToken, int afterUSN,
+        int maxEntries, boolean fullSyncOnly)
+        throws EDAMUserException, EDAMSystemException, TException {
+      return service.getSyncChunk(authenticationToken, afterUSN, maxEntries,
+          fullSyncOnly);
+    }
+
+    @Override
+    public SyncChunk getFilteredSyncChunk(String authenticationToken,
+        int afterUSN, int maxEntries, SyncChunkFilter filter)
+        throws EDAMUserException, EDAMSystemException, TException {
+      return service.getFilteredSyncChunk(authenticationToken, afterUSN,
+          maxEntries, filter);
+    }
+
+    @Override
+    public SyncState getLinkedNotebookSyncState(String authenticationToken,
+        LinkedNotebook linkedNotebook)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getLinkedNotebookSyncState(authenticationToken,
+          linkedNotebook);
+    }
+
+    @Override
+    public SyncChunk getLinkedNotebookSyncChunk(String authenticationToken,
+        LinkedNotebook linkedNotebook, int afterUSN, int maxEntries,
+        boolean fullSyncOnly)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getLinkedNotebookSyncChunk(authenticationToken,
+          linkedNotebook, afterUSN, maxEntries, fullSyncOnly);
+    }
+
+    @Override
+    public List<Notebook> listNotebooks(String authenticationToken)
+        throws EDAMUserException, EDAMSystemException, TException {
+      return service.listNotebooks(authenticationToken);
+    }
+
+    @Override
+    public Notebook getNotebook(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getNotebook(authenticationToken, guid);
+    }
+
+    @Override
+    public Notebook getDefaultNotebook(String authenticationToken)
+        throws EDAMUserException, EDAMSystemException, TException {
+      return service.getDefaultNotebook(authenticationToken);
+    }
+
+    @Override
+    public Notebook createNotebook(String authenticationToken,
+        Notebook notebook)
+        throws EDAMUserException, EDAMSystemException, TException {
+      return service.createNotebook(authenticationToken, notebook);
+    }
+
+    @Override
+    public int updateNotebook(String authenticationToken, Notebook notebook)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.updateNotebook(authenticationToken, notebook);
+    }
+
+    @Override
+    public int expungeNotebook(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.expungeNotebook(authenticationToken, guid);
+    }
+
+    @Override
+    public List<Tag> listTags(String authenticationToken)
+        throws EDAMUserException, EDAMSystemException, TException {
+      return service.listTags(authenticationToken);
+    }
+
+    @Override
+    public List<Tag> listTagsByNotebook(String authenticationToken,
+        String notebookGuid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.listTagsByNotebook(authenticationToken, notebookGuid);
+    }
+
+    @Override
+    public Tag getTag(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getTag(authenticationToken, guid);
+    }
+
+    @Override
+    public Tag createTag(String authenticationToken, Tag tag)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.createTag(authenticationToken, tag);
+    }
+
+    @Override
+    public int updateTag(String authenticationToken, Tag tag)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.updateTag(authenticationToken, tag);
+    }
+
+    @Override
+    public void untagAll(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      service.untagAll(authenticationToken, guid);
+    }
+
+    @Override
+    public int expungeTag(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.expungeTag(authenticationToken, guid);
+    }
+
+    @Override
+    public List<SavedSearch> listSearches(String authenticationToken)
+        throws EDAMUserException, EDAMSystemException, TException {
+      return service.listSearches(authenticationToken);
+    }
+
+    @Override
+    public SavedSearch getSearch(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getSearch(authenticationToken, guid);
+    }
+
+    @Override
+    public SavedSearch createSearch(String authenticationToken,
+        SavedSearch search)
+        throws EDAMUserException, EDAMSystemException, TException {
+      return service.createSearch(authenticationToken, search);
+    }
+
+    @Override
+    public int updateSearch(String authenticationToken, SavedSearch search)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.updateSearch(authenticationToken, search);
+    }
+
+    @Override
+    public int expungeSearch(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.expungeSearch(authenticationToken, guid);
+    }
+
+    @Override
+    public NoteList findNotes(String authenticationToken, NoteFilter filter,
+        int offset, int maxNotes)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.findNotes(authenticationToken, filter, offset, maxNotes);
+    }
+
+    @Override
+    public int findNoteOffset(String authenticationToken, NoteFilter filter,
+        String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.findNoteOffset(authenticationToken, filter, guid);
+    }
+
+    @Override
+    public NotesMetadataList findNotesMetadata(String authenticationToken,
+        NoteFilter filter, int offset, int maxNotes,
+        NotesMetadataResultSpec resultSpec)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.findNotesMetadata(authenticationToken, filter, offset,
+          maxNotes, resultSpec);
+    }
+
+    @Override
+    public NoteCollectionCounts findNoteCounts(String authenticationToken,
+        NoteFilter filter, boolean withTrash)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.findNoteCounts(authenticationToken, filter, withTrash);
+    }
+
+    @Override
+    public Note getNote(String authenticationToken, String guid,
+        boolean withContent, boolean withResourcesData,
+        boolean withResourcesRecognition, boolean withResourcesAlternateData)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getNote(authenticationToken, guid, withContent,
+          withResourcesData, withResourcesRecognition,
+          withResourcesAlternateData);
+    }
+
+    @Override
+    public LazyMap getNoteApplicationData(String authenticationToken,
+        String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getNoteApplicationData(authenticationToken, guid);
+    }
+
+    @Override
+    public String getNoteApplicationDataEntry(String authenticationToken,
+        String guid, String key)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getNoteApplicationDataEntry(authenticationToken, guid,
+          key);
+    }
+
+    @Override
+    public int setNoteApplicationDataEntry(String authenticationToken,
+        String guid, String key, String value)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.setNoteApplicationDataEntry(authenticationToken, guid, key,
+          value);
+    }
+
+    @Override
+    public int unsetNoteApplicationDataEntry(String authenticationToken,
+        String guid, String key)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.unsetNoteApplicationDataEntry(authenticationToken, guid,
+          key);
+    }
+
+    @Override
+    public String getNoteContent(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getNoteContent(authenticationToken, guid);
+    }
+
+    @Override
+    public String getNoteSearchText(String authenticationToken, String guid,
+        boolean noteOnly, boolean tokenizeForIndexing)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getNoteSearchText(authenticationToken, guid, noteOnly,
+          tokenizeForIndexing);
+    }
+
+    @Override
+    public String getResourceSearchText(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getResourceSearchText(authenticationToken, guid);
+    }
+
+    @Override
+    public List<String> getNoteTagNames(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getNoteTagNames(authenticationToken, guid);
+    }
+
+    @Override
+    public Note createNote(String authenticationToken, Note note)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.createNote(authenticationToken, note);
+    }
+
+    @Override
+    public Note updateNote(String authenticationToken, Note note)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.updateNote(authenticationToken, note);
+    }
+
+    @Override
+    public int deleteNote(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.deleteNote(authenticationToken, guid);
+    }
+
+    @Override
+    public int expungeNote(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.expungeNote(authenticationToken, guid);
+    }
+
+    @Override
+    public int expungeNotes(String authenticationToken, List<String> noteGuids)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.expungeNotes(authenticationToken, noteGuids);
+    }
+
+    @Override
+    public int expungeInactiveNotes(String authenticationToken)
+        throws EDAMUserException, EDAMSystemException, TException {
+      return service.expungeInactiveNotes(authenticationToken);
+    }
+
+    @Override
+    public Note copyNote(String authenticationToken, String noteGuid,
+        String toNotebookGuid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.copyNote(authenticationToken, noteGuid, toNotebookGuid);
+    }
+
+    @Override
+    public List<NoteVersionId> listNoteVersions(String authenticationToken,
+        String noteGuid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.listNoteVersions(authenticationToken, noteGuid);
+    }
+
+    @Override
+    public Note getNoteVersion(String authenticationToken, String noteGuid,
+        int updateSequenceNum, boolean withResourcesData,
+        boolean withResourcesRecognition, boolean withResourcesAlternateData)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getNoteVersion(authenticationToken, noteGuid,
+          updateSequenceNum, withResourcesData, withResourcesRecognition,
+          withResourcesAlternateData);
+    }
+
+    @Override
+    public Resource getResource(String authenticationToken, String guid,
+        boolean withData, boolean withRecognition, boolean withAttributes,
+        boolean withAlternateData)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getResource(authenticationToken, guid, withData,
+          withRecognition, withAttributes, withAlternateData);
+    }
+
+    @Override
+    public LazyMap getResourceApplicationData(String authenticationToken,
+        String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getResourceApplicationData(authenticationToken, guid);
+    }
+
+    @Override
+    public String getResourceApplicationDataEntry(String authenticationToken,
+        String guid, String key)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getResourceApplicationDataEntry(authenticationToken, guid,
+          key);
+    }
+
+    @Override
+    public int setResourceApplicationDataEntry(String authenticationToken,
+        String guid, String key, String value)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.setResourceApplicationDataEntry(authenticationToken, guid,
+          key, value);
+    }
+
+    @Override
+    public int unsetResourceApplicationDataEntry(String authenticationToken,
+        String guid, String key)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.unsetResourceApplicationDataEntry(authenticationToken,
+          guid, key);
+    }
+
+    @Override
+    public int updateResource(String authenticationToken, Resource resource)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.updateResource(authenticationToken, resource);
+    }
+
+    @Override
+    public byte[] getResourceData(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getResourceData(authenticationToken, guid);
+    }
+
+    @Override
+    public Resource getResourceByHash(String authenticationToken,
+        String noteGuid, byte[] contentHash, boolean withData,
+        boolean withRecognition, boolean withAlternateData)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getResourceByHash(authenticationToken, noteGuid,
+          contentHash, withData, withRecognition, withAlternateData);
+    }
+
+    @Override
+    public byte[] getResourceRecognition(String authenticationToken,
+        String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getResourceRecognition(authenticationToken, guid);
+    }
+
+    @Override
+    public byte[] getResourceAlternateData(String authenticationToken,
+        String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getResourceAlternateData(authenticationToken, guid);
+    }
+
+    @Override
+    public ResourceAttributes getResourceAttributes(String authenticationToken,
+        String guid)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getResourceAttributes(authenticationToken, guid);
+    }
+
+    @Override
+    public Notebook getPublicNotebook(int userId, String publicUri)
+        throws EDAMSystemException, EDAMNotFoundException, TException {
+      return service.getPublicNotebook(userId, publicUri);
+    }
+
+    @Override
+    public SharedNotebook createSharedNotebook(String authenticationToken,
+        SharedNotebook sharedNotebook)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.createSharedNotebook(authenticationToken, sharedNotebook);
+    }
+
+    @Override
+    public int updateSharedNotebook(String authenticationToken,
+        SharedNotebook sharedNotebook)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.updateSharedNotebook(authenticationToken, sharedNotebook);
+    }
+
+    @Override
+    public int setSharedNotebookRecipientSettings(String authenticationToken,
+        long sharedNotebookId,
+        SharedNotebookRecipientSettings recipientSettings)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.setSharedNotebookRecipientSettings(authenticationToken,
+          sharedNotebookId, recipientSettings);
+    }
+
+    @Override
+    public int sendMessageToSharedNotebookMembers(String authenticationToken,
+        String notebookGuid, String messageText, List<String> recipients)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.sendMessageToSharedNotebookMembers(authenticationToken,
+          notebookGuid, messageText, recipients);
+    }
+
+    @Override
+    public List<SharedNotebook> listSharedNotebooks(String authenticationToken)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.listSharedNotebooks(authenticationToken);
+    }
+
+    @Override
+    public int expungeSharedNotebooks(String authenticationToken,
+        List<Long> sharedNotebookIds)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.expungeSharedNotebooks(authenticationToken,
+          sharedNotebookIds);
+    }
+
+    @Override
+    public LinkedNotebook createLinkedNotebook(String authenticationToken,
+        LinkedNotebook linkedNotebook)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.createLinkedNotebook(authenticationToken, linkedNotebook);
+    }
+
+    @Override
+    public int updateLinkedNotebook(String authenticationToken,
+        LinkedNotebook linkedNotebook)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.updateLinkedNotebook(authenticationToken, linkedNotebook);
+    }
+
+    @Override
+    public List<LinkedNotebook> listLinkedNotebooks(String authenticationToken)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.listLinkedNotebooks(authenticationToken);
+    }
+
+    @Override
+    public int expungeLinkedNotebook(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.expungeLinkedNotebook(authenticationToken, guid);
+    }
+
+    @Override
+    public AuthenticationResult authenticateToSharedNotebook(String shareKey,
+        String authenticationToken)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.authenticateToSharedNotebook(shareKey,
+          authenticationToken);
+    }
+
+    @Override
+    public SharedNotebook getSharedNotebookByAuth(String authenticationToken)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.getSharedNotebookByAuth(authenticationToken);
+    }
+
+    @Override
+    public void emailNote(String authenticationToken,
+        NoteEmailParameters parameters)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      service.emailNote(authenticationToken, parameters);
+    }
+
+    @Override
+    public String shareNote(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.shareNote(authenticationToken, guid);
+    }
+
+    @Override
+    public void stopSharingNote(String authenticationToken, String guid)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      service.stopSharingNote(authenticationToken, guid);
+    }
+
+    @Override
+    public AuthenticationResult authenticateToSharedNote(String guid,
+        String noteKey, String authenticationToken)
+        throws EDAMUserException, EDAMNotFoundException, EDAMSystemException,
+          TException {
+      return service.authenticateToSharedNote(guid, noteKey,
+          authenticationToken);
+    }
+
+    @Override
+    public RelatedResult findRelated(String authenticationToken,
+        RelatedQuery query, RelatedResultSpec resultSpec)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.findRelated(authenticationToken, query, resultSpec);
+    }
+
+    @Override
+    public SyncChunk getSyncChunk(String authenticationToken, int afterUSN,
+        int maxEntries, boolean fullSyncOnly, SyncChunkHandler handler)
+        throws EDAMUserException, EDAMSystemException, TException {
+      return service.getSyncChunk(authenticationToken, afterUSN, maxEntries,
+          fullSyncOnly, handler);
+    }
+
+    @Override
+    public SyncChunk getFilteredSyncChunk(String authenticationToken,
+        int afterUSN, int maxEntries, SyncChunkFilter filter,
+        SyncChunkHandler handler)
+        throws EDAMUserException, EDAMSystemException, TException {
+      return service.getFilteredSyncChunk(authenticationToken, afterUSN,
+          maxEntries, filter, handler);
+    }
+
+    @Override
+    public SyncChunk getLinkedNotebookSyncChunk(String authenticationToken,
+        LinkedNotebook linkedNotebook, int afterUSN, int maxEntries,
+        boolean fullSyncOnly, SyncChunkHandler handler)
+        throws EDAMUserException, EDAMSystemException, EDAMNotFoundException,
+          TException {
+      return service.getLinkedNotebookSyncChunk(authenticationToken,
+          linkedNotebook, afterUSN, maxEntries, fullSyncOnly, handler);
+    }
+  }
+
+  private static final class NoConnection extends TTransport {
+
+    private static final String MESSAGE = "A pooled NoteStore.Client has no "
+        + "connection of its own, use NoteStoreClientPool.borrow()";
+
+    @Override
+    public boolean isOpen() {
+      return false;
+    }
+
+    @Override
+    public void open() throws TTransportException {
+      throw new TTransportException(TTransportException.NOT_OPEN, MESSAGE);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public int read(byte[] buf, int off, int len) throws TTransportException {
+      throw new TTransportException(TTransportException.NOT_OPEN, MESSAGE);
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len)
+        throws TTransportException {
+      throw new TTransportException(TTransportException.NOT_OPEN, MESSAGE);
+    }
+  }
+}
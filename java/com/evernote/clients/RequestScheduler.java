@@ -0,0 +1,276 @@
+package com.evernote.clients;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import com.evernote.edam.error.EDAMErrorCode;
+import com.evernote.edam.error.EDAMSystemException;
+import com.evernote.thrift.TException;
+
+/**
+ * Paces calls to the Evernote service so that bursts are queued instead of
+ * running into the service's rate limit.
+ * <p>
+ * Calls draw from a token bucket that holds up to <code>burst</code> tokens and
+ * refills at <code>permitsPerSecond</code>. When the service still answers with
+ * {@link EDAMErrorCode#RATE_LIMIT_REACHED}, the <code>rateLimitDuration</code>
+ * of the exception becomes a cooldown during which no call is let through, and
+ * the failed call is queued again, up to {@link #setMaxRateLimitRetries(int)}
+ * times. A call that would have to wait longer than
+ * {@link #setMaxRateLimitWait(long)} fails with the original exception instead.
+ * <p>
+ * One scheduler is meant to be shared by all clients of an account, e.g. by
+ * passing it to {@link ClientFactory#setRequestScheduler(RequestScheduler)}.
+ * Instances are thread safe. Waiting calls are let through in the order they
+ * arrived.
+ */
+public class RequestScheduler {
+
+  public static final int DEFAULT_MAX_RATE_LIMIT_RETRIES = 3;
+
+  private final double permitsPerSecond;
+  private final int burst;
+
+  private int maxRateLimitRetries = DEFAULT_MAX_RATE_LIMIT_RETRIES;
+  private long maxRateLimitWait = Long.MAX_VALUE;
+
+  // all times in System.nanoTime()
+  private double tokens;
+  private long lastRefill;
+  private long cooldownUntil;
+
+  private final Queue<Object> waiting = new ArrayDeque<Object>();
+  private int queueDepth;
+  private int maxQueueDepth;
+  private long calls;
+  private long throttledCalls;
+  private long throttleNanos;
+  private long rateLimits;
+
+  /**
+   * @param permitsPerSecond
+   *          the sustained call rate
+   * @param burst
+   *          the number of calls that may be made at once after a quiet period
+   */
+  public RequestScheduler(double permitsPerSecond, int burst) {
+    if (permitsPerSecond <= 0 || burst <= 0) {
+      throw new IllegalArgumentException(
+          "permitsPerSecond and burst must be positive");
+    }
+    this.permitsPerSecond = permitsPerSecond;
+    this.burst = burst;
+    this.tokens = burst;
+    this.lastRefill = System.nanoTime();
+    this.cooldownUntil = lastRefill;
+  }
+
+  /**
+   * Sets how often a call that hit the rate limit is queued again before the
+   * exception is passed to the caller.
+   */
+  public synchronized void setMaxRateLimitRetries(int maxRateLimitRetries) {
+    this.maxRateLimitRetries = maxRateLimitRetries;
+  }
+
+  /**
+   * Sets the longest rate limit cooldown, in milliseconds, a call waits out
+   * before it is retried. Calls that hit a longer cooldown fail right away, so
+   * that the caller can decide what to do with them.
+   */
+  public synchronized void setMaxRateLimitWait(long maxRateLimitWait) {
+    this.maxRateLimitWait = maxRateLimitWait;
+  }
+
+  /**
+   * Blocks until the next call may be made.
+   */
+  public void acquire() throws InterruptedException {
+    long enqueued = System.nanoTime();
+    Object ticket = new Object();
+    synchronized (this) {
+      calls++;
+      waiting.add(ticket);
+      queueDepth++;
+      maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+      try {
+        // Only the call at the head of the queue takes tokens, so calls are
+        // let through in order and a cooldown that starts while they wait
+        // spreads them out again.
+        while (true) {
+          if (waiting.peek() != ticket) {
+            wait();
+            continue;
+          }
+          long now = System.nanoTime();
+          refill(now);
+          long wait;
+          if (cooldownUntil - now > 0) {
+            wait = cooldownUntil - now;
+          } else if (tokens >= 1) {
+            tokens -= 1;
+            break;
+          } else {
+            wait = (long) Math.ceil((1 - tokens) / permitsPerSecond
+                * TimeUnit.SECONDS.toNanos(1));
+          }
+          TimeUnit.NANOSECONDS.timedWait(this, wait);
+        }
+      } finally {
+        waiting.remove(ticket);
+        queueDepth--;
+        notifyAll();
+        long waited = System.nanoTime() - enqueued;
+        if (waited > TimeUnit.MILLISECONDS.toNanos(1)) {
+          throttledCalls++;
+          throttleNanos += waited;
+        }
+      }
+    }
+  }
+
+  /**
+   * Records that the service rejected a call for the given number of seconds.
+   * No call is let through before the cooldown is over, and the bucket starts
+   * out empty when it ends, so that the queued calls follow each other at
+   * <code>permitsPerSecond</code>.
+   */
+  public synchronized void onRateLimit(int rateLimitDuration) {
+    rateLimits++;
+    long until = System.nanoTime()
+        + TimeUnit.SECONDS.toNanos(Math.max(rateLimitDuration, 1));
+    if (until - cooldownUntil > 0) {
+      cooldownUntil = until;
+    }
+    tokens = 0;
+    lastRefill = cooldownUntil;
+    notifyAll();
+  }
+
+  /**
+   * Returns a proxy of <code>target</code> whose calls go through this
+   * scheduler, and are queued again when the service reports a rate limit.
+   * Every method of <code>iface</code> must declare {@link TException}.
+   */
+  public <T> T wrap(Class<T> iface, final T target) {
+    return iface.cast(Proxy.newProxyInstance(iface.getClassLoader(),
+        new Class<?>[] { iface }, new InvocationHandler() {
+          @Override
+          public Object invoke(Object proxy, Method method, Object[] args)
+              throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+              String name = method.getName();
+              if (name.equals("equals")) {
+                return proxy == args[0];
+              }
+              if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+              }
+              return "RequestScheduler(" + target + ")";
+            }
+            return call(method, target, args);
+          }
+        }));
+  }
+
+  private Object call(Method method, Object target, Object[] args)
+      throws Throwable {
+    int retries = 0;
+    while (true) {
+      try {
+        acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new TException("Interrupted while waiting to call "
+            + method.getName(), e);
+      }
+
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof EDAMSystemException) {
+          EDAMSystemException se = (EDAMSystemException) cause;
+          if (se.getErrorCode() == EDAMErrorCode.RATE_LIMIT_REACHED) {
+            int duration = se.isSetRateLimitDuration() ? se
+                .getRateLimitDuration() : 0;
+            onRateLimit(duration);
+            if (shouldRetry(retries++, duration)) {
+              continue;
+            }
+          }
+        }
+        throw cause;
+      }
+    }
+  }
+
+  private synchronized boolean shouldRetry(int retries, int rateLimitDuration) {
+    return retries < maxRateLimitRetries
+        && TimeUnit.SECONDS.toMillis(rateLimitDuration) <= maxRateLimitWait;
+  }
+
+  private void refill(long now) {
+    // lastRefill is in the future during a cooldown
+    if (now - lastRefill > 0) {
+      tokens = Math.min(burst, tokens + (now - lastRefill) / 1e9
+          * permitsPerSecond);
+      lastRefill = now;
+    }
+  }
+
+  /**
+   * @return the number of calls waiting right now
+   */
+  public synchronized int getQueueDepth() {
+    return queueDepth;
+  }
+
+  /**
+   * @return the largest number of calls that were waiting at the same time
+   */
+  public synchronized int getMaxQueueDepth() {
+    return maxQueueDepth;
+  }
+
+  /**
+   * @return the number of calls let through, including retries
+   */
+  public synchronized long getCallCount() {
+    return calls;
+  }
+
+  /**
+   * @return the number of calls that had to wait
+   */
+  public synchronized long getThrottledCallCount() {
+    return throttledCalls;
+  }
+
+  /**
+   * @return the total time calls spent waiting, in milliseconds
+   */
+  public synchronized long getThrottleTimeMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(throttleNanos);
+  }
+
+  /**
+   * @return the number of rate limit errors reported by the service
+   */
+  public synchronized long getRateLimitCount() {
+    return rateLimits;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "RequestScheduler(calls=" + calls + ", throttled=" + throttledCalls
+        + ", throttleTimeMillis=" + getThrottleTimeMillis() + ", queueDepth="
+        + queueDepth + ", maxQueueDepth=" + maxQueueDepth + ", rateLimits="
+        + rateLimits + ")";
+  }
+}
@@ -0,0 +1,432 @@
+package com.evernote.clients;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.evernote.edam.type.Data;
+
+/**
+ * An on-disk, content-addressable store of resource bodies.
+ * <p>
+ * Bodies are stored once per MD5 hash, the same hash the service uses for
+ * {@link Data#getBodyHash()}, together with their MIME type. A body can be
+ * looked up by its hash, or by the URL it was downloaded from if it was stored
+ * with one; several URLs may point to the same body.
+ * <p>
+ * The total size of the stored bodies is kept below a limit by evicting the
+ * least recently used bodies first; a body larger than the limit is not stored
+ * at all. The index, including the LRU order, is written to the cache
+ * directory after every {@value #INDEX_WRITE_INTERVAL} changes, and by
+ * {@link #flush()}, which should be called before the cache is discarded.
+ * Bodies stored since the last write of the index are dropped when the cache
+ * is opened again.
+ * <p>
+ * Instances are thread safe; bodies and the index are written to disk outside
+ * the lock that guards the in-memory maps. A directory must not be shared by
+ * two instances.
+ */
+public class ResourceCache {
+
+  /**
+   * A cached resource body.
+   */
+  public static class Entry {
+    private final byte[] bodyHash;
+    private final byte[] body;
+    private final String mime;
+
+    Entry(byte[] bodyHash, byte[] body, String mime) {
+      this.bodyHash = bodyHash;
+      this.body = body;
+      this.mime = mime;
+    }
+
+    public byte[] getBodyHash() {
+      return bodyHash;
+    }
+
+    public byte[] getBody() {
+      return body;
+    }
+
+    public String getMime() {
+      return mime;
+    }
+
+    /**
+     * @return a new {@link Data} with the body, its hash and size set
+     */
+    public Data toData() {
+      Data data = new Data();
+      data.setBody(body);
+      data.setBodyHash(bodyHash);
+      data.setSize(body.length);
+      return data;
+    }
+  }
+
+  private static class Blob {
+    final long size;
+    final String mime;
+
+    Blob(long size, String mime) {
+      this.size = size;
+      this.mime = mime;
+    }
+  }
+
+  private static final String INDEX_FILE = "index";
+  private static final String BLOB_SUFFIX = ".bin";
+  private static final String TMP_SUFFIX = ".tmp";
+  private static final int INDEX_WRITE_INTERVAL = 64;
+
+  private final File dir;
+  private final long maxBytes;
+
+  /** hex hash to blob, in access order */
+  private final LinkedHashMap<String, Blob> blobs = new LinkedHashMap<String, Blob>(
+      16, 0.75f, true);
+  /** source URL to hex hash */
+  private final Map<String, String> urls = new HashMap<String, String>();
+  private long totalBytes;
+  /** changes not written to the index yet */
+  private int unsavedChanges;
+  /** held while the index file is written */
+  private final ReentrantLock indexLock = new ReentrantLock();
+
+  /**
+   * Opens the cache in <code>dir</code>, creating the directory if needed and
+   * loading the index of a previous instance.
+   * 
+   * @param maxBytes
+   *          the maximum total size of the stored bodies
+   */
+  public ResourceCache(File dir, long maxBytes) throws IOException {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("maxBytes must be positive");
+    }
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      throw new IOException("Couldn't create " + dir);
+    }
+    this.dir = dir;
+    this.maxBytes = maxBytes;
+    loadIndex();
+  }
+
+  /**
+   * @return the body last stored for <code>url</code>, or null
+   */
+  public synchronized Entry getByUrl(String url) {
+    String hash = urls.get(url);
+    return hash == null ? null : load(hash);
+  }
+
+  /**
+   * @return the body with the given MD5 hash, or null
+   */
+  public synchronized Entry getByHash(byte[] bodyHash) {
+    return load(toHex(bodyHash));
+  }
+
+  /**
+   * Stores a body. If the same body is already stored, only its URL mapping
+   * and LRU position are updated. A body larger than the cache is not stored.
+   * 
+   * @param url
+   *          the URL the body was downloaded from, or null
+   * @param mime
+   *          the MIME type of the body, or null
+   * @return the MD5 hash of <code>body</code>
+   */
+  public byte[] put(String url, byte[] body, String mime)
+      throws IOException {
+    byte[] bodyHash = md5(body);
+    if (body.length > maxBytes) {
+      return bodyHash;
+    }
+    String hash = toHex(bodyHash);
+
+    if (!record(hash, url, null)) {
+      File tmp = File.createTempFile(hash, TMP_SUFFIX, dir);
+      boolean renamed = false;
+      try {
+        FileOutputStream out = new FileOutputStream(tmp);
+        try {
+          out.write(body);
+        } finally {
+          out.close();
+        }
+        renamed = tmp.renameTo(blobFile(hash));
+      } finally {
+        if (!renamed) {
+          tmp.delete();
+        }
+      }
+      if (!record(hash, url, renamed ? new Blob(body.length, mime) : null)) {
+        throw new IOException("Couldn't store " + hash);
+      }
+    }
+    writeIndex(INDEX_WRITE_INTERVAL, false);
+    return bodyHash;
+  }
+
+  /**
+   * @return the maximum total size of the stored bodies, which is also the
+   *         size of the largest body that is stored
+   */
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  /**
+   * @return the total size of the stored bodies
+   */
+  public synchronized long getTotalBytes() {
+    return totalBytes;
+  }
+
+  /**
+   * Writes the index, so that the current LRU order survives a restart.
+   */
+  public void flush() throws IOException {
+    writeIndex(1, true);
+  }
+
+  /*
+   * Maps url to the body with the given hash, adding blob for a body file
+   * that has just been written. Returns false if the body is not stored.
+   */
+  private synchronized boolean record(String hash, String url, Blob blob) {
+    if (blobs.get(hash) == null) {
+      if (blob == null || blobFile(hash).length() != blob.size) {
+        return false;
+      }
+      blobs.put(hash, blob);
+      totalBytes += blob.size;
+    }
+    if (url != null) {
+      urls.put(url, hash);
+    }
+    unsavedChanges++;
+    evict();
+    return true;
+  }
+
+  private Entry load(String hash) {
+    Blob blob = blobs.get(hash);
+    if (blob == null) {
+      return null;
+    }
+    File file = blobFile(hash);
+    byte[] body = new byte[(int) blob.size];
+    try {
+      FileInputStream in = new FileInputStream(file);
+      try {
+        int off = 0;
+        while (off < body.length) {
+          int n = in.read(body, off, body.length - off);
+          if (n < 0) {
+            throw new IOException("Truncated " + file);
+          }
+          off += n;
+        }
+      } finally {
+        in.close();
+      }
+    } catch (IOException e) {
+      remove(hash);
+      return null;
+    }
+    return new Entry(fromHex(hash), body, blob.mime);
+  }
+
+  private void evict() {
+    while (totalBytes > maxBytes && !blobs.isEmpty()) {
+      remove(blobs.keySet().iterator().next());
+    }
+  }
+
+  private void remove(String hash) {
+    Blob blob = blobs.remove(hash);
+    if (blob != null) {
+      totalBytes -= blob.size;
+      blobFile(hash).delete();
+      urls.values().removeAll(Collections.singleton(hash));
+      unsavedChanges++;
+    }
+  }
+
+  private File blobFile(String hash) {
+    return new File(dir, hash + BLOB_SUFFIX);
+  }
+
+  /*
+   * The index is a text file with one line per body, least recently used
+   * first ("H <hash> <size> <mime>", with an empty mime if there is none),
+   * followed by one line per URL ("U <hash> <url>"). Blob files the index
+   * does not list were stored after its last write and are deleted, as are
+   * temporary files left by an interrupted write.
+   */
+  private void loadIndex() throws IOException {
+    File index = new File(dir, INDEX_FILE);
+    if (index.exists()) {
+      readIndex(index);
+    }
+    File[] files = dir.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        String name = file.getName();
+        if (name.endsWith(TMP_SUFFIX) || name.endsWith(BLOB_SUFFIX)
+            && !blobs.containsKey(name.substring(0,
+                name.length() - BLOB_SUFFIX.length()))) {
+          file.delete();
+        }
+      }
+    }
+    evict();
+  }
+
+  private void readIndex(File index) throws IOException {
+    BufferedReader in = new BufferedReader(new InputStreamReader(
+        new FileInputStream(index), "UTF-8"));
+    try {
+      String line;
+      while ((line = in.readLine()) != null) {
+        String[] parts = line.split(" ", 4);
+        if (parts.length == 4 && parts[0].equals("H")) {
+          long size = Long.parseLong(parts[2]);
+          if (blobFile(parts[1]).length() == size) {
+            blobs.put(parts[1], new Blob(size,
+                parts[3].length() == 0 ? null : parts[3]));
+            totalBytes += size;
+          }
+        } else if (parts.length >= 3 && parts[0].equals("U")) {
+          if (blobs.containsKey(parts[1])) {
+            urls.put(line.substring(3 + parts[1].length()), parts[1]);
+          }
+        }
+      }
+    } catch (NumberFormatException e) {
+      throw new IOException("Corrupt index " + index);
+    } finally {
+      in.close();
+    }
+  }
+
+  /*
+   * Writes the index if it has at least minChanges unsaved changes. The lines
+   * are built under the cache lock and written outside of it; indexLock keeps
+   * writers in order, and unless wait is set a put does not wait for another
+   * writer, whose next write will include its change.
+   */
+  private void writeIndex(int minChanges, boolean wait) throws IOException {
+    synchronized (this) {
+      if (unsavedChanges < minChanges) {
+        return;
+      }
+    }
+    if (wait) {
+      indexLock.lock();
+    } else if (!indexLock.tryLock()) {
+      return;
+    }
+    try {
+      StringBuilder lines = new StringBuilder();
+      int changes;
+      synchronized (this) {
+        changes = unsavedChanges;
+        if (changes < minChanges) {
+          return;
+        }
+        for (Map.Entry<String, Blob> e : blobs.entrySet()) {
+          String mime = e.getValue().mime;
+          lines.append("H ").append(e.getKey()).append(' ')
+              .append(e.getValue().size).append(' ')
+              .append(mime == null ? "" : mime).append('\n');
+        }
+        for (Map.Entry<String, String> e : urls.entrySet()) {
+          lines.append("U ").append(e.getValue()).append(' ')
+              .append(e.getKey()).append('\n');
+        }
+        unsavedChanges = 0;
+      }
+
+      boolean written = false;
+      try {
+        File tmp = new File(dir, INDEX_FILE + TMP_SUFFIX);
+        Writer out = new BufferedWriter(new OutputStreamWriter(
+            new FileOutputStream(tmp), "UTF-8"));
+        try {
+          out.write(lines.toString());
+        } finally {
+          out.close();
+        }
+        File index = new File(dir, INDEX_FILE);
+        if (!tmp.renameTo(index)) {
+          index.delete();
+          if (!tmp.renameTo(index)) {
+            throw new IOException("Couldn't write " + index);
+          }
+        }
+        written = true;
+      } finally {
+        if (!written) {
+          synchronized (this) {
+            unsavedChanges += changes;
+          }
+        }
+      }
+    } finally {
+      indexLock.unlock();
+    }
+  }
+
+  private static byte[] md5(byte[] body) {
+    try {
+      return MessageDigest.getInstance("MD5").digest(body);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("MD5 is not available", e);
+    }
+  }
+
+  /**
+   * @return <code>bytes</code> as lower case hex digits, the form a body hash
+   *         takes in the cache index and in ENML
+   */
+  public static String toHex(byte[] bytes) {
+    StringBuilder sb = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      int v = 0xff & b;
+      if (v < 0x10) {
+        sb.append('0');
+      }
+      sb.append(Integer.toHexString(v));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * The reverse of {@link #toHex(byte[])}.
+   */
+  public static byte[] fromHex(String hex) {
+    byte[] bytes = new byte[hex.length() / 2];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,158 @@
+package com.evernote.clients;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import com.evernote.edam.error.EDAMSystemException;
+import com.evernote.edam.error.EDAMUserException;
+import com.evernote.edam.notestore.SyncChunk;
+import com.evernote.edam.notestore.SyncChunkFilter;
+import com.evernote.thrift.TException;
+
+/**
+ * Fetches sync chunks ahead of the caller on a background thread.
+ * <p>
+ * The request for chunk N+1 only needs the <code>chunkHighUSN</code> of chunk
+ * N, so it can be sent while the caller is still applying chunk N. Up to
+ * <code>lookahead</code> fetched chunks are queued; once the queue is full the
+ * background thread waits for the caller, holding the chunk it fetched last.
+ * Counting the chunk the caller is working on, memory use is bounded by
+ * <code>lookahead + 2</code> decoded chunks.
+ * <p>
+ * The prefetcher must be given its own {@link NoteStoreClient}: it issues
+ * requests from the background thread while the owner of the main client may
+ * be using it.
+ */
+public class SyncChunkPrefetcher {
+
+  private static class Item {
+    final SyncChunk chunk;
+    final Throwable error;
+
+    Item(SyncChunk chunk, Throwable error) {
+      this.chunk = chunk;
+      this.error = error;
+    }
+  }
+
+  private static final Item END = new Item(null, null);
+
+  private final NoteStoreClient client;
+  private final int maxEntries;
+  private final SyncChunkFilter filter;
+  private final BlockingQueue<Item> queue;
+  private final Thread thread;
+
+  private volatile boolean closed;
+  private boolean finished;
+  private int afterUSN;
+
+  /**
+   * @param client the client the chunks are requested with, used only by the
+   *          background thread
+   * @param afterUSN the USN after which the first chunk starts
+   * @param maxEntries the number of entries requested per chunk
+   * @param filter the filter sent with every request
+   * @param lookahead the number of fetched chunks that may wait in the queue
+   */
+  public SyncChunkPrefetcher(NoteStoreClient client, int afterUSN,
+      int maxEntries, SyncChunkFilter filter, int lookahead) {
+    if (lookahead <= 0) {
+      throw new IllegalArgumentException("lookahead must be positive");
+    }
+    this.client = client;
+    this.afterUSN = afterUSN;
+    this.maxEntries = maxEntries;
+    this.filter = filter;
+    this.queue = new ArrayBlockingQueue<Item>(lookahead);
+    this.thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        fetchLoop();
+      }
+    }, "SyncChunkPrefetcher");
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * Starts fetching in the background.
+   */
+  public void start() {
+    thread.start();
+  }
+
+  /**
+   * Returns the next chunk, waiting for it if it has not arrived yet.
+   * 
+   * @return the next chunk, or <code>null</code> once the chunk containing the
+   *         account's current updateCount has been returned. If the
+   *         request for a chunk failed, its exception is thrown here and no
+   *         further chunks are returned.
+   */
+  public SyncChunk next() throws EDAMUserException, EDAMSystemException,
+      TException, InterruptedException {
+    if (finished) {
+      return null;
+    }
+    Item item = queue.take();
+    if (item.chunk != null) {
+      return item.chunk;
+    }
+    finished = true;
+    if (item.error instanceof EDAMUserException) {
+      throw (EDAMUserException) item.error;
+    } else if (item.error instanceof EDAMSystemException) {
+      throw (EDAMSystemException) item.error;
+    } else if (item.error instanceof TException) {
+      throw (TException) item.error;
+    } else if (item.error instanceof RuntimeException) {
+      throw (RuntimeException) item.error;
+    } else if (item.error instanceof Error) {
+      throw (Error) item.error;
+    } else if (item.error != null) {
+      throw new TException(item.error);
+    }
+    return null;
+  }
+
+  /**
+   * Stops the background thread. Chunks that have been fetched but not
+   * returned by {@link #next()} are dropped. A request that is already on the
+   * wire is not aborted, but its result is discarded.
+   */
+  public void close() {
+    closed = true;
+    finished = true;
+    thread.interrupt();
+    queue.clear();
+  }
+
+  private void fetchLoop() {
+    // whatever goes wrong, the caller must get a last item or next() blocks
+    // forever
+    Item last = END;
+    try {
+      while (!closed) {
+        SyncChunk chunk = client.getFilteredSyncChunk(afterUSN, maxEntries,
+            filter);
+        queue.put(new Item(chunk, null));
+
+        if (!chunk.isSetChunkHighUSN()
+            || chunk.getChunkHighUSN() >= chunk.getUpdateCount()) {
+          break;
+        }
+        afterUSN = chunk.getChunkHighUSN();
+      }
+    } catch (InterruptedException e) {
+      // closed
+      return;
+    } catch (Throwable t) {
+      last = new Item(null, t);
+    }
+    try {
+      queue.put(last);
+    } catch (InterruptedException e) {
+      // closed
+    }
+  }
+}
@@ -0,0 +1,240 @@
+package com.evernote.clients;
+
+import com.evernote.edam.error.EDAMSystemException;
+import com.evernote.edam.error.EDAMUserException;
+import com.evernote.edam.notestore.SyncChunk;
+import com.evernote.edam.notestore.SyncChunkFilter;
+import com.evernote.edam.notestore.SyncChunkHandler;
+import com.evernote.edam.notestore.SyncState;
+import com.evernote.thrift.TException;
+
+/**
+ * Drives the incremental synchronization loop described in the Evernote
+ * synchronization overview, applying every change to a {@link LocalStore}.
+ * <p>
+ * Each call to {@link #sync()} compares the server's {@link SyncState} with the
+ * checkpoint kept by the store, then pages through
+ * {@link NoteStoreClient#getFilteredSyncChunk(int, int, SyncChunkFilter, SyncChunkHandler)}
+ * until the store has caught up with the account. Chunks are streamed into the
+ * store element by element, and the checkpoint is saved after every chunk, so
+ * an interrupted sync resumes from the last completed chunk instead of from
+ * the beginning.
+ * <p>
+ * A full sync (starting at USN 0) is only performed on the first run, or when
+ * the server's <code>fullSyncBefore</code> is later than the last sync time.
+ * Otherwise only objects changed since the checkpoint are transferred.
+ * <p>
+ * If a second client is set with {@link #setPrefetchClient(NoteStoreClient, int)},
+ * the next chunks are requested on that client while the current one is being
+ * applied (see {@link SyncChunkPrefetcher}). Prefetched chunks are decoded in
+ * full rather than streamed, so the lookahead trades memory for throughput.
+ * <p>
+ * Instances are not thread safe.
+ */
+public class SyncEngine {
+
+  /**
+   * Receives the changes of a sync pass and keeps the checkpoint.
+   * <p>
+   * Changes are delivered through the {@link SyncChunkHandler} callbacks. A
+   * chunk may be delivered again after a crash, because the checkpoint is only
+   * advanced once the whole chunk has been applied, so applying a change must
+   * be idempotent: an update replaces the local copy by GUID, and expunging
+   * an object that does not exist locally is not an error.
+   */
+  public static abstract class LocalStore extends SyncChunkHandler {
+
+    /**
+     * @return the highest USN that has been fully applied, or 0 if the store
+     *         has never been synchronized
+     */
+    public abstract int getLastUpdateCount();
+
+    /**
+     * @return the server time of the last saved checkpoint, or 0 if the store
+     *         has never been synchronized
+     */
+    public abstract long getLastSyncTime();
+
+    /**
+     * Persists the checkpoint. Called after all changes up to
+     * <code>updateCount</code> have been passed to the store. Changes applied
+     * before this call should become durable no later than the checkpoint.
+     */
+    public abstract void saveCheckpoint(int updateCount, long syncTime);
+
+    /**
+     * Called before a full sync starts. Every object the store should keep will
+     * be delivered again, and expunged objects are not reported, so a store
+     * that already holds data should discard it or mark it for reconciliation.
+     */
+    public void onFullSyncStart() {
+    }
+  }
+
+  /**
+   * The number of entries requested per chunk unless
+   * {@link #setMaxEntries(int)} is called.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 100;
+
+  private final NoteStoreClient client;
+  private final LocalStore store;
+  private SyncChunkFilter filter;
+  private int maxEntries = DEFAULT_MAX_ENTRIES;
+  private NoteStoreClient prefetchClient;
+  private int lookahead;
+
+  public SyncEngine(NoteStoreClient client, LocalStore store) {
+    if (client == null || store == null) {
+      throw new IllegalArgumentException("client and store must not be null");
+    }
+    this.client = client;
+    this.store = store;
+    this.filter = createDefaultFilter();
+  }
+
+  /**
+   * @return a filter that requests every kind of object, including note
+   *         attributes, note resources and expunged GUIDs
+   */
+  public static SyncChunkFilter createDefaultFilter() {
+    SyncChunkFilter filter = new SyncChunkFilter();
+    filter.setIncludeNotes(true);
+    filter.setIncludeNoteResources(true);
+    filter.setIncludeNoteAttributes(true);
+    filter.setIncludeNotebooks(true);
+    filter.setIncludeTags(true);
+    filter.setIncludeSearches(true);
+    filter.setIncludeResources(true);
+    filter.setIncludeLinkedNotebooks(true);
+    filter.setIncludeExpunged(true);
+    return filter;
+  }
+
+  public SyncChunkFilter getFilter() {
+    return filter;
+  }
+
+  /**
+   * Sets the filter used for every chunk request. During a full sync
+   * <code>includeExpunged</code> is ignored, since nothing local needs to be
+   * expunged.
+   */
+  public void setFilter(SyncChunkFilter filter) {
+    if (filter == null) {
+      throw new IllegalArgumentException("filter must not be null");
+    }
+    this.filter = filter;
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * Sets the number of entries requested per chunk. The server may return
+   * fewer entries than requested.
+   */
+  public void setMaxEntries(int maxEntries) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be positive");
+    }
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Enables pipelined fetching.
+   * 
+   * @param prefetchClient a client for the same account, used only by the
+   *          prefetch thread; <code>null</code> to fetch sequentially
+   * @param lookahead the number of chunks that may be fetched ahead of the
+   *          one being applied
+   */
+  public void setPrefetchClient(NoteStoreClient prefetchClient, int lookahead) {
+    if (prefetchClient != null && lookahead <= 0) {
+      throw new IllegalArgumentException("lookahead must be positive");
+    }
+    this.prefetchClient = prefetchClient;
+    this.lookahead = lookahead;
+  }
+
+  /**
+   * Brings the local store up to date with the account.
+   * 
+   * @return the number of chunks that were applied, 0 if the store was
+   *         already up to date
+   */
+  public int sync() throws EDAMUserException, EDAMSystemException, TException {
+    SyncState state = client.getSyncState();
+
+    int afterUSN = store.getLastUpdateCount();
+    long lastSyncTime = store.getLastSyncTime();
+    boolean fullSync = afterUSN == 0
+        || state.getFullSyncBefore() > lastSyncTime;
+
+    SyncChunkFilter chunkFilter = filter;
+    if (fullSync) {
+      afterUSN = 0;
+      chunkFilter = filter.deepCopy();
+      chunkFilter.setIncludeExpunged(false);
+      store.onFullSyncStart();
+    } else if (state.getUpdateCount() == afterUSN) {
+      store.saveCheckpoint(afterUSN, state.getCurrentTime());
+      return 0;
+    }
+
+    if (prefetchClient != null) {
+      return prefetch(afterUSN, chunkFilter);
+    }
+
+    int chunks = 0;
+    while (true) {
+      SyncChunk chunk = client.getFilteredSyncChunk(afterUSN, maxEntries,
+          chunkFilter, store);
+      chunks++;
+      afterUSN = checkpoint(afterUSN, chunk);
+      if (afterUSN >= chunk.getUpdateCount()) {
+        return chunks;
+      }
+    }
+  }
+
+  private int prefetch(int afterUSN, SyncChunkFilter chunkFilter)
+      throws EDAMUserException, EDAMSystemException, TException {
+    SyncChunkPrefetcher prefetcher = new SyncChunkPrefetcher(prefetchClient,
+        afterUSN, maxEntries, chunkFilter, lookahead);
+    prefetcher.start();
+    try {
+      int chunks = 0;
+      SyncChunk chunk;
+      while ((chunk = prefetcher.next()) != null) {
+        store.handle(chunk);
+        chunks++;
+        afterUSN = checkpoint(afterUSN, chunk);
+      }
+      return chunks;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TException("Interrupted while waiting for a sync chunk", e);
+    } finally {
+      prefetcher.close();
+    }
+  }
+
+  /**
+   * Saves the checkpoint after <code>chunk</code> has been applied.
+   * 
+   * @return the USN to continue after
+   */
+  private int checkpoint(int afterUSN, SyncChunk chunk) {
+    if (!chunk.isSetChunkHighUSN()) {
+      // No entries after afterUSN, the store is complete
+      afterUSN = Math.max(afterUSN, chunk.getUpdateCount());
+    } else {
+      afterUSN = chunk.getChunkHighUSN();
+    }
+    store.saveCheckpoint(afterUSN, chunk.getCurrentTime());
+    return afterUSN;
+  }
+}
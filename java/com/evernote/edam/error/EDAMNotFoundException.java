@@ -146,7 +146,14 @@ public class EDAMNotFoundException extends Exception implements TBase<EDAMNotFou
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetIdentifier() ? 131071 : 524287);
+    if (isSetIdentifier())
+      hashCode = hashCode * 8191 + identifier.hashCode();
+    hashCode = hashCode * 8191 + (isSetKey() ? 131071 : 524287);
+    if (isSetKey())
+      hashCode = hashCode * 8191 + key.hashCode();
+    return hashCode;
   }
 
   public int compareTo(EDAMNotFoundException other) {
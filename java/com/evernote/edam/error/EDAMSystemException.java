@@ -201,7 +201,17 @@ public class EDAMSystemException extends Exception implements TBase<EDAMSystemEx
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetErrorCode() ? 131071 : 524287);
+    if (isSetErrorCode())
+      hashCode = hashCode * 8191 + errorCode.getValue();
+    hashCode = hashCode * 8191 + (isSetMessage() ? 131071 : 524287);
+    if (isSetMessage())
+      hashCode = hashCode * 8191 + message.hashCode();
+    hashCode = hashCode * 8191 + (isSetRateLimitDuration() ? 131071 : 524287);
+    if (isSetRateLimitDuration())
+      hashCode = hashCode * 8191 + rateLimitDuration;
+    return hashCode;
   }
 
   public int compareTo(EDAMSystemException other) {
@@ -165,7 +165,14 @@ public class EDAMUserException extends Exception implements TBase<EDAMUserExcept
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetErrorCode() ? 131071 : 524287);
+    if (isSetErrorCode())
+      hashCode = hashCode * 8191 + errorCode.getValue();
+    hashCode = hashCode * 8191 + (isSetParameter() ? 131071 : 524287);
+    if (isSetParameter())
+      hashCode = hashCode * 8191 + parameter.hashCode();
+    return hashCode;
   }
 
   public int compareTo(EDAMUserException other) {
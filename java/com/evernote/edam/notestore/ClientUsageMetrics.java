@@ -119,7 +119,11 @@ public class ClientUsageMetrics implements TBase<ClientUsageMetrics>, java.io.Se
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetSessions() ? 131071 : 524287);
+    if (isSetSessions())
+      hashCode = hashCode * 8191 + sessions;
+    return hashCode;
   }
 
   public int compareTo(ClientUsageMetrics other) {
@@ -244,7 +244,17 @@ public class NoteCollectionCounts implements TBase<NoteCollectionCounts>, java.i
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetNotebookCounts() ? 131071 : 524287);
+    if (isSetNotebookCounts())
+      hashCode = hashCode * 8191 + notebookCounts.hashCode();
+    hashCode = hashCode * 8191 + (isSetTagCounts() ? 131071 : 524287);
+    if (isSetTagCounts())
+      hashCode = hashCode * 8191 + tagCounts.hashCode();
+    hashCode = hashCode * 8191 + (isSetTrashCount() ? 131071 : 524287);
+    if (isSetTrashCount())
+      hashCode = hashCode * 8191 + trashCount;
+    return hashCode;
   }
 
   public int compareTo(NoteCollectionCounts other) {
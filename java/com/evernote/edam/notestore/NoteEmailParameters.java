@@ -371,7 +371,26 @@ public class NoteEmailParameters implements TBase<NoteEmailParameters>, java.io.
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetGuid() ? 131071 : 524287);
+    if (isSetGuid())
+      hashCode = hashCode * 8191 + guid.hashCode();
+    hashCode = hashCode * 8191 + (isSetNote() ? 131071 : 524287);
+    if (isSetNote())
+      hashCode = hashCode * 8191 + note.hashCode();
+    hashCode = hashCode * 8191 + (isSetToAddresses() ? 131071 : 524287);
+    if (isSetToAddresses())
+      hashCode = hashCode * 8191 + toAddresses.hashCode();
+    hashCode = hashCode * 8191 + (isSetCcAddresses() ? 131071 : 524287);
+    if (isSetCcAddresses())
+      hashCode = hashCode * 8191 + ccAddresses.hashCode();
+    hashCode = hashCode * 8191 + (isSetSubject() ? 131071 : 524287);
+    if (isSetSubject())
+      hashCode = hashCode * 8191 + subject.hashCode();
+    hashCode = hashCode * 8191 + (isSetMessage() ? 131071 : 524287);
+    if (isSetMessage())
+      hashCode = hashCode * 8191 + message.hashCode();
+    return hashCode;
   }
 
   public int compareTo(NoteEmailParameters other) {
@@ -442,7 +442,32 @@ public class NoteFilter implements TBase<NoteFilter>, java.io.Serializable, Clon
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetOrder() ? 131071 : 524287);
+    if (isSetOrder())
+      hashCode = hashCode * 8191 + order;
+    hashCode = hashCode * 8191 + (isSetAscending() ? 131071 : 524287);
+    if (isSetAscending())
+      hashCode = hashCode * 8191 + (ascending ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetWords() ? 131071 : 524287);
+    if (isSetWords())
+      hashCode = hashCode * 8191 + words.hashCode();
+    hashCode = hashCode * 8191 + (isSetNotebookGuid() ? 131071 : 524287);
+    if (isSetNotebookGuid())
+      hashCode = hashCode * 8191 + notebookGuid.hashCode();
+    hashCode = hashCode * 8191 + (isSetTagGuids() ? 131071 : 524287);
+    if (isSetTagGuids())
+      hashCode = hashCode * 8191 + tagGuids.hashCode();
+    hashCode = hashCode * 8191 + (isSetTimeZone() ? 131071 : 524287);
+    if (isSetTimeZone())
+      hashCode = hashCode * 8191 + timeZone.hashCode();
+    hashCode = hashCode * 8191 + (isSetInactive() ? 131071 : 524287);
+    if (isSetInactive())
+      hashCode = hashCode * 8191 + (inactive ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetEmphasized() ? 131071 : 524287);
+    if (isSetEmphasized())
+      hashCode = hashCode * 8191 + emphasized.hashCode();
+    return hashCode;
   }
 
   public int compareTo(NoteFilter other) {
@@ -404,7 +404,22 @@ public class NoteList implements TBase<NoteList>, java.io.Serializable, Cloneabl
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + startIndex;
+    hashCode = hashCode * 8191 + totalNotes;
+    hashCode = hashCode * 8191 + (isSetNotes() ? 131071 : 524287);
+    if (isSetNotes())
+      hashCode = hashCode * 8191 + notes.hashCode();
+    hashCode = hashCode * 8191 + (isSetStoppedWords() ? 131071 : 524287);
+    if (isSetStoppedWords())
+      hashCode = hashCode * 8191 + stoppedWords.hashCode();
+    hashCode = hashCode * 8191 + (isSetSearchedWords() ? 131071 : 524287);
+    if (isSetSearchedWords())
+      hashCode = hashCode * 8191 + searchedWords.hashCode();
+    hashCode = hashCode * 8191 + (isSetUpdateCount() ? 131071 : 524287);
+    if (isSetUpdateCount())
+      hashCode = hashCode * 8191 + updateCount;
+    return hashCode;
   }
 
   public int compareTo(NoteList other) {
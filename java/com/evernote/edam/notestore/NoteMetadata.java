@@ -558,7 +558,44 @@ public class NoteMetadata implements TBase<NoteMetadata>, java.io.Serializable,
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetGuid() ? 131071 : 524287);
+    if (isSetGuid())
+      hashCode = hashCode * 8191 + guid.hashCode();
+    hashCode = hashCode * 8191 + (isSetTitle() ? 131071 : 524287);
+    if (isSetTitle())
+      hashCode = hashCode * 8191 + title.hashCode();
+    hashCode = hashCode * 8191 + (isSetContentLength() ? 131071 : 524287);
+    if (isSetContentLength())
+      hashCode = hashCode * 8191 + contentLength;
+    hashCode = hashCode * 8191 + (isSetCreated() ? 131071 : 524287);
+    if (isSetCreated())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(created);
+    hashCode = hashCode * 8191 + (isSetUpdated() ? 131071 : 524287);
+    if (isSetUpdated())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(updated);
+    hashCode = hashCode * 8191 + (isSetDeleted() ? 131071 : 524287);
+    if (isSetDeleted())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(deleted);
+    hashCode = hashCode * 8191 + (isSetUpdateSequenceNum() ? 131071 : 524287);
+    if (isSetUpdateSequenceNum())
+      hashCode = hashCode * 8191 + updateSequenceNum;
+    hashCode = hashCode * 8191 + (isSetNotebookGuid() ? 131071 : 524287);
+    if (isSetNotebookGuid())
+      hashCode = hashCode * 8191 + notebookGuid.hashCode();
+    hashCode = hashCode * 8191 + (isSetTagGuids() ? 131071 : 524287);
+    if (isSetTagGuids())
+      hashCode = hashCode * 8191 + tagGuids.hashCode();
+    hashCode = hashCode * 8191 + (isSetAttributes() ? 131071 : 524287);
+    if (isSetAttributes())
+      hashCode = hashCode * 8191 + attributes.hashCode();
+    hashCode = hashCode * 8191 + (isSetLargestResourceMime() ? 131071 : 524287);
+    if (isSetLargestResourceMime())
+      hashCode = hashCode * 8191 + largestResourceMime.hashCode();
+    hashCode = hashCode * 8191 + (isSetLargestResourceSize() ? 131071 : 524287);
+    if (isSetLargestResourceSize())
+      hashCode = hashCode * 8191 + largestResourceSize;
+    return hashCode;
   }
 
   public int compareTo(NoteMetadata other) {
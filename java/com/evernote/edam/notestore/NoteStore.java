@@ -19,7 +19,33 @@ public class NoteStore {
 
   public interface Iface extends NoteStoreIface { }
 
-  public static class Client implements TServiceClient, Iface {
+  /**
+   * The streaming SyncChunk reads of {@link Client}, which are not part of the
+   * service definition.
+   */
+  public interface StreamingIface extends Iface {
+
+    /**
+     * Streaming variant of {@link NoteStoreIface#getSyncChunk(String, int, int, boolean)}.
+     * Each list element of the chunk is passed to <code>handler</code> as it is read.
+     */
+    public SyncChunk getSyncChunk(String authenticationToken, int afterUSN, int maxEntries, boolean fullSyncOnly, SyncChunkHandler handler) throws com.evernote.edam.error.EDAMUserException, com.evernote.edam.error.EDAMSystemException, TException;
+
+    /**
+     * Streaming variant of {@link NoteStoreIface#getFilteredSyncChunk(String, int, int, SyncChunkFilter)}.
+     * Each list element of the chunk is passed to <code>handler</code> as it is read.
+     */
+    public SyncChunk getFilteredSyncChunk(String authenticationToken, int afterUSN, int maxEntries, SyncChunkFilter filter, SyncChunkHandler handler) throws com.evernote.edam.error.EDAMUserException, com.evernote.edam.error.EDAMSystemException, TException;
+
+    /**
+     * Streaming variant of {@link NoteStoreIface#getLinkedNotebookSyncChunk(String, com.evernote.edam.type.LinkedNotebook, int, int, boolean)}.
+     * Each list element of the chunk is passed to <code>handler</code> as it is read.
+     */
+    public SyncChunk getLinkedNotebookSyncChunk(String authenticationToken, com.evernote.edam.type.LinkedNotebook linkedNotebook, int afterUSN, int maxEntries, boolean fullSyncOnly, SyncChunkHandler handler) throws com.evernote.edam.error.EDAMUserException, com.evernote.edam.error.EDAMSystemException, com.evernote.edam.error.EDAMNotFoundException, TException;
+
+  }
+
+  public static class Client implements TServiceClient, StreamingIface {
     public Client(TProtocol prot)
     {
       this(prot, prot);
@@ -176,6 +202,32 @@ public class NoteStore {
       throw new TApplicationException(TApplicationException.MISSING_RESULT, "getSyncChunk failed: unknown result");
     }
 
+    /**
+     * Like {@link #getSyncChunk(String, int, int, boolean)}, but passes each
+     * list element of the chunk to <code>handler</code> as it is read instead of
+     * collecting it. The returned SyncChunk only has the scalar fields set.
+     */
+    public SyncChunk getSyncChunk(String authenticationToken, int afterUSN, int maxEntries, boolean fullSyncOnly, SyncChunkHandler handler) throws com.evernote.edam.error.EDAMUserException, com.evernote.edam.error.EDAMSystemException, TException
+    {
+      send_getSyncChunk(authenticationToken, afterUSN, maxEntries, fullSyncOnly);
+      return recv_getSyncChunk(handler);
+    }
+
+    public SyncChunk recv_getSyncChunk(SyncChunkHandler handler) throws com.evernote.edam.error.EDAMUserException, com.evernote.edam.error.EDAMSystemException, TException
+    {
+      streamedSyncChunk_result result = recv_streamedSyncChunk("getSyncChunk", handler);
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.userException != null) {
+        throw result.userException;
+      }
+      if (result.systemException != null) {
+        throw result.systemException;
+      }
+      throw new TApplicationException(TApplicationException.MISSING_RESULT, "getSyncChunk failed: unknown result");
+    }
+
     public SyncChunk getFilteredSyncChunk(String authenticationToken, int afterUSN, int maxEntries, SyncChunkFilter filter) throws com.evernote.edam.error.EDAMUserException, com.evernote.edam.error.EDAMSystemException, TException
     {
       send_getFilteredSyncChunk(authenticationToken, afterUSN, maxEntries, filter);
@@ -221,6 +273,32 @@ public class NoteStore {
       throw new TApplicationException(TApplicationException.MISSING_RESULT, "getFilteredSyncChunk failed: unknown result");
     }
 
+    /**
+     * Like {@link #getFilteredSyncChunk(String, int, int, SyncChunkFilter)}, but passes each
+     * list element of the chunk to <code>handler</code> as it is read instead of
+     * collecting it. The returned SyncChunk only has the scalar fields set.
+     */
+    public SyncChunk getFilteredSyncChunk(String authenticationToken, int afterUSN, int maxEntries, SyncChunkFilter filter, SyncChunkHandler handler) throws com.evernote.edam.error.EDAMUserException, com.evernote.edam.error.EDAMSystemException, TException
+    {
+      send_getFilteredSyncChunk(authenticationToken, afterUSN, maxEntries, filter);
+      return recv_getFilteredSyncChunk(handler);
+    }
+
+    public SyncChunk recv_getFilteredSyncChunk(SyncChunkHandler handler) throws com.evernote.edam.error.EDAMUserException, com.evernote.edam.error.EDAMSystemException, TException
+    {
+      streamedSyncChunk_result result = recv_streamedSyncChunk("getFilteredSyncChunk", handler);
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.userException != null) {
+        throw result.userException;
+      }
+      if (result.systemException != null) {
+        throw result.systemException;
+      }
+      throw new TApplicationException(TApplicationException.MISSING_RESULT, "getFilteredSyncChunk failed: unknown result");
+    }
+
     public SyncState getLinkedNotebookSyncState(String authenticationToken, com.evernote.edam.type.LinkedNotebook linkedNotebook) throws com.evernote.edam.error.EDAMUserException, com.evernote.edam.error.EDAMSystemException, com.evernote.edam.error.EDAMNotFoundException, TException
     {
       send_getLinkedNotebookSyncState(authenticationToken, linkedNotebook);
@@ -316,6 +394,52 @@ public class NoteStore {
       throw new TApplicationException(TApplicationException.MISSING_RESULT, "getLinkedNotebookSyncChunk failed: unknown result");
     }
 
+    /**
+     * Like {@link #getLinkedNotebookSyncChunk(String, com.evernote.edam.type.LinkedNotebook, int, int, boolean)}, but passes each
+     * list element of the chunk to <code>handler</code> as it is read instead of
+     * collecting it. The returned SyncChunk only has the scalar fields set.
+     */
+    public SyncChunk getLinkedNotebookSyncChunk(String authenticationToken, com.evernote.edam.type.LinkedNotebook linkedNotebook, int afterUSN, int maxEntries, boolean fullSyncOnly, SyncChunkHandler handler) throws com.evernote.edam.error.EDAMUserException, com.evernote.edam.error.EDAMSystemException, com.evernote.edam.error.EDAMNotFoundException, TException
+    {
+      send_getLinkedNotebookSyncChunk(authenticationToken, linkedNotebook, afterUSN, maxEntries, fullSyncOnly);
+      return recv_getLinkedNotebookSyncChunk(handler);
+    }
+
+    public SyncChunk recv_getLinkedNotebookSyncChunk(SyncChunkHandler handler) throws com.evernote.edam.error.EDAMUserException, com.evernote.edam.error.EDAMSystemException, com.evernote.edam.error.EDAMNotFoundException, TException
+    {
+      streamedSyncChunk_result result = recv_streamedSyncChunk("getLinkedNotebookSyncChunk", handler);
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.userException != null) {
+        throw result.userException;
+      }
+      if (result.systemException != null) {
+        throw result.systemException;
+      }
+      if (result.notFoundException != null) {
+        throw result.notFoundException;
+      }
+      throw new TApplicationException(TApplicationException.MISSING_RESULT, "getLinkedNotebookSyncChunk failed: unknown result");
+    }
+
+    private streamedSyncChunk_result recv_streamedSyncChunk(String methodName, SyncChunkHandler handler) throws TException
+    {
+      TMessage msg = iprot_.readMessageBegin();
+      if (msg.type == TMessageType.EXCEPTION) {
+        TApplicationException x = TApplicationException.read(iprot_);
+        iprot_.readMessageEnd();
+        throw x;
+      }
+      if (msg.seqid != seqid_) {
+        throw new TApplicationException(TApplicationException.BAD_SEQUENCE_ID, methodName + " failed: out of sequence response");
+      }
+      streamedSyncChunk_result result = new streamedSyncChunk_result();
+      result.read(iprot_, handler);
+      iprot_.readMessageEnd();
+      return result;
+    }
+
     public List<com.evernote.edam.type.Notebook> listNotebooks(String authenticationToken) throws com.evernote.edam.error.EDAMUserException, com.evernote.edam.error.EDAMSystemException, TException
     {
       send_listNotebooks(authenticationToken);
@@ -4452,6 +4576,73 @@ public class NoteStore {
 
   }
 
+  /**
+   * Result of the streaming getSyncChunk, getFilteredSyncChunk and
+   * getLinkedNotebookSyncChunk calls. The three results share their layout, so
+   * one reader serves all of them.
+   */
+  private static class streamedSyncChunk_result {
+    public SyncChunk success;
+    public com.evernote.edam.error.EDAMUserException userException;
+    public com.evernote.edam.error.EDAMSystemException systemException;
+    public com.evernote.edam.error.EDAMNotFoundException notFoundException;
+
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void read(TProtocol iprot, SyncChunkHandler handler) throws TException {
+      TField field;
+      iprot.readStructBegin();
+      while (true)
+      {
+        field = iprot.readFieldBegin();
+        if (field.type == TType.STOP) { 
+          break;
+        }
+        switch (field.id) {
+          case 0: // SUCCESS
+            if (field.type == TType.STRUCT) {
+              this.success = new SyncChunk();
+              this.success.read(iprot, handler);
+            } else { 
+              TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 1: // USER_EXCEPTION
+            if (field.type == TType.STRUCT) {
+              this.userException = new com.evernote.edam.error.EDAMUserException();
+              this.userException.read(iprot);
+            } else { 
+              TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 2: // SYSTEM_EXCEPTION
+            if (field.type == TType.STRUCT) {
+              this.systemException = new com.evernote.edam.error.EDAMSystemException();
+              this.systemException.read(iprot);
+            } else { 
+              TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 3: // NOT_FOUND_EXCEPTION
+            if (field.type == TType.STRUCT) {
+              this.notFoundException = new com.evernote.edam.error.EDAMNotFoundException();
+              this.notFoundException.read(iprot);
+            } else { 
+              TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          default:
+            TProtocolUtil.skip(iprot, field.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+    }
+
+  }
+
   private static class getFilteredSyncChunk_args implements TBase<getFilteredSyncChunk_args>, java.io.Serializable, Cloneable   {
     private static final TStruct STRUCT_DESC = new TStruct("getFilteredSyncChunk_args");
 
@@ -256,7 +256,14 @@ public class NoteVersionId implements TBase<NoteVersionId>, java.io.Serializable
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + updateSequenceNum;
+    hashCode = hashCode * 8191 + TBaseHelper.hashCode(updated);
+    hashCode = hashCode * 8191 + TBaseHelper.hashCode(saved);
+    hashCode = hashCode * 8191 + (isSetTitle() ? 131071 : 524287);
+    if (isSetTitle())
+      hashCode = hashCode * 8191 + title.hashCode();
+    return hashCode;
   }
 
   public int compareTo(NoteVersionId other) {
@@ -479,7 +479,41 @@ public class NotesMetadataResultSpec implements TBase<NotesMetadataResultSpec>,
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetIncludeTitle() ? 131071 : 524287);
+    if (isSetIncludeTitle())
+      hashCode = hashCode * 8191 + (includeTitle ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeContentLength() ? 131071 : 524287);
+    if (isSetIncludeContentLength())
+      hashCode = hashCode * 8191 + (includeContentLength ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeCreated() ? 131071 : 524287);
+    if (isSetIncludeCreated())
+      hashCode = hashCode * 8191 + (includeCreated ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeUpdated() ? 131071 : 524287);
+    if (isSetIncludeUpdated())
+      hashCode = hashCode * 8191 + (includeUpdated ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeDeleted() ? 131071 : 524287);
+    if (isSetIncludeDeleted())
+      hashCode = hashCode * 8191 + (includeDeleted ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeUpdateSequenceNum() ? 131071 : 524287);
+    if (isSetIncludeUpdateSequenceNum())
+      hashCode = hashCode * 8191 + (includeUpdateSequenceNum ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeNotebookGuid() ? 131071 : 524287);
+    if (isSetIncludeNotebookGuid())
+      hashCode = hashCode * 8191 + (includeNotebookGuid ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeTagGuids() ? 131071 : 524287);
+    if (isSetIncludeTagGuids())
+      hashCode = hashCode * 8191 + (includeTagGuids ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeAttributes() ? 131071 : 524287);
+    if (isSetIncludeAttributes())
+      hashCode = hashCode * 8191 + (includeAttributes ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeLargestResourceMime() ? 131071 : 524287);
+    if (isSetIncludeLargestResourceMime())
+      hashCode = hashCode * 8191 + (includeLargestResourceMime ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeLargestResourceSize() ? 131071 : 524287);
+    if (isSetIncludeLargestResourceSize())
+      hashCode = hashCode * 8191 + (includeLargestResourceSize ? 131071 : 524287);
+    return hashCode;
   }
 
   public int compareTo(NotesMetadataResultSpec other) {
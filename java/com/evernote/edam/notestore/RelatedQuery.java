@@ -240,7 +240,20 @@ public class RelatedQuery implements TBase<RelatedQuery>, java.io.Serializable,
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetNoteGuid() ? 131071 : 524287);
+    if (isSetNoteGuid())
+      hashCode = hashCode * 8191 + noteGuid.hashCode();
+    hashCode = hashCode * 8191 + (isSetPlainText() ? 131071 : 524287);
+    if (isSetPlainText())
+      hashCode = hashCode * 8191 + plainText.hashCode();
+    hashCode = hashCode * 8191 + (isSetFilter() ? 131071 : 524287);
+    if (isSetFilter())
+      hashCode = hashCode * 8191 + filter.hashCode();
+    hashCode = hashCode * 8191 + (isSetReferenceUri() ? 131071 : 524287);
+    if (isSetReferenceUri())
+      hashCode = hashCode * 8191 + referenceUri.hashCode();
+    return hashCode;
   }
 
   public int compareTo(RelatedQuery other) {
@@ -315,7 +315,20 @@ public class RelatedResult implements TBase<RelatedResult>, java.io.Serializable
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetNotes() ? 131071 : 524287);
+    if (isSetNotes())
+      hashCode = hashCode * 8191 + notes.hashCode();
+    hashCode = hashCode * 8191 + (isSetNotebooks() ? 131071 : 524287);
+    if (isSetNotebooks())
+      hashCode = hashCode * 8191 + notebooks.hashCode();
+    hashCode = hashCode * 8191 + (isSetTags() ? 131071 : 524287);
+    if (isSetTags())
+      hashCode = hashCode * 8191 + tags.hashCode();
+    hashCode = hashCode * 8191 + (isSetContainingNotebooks() ? 131071 : 524287);
+    if (isSetContainingNotebooks())
+      hashCode = hashCode * 8191 + containingNotebooks.hashCode();
+    return hashCode;
   }
 
   public int compareTo(RelatedResult other) {
@@ -284,7 +284,23 @@ public class RelatedResultSpec implements TBase<RelatedResultSpec>, java.io.Seri
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetMaxNotes() ? 131071 : 524287);
+    if (isSetMaxNotes())
+      hashCode = hashCode * 8191 + maxNotes;
+    hashCode = hashCode * 8191 + (isSetMaxNotebooks() ? 131071 : 524287);
+    if (isSetMaxNotebooks())
+      hashCode = hashCode * 8191 + maxNotebooks;
+    hashCode = hashCode * 8191 + (isSetMaxTags() ? 131071 : 524287);
+    if (isSetMaxTags())
+      hashCode = hashCode * 8191 + maxTags;
+    hashCode = hashCode * 8191 + (isSetWritableNotebooksOnly() ? 131071 : 524287);
+    if (isSetWritableNotebooksOnly())
+      hashCode = hashCode * 8191 + (writableNotebooksOnly ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeContainingNotebooks() ? 131071 : 524287);
+    if (isSetIncludeContainingNotebooks())
+      hashCode = hashCode * 8191 + (includeContainingNotebooks ? 131071 : 524287);
+    return hashCode;
   }
 
   public int compareTo(RelatedResultSpec other) {
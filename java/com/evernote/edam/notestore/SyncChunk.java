@@ -915,7 +915,46 @@ public class SyncChunk implements TBase<SyncChunk>, java.io.Serializable, Clonea
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + TBaseHelper.hashCode(currentTime);
+    hashCode = hashCode * 8191 + (isSetChunkHighUSN() ? 131071 : 524287);
+    if (isSetChunkHighUSN())
+      hashCode = hashCode * 8191 + chunkHighUSN;
+    hashCode = hashCode * 8191 + updateCount;
+    hashCode = hashCode * 8191 + (isSetNotes() ? 131071 : 524287);
+    if (isSetNotes())
+      hashCode = hashCode * 8191 + notes.hashCode();
+    hashCode = hashCode * 8191 + (isSetNotebooks() ? 131071 : 524287);
+    if (isSetNotebooks())
+      hashCode = hashCode * 8191 + notebooks.hashCode();
+    hashCode = hashCode * 8191 + (isSetTags() ? 131071 : 524287);
+    if (isSetTags())
+      hashCode = hashCode * 8191 + tags.hashCode();
+    hashCode = hashCode * 8191 + (isSetSearches() ? 131071 : 524287);
+    if (isSetSearches())
+      hashCode = hashCode * 8191 + searches.hashCode();
+    hashCode = hashCode * 8191 + (isSetResources() ? 131071 : 524287);
+    if (isSetResources())
+      hashCode = hashCode * 8191 + resources.hashCode();
+    hashCode = hashCode * 8191 + (isSetExpungedNotes() ? 131071 : 524287);
+    if (isSetExpungedNotes())
+      hashCode = hashCode * 8191 + expungedNotes.hashCode();
+    hashCode = hashCode * 8191 + (isSetExpungedNotebooks() ? 131071 : 524287);
+    if (isSetExpungedNotebooks())
+      hashCode = hashCode * 8191 + expungedNotebooks.hashCode();
+    hashCode = hashCode * 8191 + (isSetExpungedTags() ? 131071 : 524287);
+    if (isSetExpungedTags())
+      hashCode = hashCode * 8191 + expungedTags.hashCode();
+    hashCode = hashCode * 8191 + (isSetExpungedSearches() ? 131071 : 524287);
+    if (isSetExpungedSearches())
+      hashCode = hashCode * 8191 + expungedSearches.hashCode();
+    hashCode = hashCode * 8191 + (isSetLinkedNotebooks() ? 131071 : 524287);
+    if (isSetLinkedNotebooks())
+      hashCode = hashCode * 8191 + linkedNotebooks.hashCode();
+    hashCode = hashCode * 8191 + (isSetExpungedLinkedNotebooks() ? 131071 : 524287);
+    if (isSetExpungedLinkedNotebooks())
+      hashCode = hashCode * 8191 + expungedLinkedNotebooks.hashCode();
+    return hashCode;
   }
 
   public int compareTo(SyncChunk other) {
@@ -1291,6 +1330,183 @@ public class SyncChunk implements TBase<SyncChunk>, java.io.Serializable, Clonea
     validate();
   }
 
+  /**
+   * Reads a SyncChunk like {@link #read(TProtocol)}, but hands each element
+   * of the list fields to <code>handler</code> as soon as it has been decoded
+   * instead of collecting it. Only the scalar fields (currentTime,
+   * chunkHighUSN and updateCount) are set on this object; the list fields
+   * are left unset.
+   */
+  public void read(TProtocol iprot, SyncChunkHandler handler) throws TException {
+    TField field;
+    iprot.readStructBegin();
+    while (true)
+    {
+      field = iprot.readFieldBegin();
+      if (field.type == TType.STOP) { 
+        break;
+      }
+      if (field.type != TType.LIST && field.id >= 4 && field.id <= 14) {
+        TProtocolUtil.skip(iprot, field.type);
+        iprot.readFieldEnd();
+        continue;
+      }
+      switch (field.id) {
+        case 1: // CURRENT_TIME
+          if (field.type == TType.I64) {
+            this.currentTime = iprot.readI64();
+            setCurrentTimeIsSet(true);
+          } else { 
+            TProtocolUtil.skip(iprot, field.type);
+          }
+          break;
+        case 2: // CHUNK_HIGH_USN
+          if (field.type == TType.I32) {
+            this.chunkHighUSN = iprot.readI32();
+            setChunkHighUSNIsSet(true);
+          } else { 
+            TProtocolUtil.skip(iprot, field.type);
+          }
+          break;
+        case 3: // UPDATE_COUNT
+          if (field.type == TType.I32) {
+            this.updateCount = iprot.readI32();
+            setUpdateCountIsSet(true);
+          } else { 
+            TProtocolUtil.skip(iprot, field.type);
+          }
+          break;
+        case 4: // NOTES
+          {
+            TList _list = iprot.readListBegin();
+            for (int _i = 0; _i < _list.size; ++_i)
+            {
+              com.evernote.edam.type.Note _elem = new com.evernote.edam.type.Note();
+              _elem.read(iprot);
+              handler.onNote(_elem);
+            }
+            iprot.readListEnd();
+          }
+          break;
+        case 5: // NOTEBOOKS
+          {
+            TList _list = iprot.readListBegin();
+            for (int _i = 0; _i < _list.size; ++_i)
+            {
+              com.evernote.edam.type.Notebook _elem = new com.evernote.edam.type.Notebook();
+              _elem.read(iprot);
+              handler.onNotebook(_elem);
+            }
+            iprot.readListEnd();
+          }
+          break;
+        case 6: // TAGS
+          {
+            TList _list = iprot.readListBegin();
+            for (int _i = 0; _i < _list.size; ++_i)
+            {
+              com.evernote.edam.type.Tag _elem = new com.evernote.edam.type.Tag();
+              _elem.read(iprot);
+              handler.onTag(_elem);
+            }
+            iprot.readListEnd();
+          }
+          break;
+        case 7: // SEARCHES
+          {
+            TList _list = iprot.readListBegin();
+            for (int _i = 0; _i < _list.size; ++_i)
+            {
+              com.evernote.edam.type.SavedSearch _elem = new com.evernote.edam.type.SavedSearch();
+              _elem.read(iprot);
+              handler.onSearch(_elem);
+            }
+            iprot.readListEnd();
+          }
+          break;
+        case 8: // RESOURCES
+          {
+            TList _list = iprot.readListBegin();
+            for (int _i = 0; _i < _list.size; ++_i)
+            {
+              com.evernote.edam.type.Resource _elem = new com.evernote.edam.type.Resource();
+              _elem.read(iprot);
+              handler.onResource(_elem);
+            }
+            iprot.readListEnd();
+          }
+          break;
+        case 9: // EXPUNGED_NOTES
+          {
+            TList _list = iprot.readListBegin();
+            for (int _i = 0; _i < _list.size; ++_i)
+            {
+              handler.onExpungedNote(iprot.readString());
+            }
+            iprot.readListEnd();
+          }
+          break;
+        case 10: // EXPUNGED_NOTEBOOKS
+          {
+            TList _list = iprot.readListBegin();
+            for (int _i = 0; _i < _list.size; ++_i)
+            {
+              handler.onExpungedNotebook(iprot.readString());
+            }
+            iprot.readListEnd();
+          }
+          break;
+        case 11: // EXPUNGED_TAGS
+          {
+            TList _list = iprot.readListBegin();
+            for (int _i = 0; _i < _list.size; ++_i)
+            {
+              handler.onExpungedTag(iprot.readString());
+            }
+            iprot.readListEnd();
+          }
+          break;
+        case 12: // EXPUNGED_SEARCHES
+          {
+            TList _list = iprot.readListBegin();
+            for (int _i = 0; _i < _list.size; ++_i)
+            {
+              handler.onExpungedSearch(iprot.readString());
+            }
+            iprot.readListEnd();
+          }
+          break;
+        case 13: // LINKED_NOTEBOOKS
+          {
+            TList _list = iprot.readListBegin();
+            for (int _i = 0; _i < _list.size; ++_i)
+            {
+              com.evernote.edam.type.LinkedNotebook _elem = new com.evernote.edam.type.LinkedNotebook();
+              _elem.read(iprot);
+              handler.onLinkedNotebook(_elem);
+            }
+            iprot.readListEnd();
+          }
+          break;
+        case 14: // EXPUNGED_LINKED_NOTEBOOKS
+          {
+            TList _list = iprot.readListBegin();
+            for (int _i = 0; _i < _list.size; ++_i)
+            {
+              handler.onExpungedLinkedNotebook(iprot.readString());
+            }
+            iprot.readListEnd();
+          }
+          break;
+        default:
+          TProtocolUtil.skip(iprot, field.type);
+      }
+      iprot.readFieldEnd();
+    }
+    iprot.readStructEnd();
+    validate();
+  }
+
   public void write(TProtocol oprot) throws TException {
     validate();
 
@@ -635,7 +635,47 @@ public class SyncChunkFilter implements TBase<SyncChunkFilter>, java.io.Serializ
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetIncludeNotes() ? 131071 : 524287);
+    if (isSetIncludeNotes())
+      hashCode = hashCode * 8191 + (includeNotes ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeNoteResources() ? 131071 : 524287);
+    if (isSetIncludeNoteResources())
+      hashCode = hashCode * 8191 + (includeNoteResources ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeNoteAttributes() ? 131071 : 524287);
+    if (isSetIncludeNoteAttributes())
+      hashCode = hashCode * 8191 + (includeNoteAttributes ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeNotebooks() ? 131071 : 524287);
+    if (isSetIncludeNotebooks())
+      hashCode = hashCode * 8191 + (includeNotebooks ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeTags() ? 131071 : 524287);
+    if (isSetIncludeTags())
+      hashCode = hashCode * 8191 + (includeTags ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeSearches() ? 131071 : 524287);
+    if (isSetIncludeSearches())
+      hashCode = hashCode * 8191 + (includeSearches ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeResources() ? 131071 : 524287);
+    if (isSetIncludeResources())
+      hashCode = hashCode * 8191 + (includeResources ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeLinkedNotebooks() ? 131071 : 524287);
+    if (isSetIncludeLinkedNotebooks())
+      hashCode = hashCode * 8191 + (includeLinkedNotebooks ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeExpunged() ? 131071 : 524287);
+    if (isSetIncludeExpunged())
+      hashCode = hashCode * 8191 + (includeExpunged ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeNoteApplicationDataFullMap() ? 131071 : 524287);
+    if (isSetIncludeNoteApplicationDataFullMap())
+      hashCode = hashCode * 8191 + (includeNoteApplicationDataFullMap ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeResourceApplicationDataFullMap() ? 131071 : 524287);
+    if (isSetIncludeResourceApplicationDataFullMap())
+      hashCode = hashCode * 8191 + (includeResourceApplicationDataFullMap ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeNoteResourceApplicationDataFullMap() ? 131071 : 524287);
+    if (isSetIncludeNoteResourceApplicationDataFullMap())
+      hashCode = hashCode * 8191 + (includeNoteResourceApplicationDataFullMap ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetRequireNoteContentClass() ? 131071 : 524287);
+    if (isSetRequireNoteContentClass())
+      hashCode = hashCode * 8191 + requireNoteContentClass.hashCode();
+    return hashCode;
   }
 
   public int compareTo(SyncChunkFilter other) {
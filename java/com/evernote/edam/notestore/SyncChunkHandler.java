@@ -0,0 +1,126 @@
+package com.evernote.edam.notestore;
+
+import com.evernote.edam.type.LinkedNotebook;
+import com.evernote.edam.type.Note;
+import com.evernote.edam.type.Notebook;
+import com.evernote.edam.type.Resource;
+import com.evernote.edam.type.SavedSearch;
+import com.evernote.edam.type.Tag;
+
+/**
+ * Receives the contents of a {@link SyncChunk} one element at a time, as the
+ * elements are decoded from the wire.
+ * <p>
+ * Passed to the streaming variants of {@link NoteStore.Client#getSyncChunk},
+ * {@link NoteStore.Client#getFilteredSyncChunk} and
+ * {@link NoteStore.Client#getLinkedNotebookSyncChunk}. The list fields of the
+ * chunk are never collected, so a handler that stores or processes each
+ * element and then drops it keeps memory use bounded by the largest single
+ * element rather than by the size of the chunk.
+ * <p>
+ * Elements are delivered in wire order. The server sends the header fields
+ * ({@code currentTime}, {@code chunkHighUSN}, {@code updateCount}) first, and
+ * within each list the elements are in ascending USN order, but the lists
+ * themselves are not interleaved by USN.
+ * <p>
+ * All methods do nothing by default; override the ones you need. A runtime
+ * exception thrown from a callback aborts the call, leaving the response
+ * partially read, so the underlying connection should not be reused.
+ */
+public abstract class SyncChunkHandler {
+
+  /**
+   * Passes the elements of an already decoded chunk to this handler, in the
+   * same order as the streaming read would.
+   */
+  public void handle(SyncChunk chunk) {
+    if (chunk.isSetNotes()) {
+      for (Note note : chunk.getNotes()) {
+        onNote(note);
+      }
+    }
+    if (chunk.isSetNotebooks()) {
+      for (Notebook notebook : chunk.getNotebooks()) {
+        onNotebook(notebook);
+      }
+    }
+    if (chunk.isSetTags()) {
+      for (Tag tag : chunk.getTags()) {
+        onTag(tag);
+      }
+    }
+    if (chunk.isSetSearches()) {
+      for (SavedSearch search : chunk.getSearches()) {
+        onSearch(search);
+      }
+    }
+    if (chunk.isSetResources()) {
+      for (Resource resource : chunk.getResources()) {
+        onResource(resource);
+      }
+    }
+    if (chunk.isSetExpungedNotes()) {
+      for (String guid : chunk.getExpungedNotes()) {
+        onExpungedNote(guid);
+      }
+    }
+    if (chunk.isSetExpungedNotebooks()) {
+      for (String guid : chunk.getExpungedNotebooks()) {
+        onExpungedNotebook(guid);
+      }
+    }
+    if (chunk.isSetExpungedTags()) {
+      for (String guid : chunk.getExpungedTags()) {
+        onExpungedTag(guid);
+      }
+    }
+    if (chunk.isSetExpungedSearches()) {
+      for (String guid : chunk.getExpungedSearches()) {
+        onExpungedSearch(guid);
+      }
+    }
+    if (chunk.isSetLinkedNotebooks()) {
+      for (LinkedNotebook linkedNotebook : chunk.getLinkedNotebooks()) {
+        onLinkedNotebook(linkedNotebook);
+      }
+    }
+    if (chunk.isSetExpungedLinkedNotebooks()) {
+      for (String guid : chunk.getExpungedLinkedNotebooks()) {
+        onExpungedLinkedNotebook(guid);
+      }
+    }
+  }
+
+  public void onNote(Note note) {
+  }
+
+  public void onNotebook(Notebook notebook) {
+  }
+
+  public void onTag(Tag tag) {
+  }
+
+  public void onSearch(SavedSearch search) {
+  }
+
+  public void onResource(Resource resource) {
+  }
+
+  public void onLinkedNotebook(LinkedNotebook linkedNotebook) {
+  }
+
+  public void onExpungedNote(String guid) {
+  }
+
+  public void onExpungedNotebook(String guid) {
+  }
+
+  public void onExpungedTag(String guid) {
+  }
+
+  public void onExpungedSearch(String guid) {
+  }
+
+  public void onExpungedLinkedNotebook(String guid) {
+  }
+}
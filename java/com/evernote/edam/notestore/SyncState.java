@@ -260,7 +260,14 @@ public class SyncState implements TBase<SyncState>, java.io.Serializable, Clonea
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + TBaseHelper.hashCode(currentTime);
+    hashCode = hashCode * 8191 + TBaseHelper.hashCode(fullSyncBefore);
+    hashCode = hashCode * 8191 + updateCount;
+    hashCode = hashCode * 8191 + (isSetUploaded() ? 131071 : 524287);
+    if (isSetUploaded())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(uploaded);
+    return hashCode;
   }
 
   public int compareTo(SyncState other) {
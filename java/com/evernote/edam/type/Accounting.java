@@ -1023,7 +1023,77 @@ public class Accounting implements TBase<Accounting>, java.io.Serializable, Clon
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetUploadLimit() ? 131071 : 524287);
+    if (isSetUploadLimit())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(uploadLimit);
+    hashCode = hashCode * 8191 + (isSetUploadLimitEnd() ? 131071 : 524287);
+    if (isSetUploadLimitEnd())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(uploadLimitEnd);
+    hashCode = hashCode * 8191 + (isSetUploadLimitNextMonth() ? 131071 : 524287);
+    if (isSetUploadLimitNextMonth())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(uploadLimitNextMonth);
+    hashCode = hashCode * 8191 + (isSetPremiumServiceStatus() ? 131071 : 524287);
+    if (isSetPremiumServiceStatus())
+      hashCode = hashCode * 8191 + premiumServiceStatus.getValue();
+    hashCode = hashCode * 8191 + (isSetPremiumOrderNumber() ? 131071 : 524287);
+    if (isSetPremiumOrderNumber())
+      hashCode = hashCode * 8191 + premiumOrderNumber.hashCode();
+    hashCode = hashCode * 8191 + (isSetPremiumCommerceService() ? 131071 : 524287);
+    if (isSetPremiumCommerceService())
+      hashCode = hashCode * 8191 + premiumCommerceService.hashCode();
+    hashCode = hashCode * 8191 + (isSetPremiumServiceStart() ? 131071 : 524287);
+    if (isSetPremiumServiceStart())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(premiumServiceStart);
+    hashCode = hashCode * 8191 + (isSetPremiumServiceSKU() ? 131071 : 524287);
+    if (isSetPremiumServiceSKU())
+      hashCode = hashCode * 8191 + premiumServiceSKU.hashCode();
+    hashCode = hashCode * 8191 + (isSetLastSuccessfulCharge() ? 131071 : 524287);
+    if (isSetLastSuccessfulCharge())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(lastSuccessfulCharge);
+    hashCode = hashCode * 8191 + (isSetLastFailedCharge() ? 131071 : 524287);
+    if (isSetLastFailedCharge())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(lastFailedCharge);
+    hashCode = hashCode * 8191 + (isSetLastFailedChargeReason() ? 131071 : 524287);
+    if (isSetLastFailedChargeReason())
+      hashCode = hashCode * 8191 + lastFailedChargeReason.hashCode();
+    hashCode = hashCode * 8191 + (isSetNextPaymentDue() ? 131071 : 524287);
+    if (isSetNextPaymentDue())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(nextPaymentDue);
+    hashCode = hashCode * 8191 + (isSetPremiumLockUntil() ? 131071 : 524287);
+    if (isSetPremiumLockUntil())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(premiumLockUntil);
+    hashCode = hashCode * 8191 + (isSetUpdated() ? 131071 : 524287);
+    if (isSetUpdated())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(updated);
+    hashCode = hashCode * 8191 + (isSetPremiumSubscriptionNumber() ? 131071 : 524287);
+    if (isSetPremiumSubscriptionNumber())
+      hashCode = hashCode * 8191 + premiumSubscriptionNumber.hashCode();
+    hashCode = hashCode * 8191 + (isSetLastRequestedCharge() ? 131071 : 524287);
+    if (isSetLastRequestedCharge())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(lastRequestedCharge);
+    hashCode = hashCode * 8191 + (isSetCurrency() ? 131071 : 524287);
+    if (isSetCurrency())
+      hashCode = hashCode * 8191 + currency.hashCode();
+    hashCode = hashCode * 8191 + (isSetUnitPrice() ? 131071 : 524287);
+    if (isSetUnitPrice())
+      hashCode = hashCode * 8191 + unitPrice;
+    hashCode = hashCode * 8191 + (isSetBusinessId() ? 131071 : 524287);
+    if (isSetBusinessId())
+      hashCode = hashCode * 8191 + businessId;
+    hashCode = hashCode * 8191 + (isSetBusinessName() ? 131071 : 524287);
+    if (isSetBusinessName())
+      hashCode = hashCode * 8191 + businessName.hashCode();
+    hashCode = hashCode * 8191 + (isSetBusinessRole() ? 131071 : 524287);
+    if (isSetBusinessRole())
+      hashCode = hashCode * 8191 + businessRole.getValue();
+    hashCode = hashCode * 8191 + (isSetUnitDiscount() ? 131071 : 524287);
+    if (isSetUnitDiscount())
+      hashCode = hashCode * 8191 + unitDiscount;
+    hashCode = hashCode * 8191 + (isSetNextChargeDate() ? 131071 : 524287);
+    if (isSetNextChargeDate())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(nextChargeDate);
+    return hashCode;
   }
 
   public int compareTo(Accounting other) {
@@ -209,7 +209,17 @@ public class BusinessNotebook implements TBase<BusinessNotebook>, java.io.Serial
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetNotebookDescription() ? 131071 : 524287);
+    if (isSetNotebookDescription())
+      hashCode = hashCode * 8191 + notebookDescription.hashCode();
+    hashCode = hashCode * 8191 + (isSetPrivilege() ? 131071 : 524287);
+    if (isSetPrivilege())
+      hashCode = hashCode * 8191 + privilege.getValue();
+    hashCode = hashCode * 8191 + (isSetRecommended() ? 131071 : 524287);
+    if (isSetRecommended())
+      hashCode = hashCode * 8191 + (recommended ? 131071 : 524287);
+    return hashCode;
   }
 
   public int compareTo(BusinessNotebook other) {
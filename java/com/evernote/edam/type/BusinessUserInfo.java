@@ -240,7 +240,20 @@ public class BusinessUserInfo implements TBase<BusinessUserInfo>, java.io.Serial
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetBusinessId() ? 131071 : 524287);
+    if (isSetBusinessId())
+      hashCode = hashCode * 8191 + businessId;
+    hashCode = hashCode * 8191 + (isSetBusinessName() ? 131071 : 524287);
+    if (isSetBusinessName())
+      hashCode = hashCode * 8191 + businessName.hashCode();
+    hashCode = hashCode * 8191 + (isSetRole() ? 131071 : 524287);
+    if (isSetRole())
+      hashCode = hashCode * 8191 + role.getValue();
+    hashCode = hashCode * 8191 + (isSetEmail() ? 131071 : 524287);
+    if (isSetEmail())
+      hashCode = hashCode * 8191 + email.hashCode();
+    return hashCode;
   }
 
   public int compareTo(BusinessUserInfo other) {
@@ -43,7 +43,7 @@ import com.evernote.thrift.protocol.*;
  *    </dd>
  *  </dl>
  */
-public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
+public class Data implements TBase<Data>, TProjectable, java.io.Serializable, Cloneable {
   private static final TStruct STRUCT_DESC = new TStruct("Data");
 
   private static final TField BODY_HASH_FIELD_DESC = new TField("bodyHash", TType.STRING, (short)1);
@@ -53,6 +53,7 @@ public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
   private byte[] bodyHash;
   private int size;
   private byte[] body;
+  private TLazyBinary lazyBody;
 
 
   // isset id assignments
@@ -63,7 +64,8 @@ public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
   }
 
   /**
-   * Performs a deep copy on <i>other</i>.
+   * Performs a deep copy on <i>other</i>. A deferred body is not loaded; the
+   * copy shares it with <i>other</i> until either of them loads or drops it.
    */
   public Data(Data other) {
     System.arraycopy(other.__isset_vector, 0, __isset_vector, 0, other.__isset_vector.length);
@@ -72,7 +74,9 @@ public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
       System.arraycopy(other.bodyHash, 0, bodyHash, 0, other.bodyHash.length);
     }
     this.size = other.size;
-    if (other.isSetBody()) {
+    if (other.lazyBody != null) {
+      this.lazyBody = other.lazyBody.retain();
+    } else if (other.isSetBody()) {
       this.body = new byte[other.body.length];
       System.arraycopy(other.body, 0, body, 0, other.body.length);
     }
@@ -86,6 +90,7 @@ public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
     this.bodyHash = null;
     setSizeIsSet(false);
     this.size = 0;
+    releaseLazyBody();
     this.body = null;
   }
 
@@ -134,29 +139,76 @@ public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
     __isset_vector[__SIZE_ISSET_ID] = value;
   }
 
+  /**
+   * Returns the body, loading it first if it was deferred while reading
+   * with a {@link TBinarySpool}.
+   */
   public byte[] getBody() {
+    if (this.lazyBody != null) {
+      try {
+        this.body = this.lazyBody.get();
+      } catch (java.io.IOException e) {
+        throw new IllegalStateException("Failed to load deferred body", e);
+      }
+      releaseLazyBody();
+    }
     return this.body;
   }
 
+  /**
+   * Returns true if the body was deferred while reading and has not been
+   * loaded by {@link #getBody()} yet.
+   */
+  public boolean isBodyDeferred() {
+    return this.lazyBody != null;
+  }
+
   public void setBody(byte[] body) {
+    releaseLazyBody();
     this.body = body;
   }
 
   public void unsetBody() {
+    releaseLazyBody();
     this.body = null;
   }
 
   /** Returns true if field body is set (has been asigned a value) and false otherwise */
   public boolean isSetBody() {
-    return this.body != null;
+    return this.body != null || this.lazyBody != null;
   }
 
   public void setBodyIsSet(boolean value) {
     if (!value) {
+      releaseLazyBody();
       this.body = null;
     }
   }
 
+  /**
+   * Compares the bodies of two Data that both have one, without loading
+   * either if it was deferred.
+   */
+  private int compareBody(Data that) {
+    if (this.lazyBody == null && that.lazyBody == null) {
+      return TBaseHelper.compareTo(this.body, that.body);
+    }
+    TLazyBinary thisBody = this.lazyBody != null ? this.lazyBody : new TLazyBinary(this.body);
+    TLazyBinary thatBody = that.lazyBody != null ? that.lazyBody : new TLazyBinary(that.body);
+    try {
+      return thisBody.compareTo(thatBody);
+    } catch (java.io.IOException e) {
+      throw new IllegalStateException("Failed to read deferred body", e);
+    }
+  }
+
+  private void releaseLazyBody() {
+    if (this.lazyBody != null) {
+      this.lazyBody.release();
+      this.lazyBody = null;
+    }
+  }
+
   @Override
   public boolean equals(Object that) {
     if (that == null)
@@ -193,7 +245,7 @@ public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
     if (this_present_body || that_present_body) {
       if (!(this_present_body && that_present_body))
         return false;
-      if (TBaseHelper.compareTo(this.body, that.body) != 0)
+      if (compareBody(that) != 0)
         return false;
     }
 
@@ -202,7 +254,15 @@ public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetBodyHash() ? 131071 : 524287);
+    if (isSetBodyHash())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(bodyHash);
+    hashCode = hashCode * 8191 + (isSetSize() ? 131071 : 524287);
+    if (isSetSize())
+      hashCode = hashCode * 8191 + size;
+    // body is left out, it may not be loaded and bodyHash stands for it
+    return hashCode;
   }
 
   public int compareTo(Data other) {
@@ -235,7 +295,7 @@ public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
     if (lastComparison != 0) {
       return lastComparison;
     }
-    if (isSetBody()) {      lastComparison = TBaseHelper.compareTo(this.body, typedOther.body);
+    if (isSetBody()) {      lastComparison = compareBody(typedOther);
       if (lastComparison != 0) {
         return lastComparison;
       }
@@ -244,6 +304,10 @@ public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
   }
 
   public void read(TProtocol iprot) throws TException {
+    read(iprot, null);
+  }
+
+  public void read(TProtocol iprot, TFieldMask mask) throws TException {
     TField field;
     iprot.readStructBegin();
     while (true)
@@ -252,6 +316,11 @@ public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
       if (field.type == TType.STOP) { 
         break;
       }
+      if (mask != null && !mask.includes(field.id)) {
+        TProtocolUtil.skip(iprot, field.type);
+        iprot.readFieldEnd();
+        continue;
+      }
       switch (field.id) {
         case 1: // BODY_HASH
           if (field.type == TType.STRING) {
@@ -270,7 +339,16 @@ public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
           break;
         case 3: // BODY
           if (field.type == TType.STRING) {
-            this.body = iprot.readBytes();
+            if (iprot.getBinarySpool() != null) {
+              releaseLazyBody();
+              this.body = null;
+              this.lazyBody = iprot.readLazyBinary();
+              if (this.lazyBody.isLoaded()) {
+                getBody();
+              }
+            } else {
+              this.body = iprot.readBytes();
+            }
           } else { 
             TProtocolUtil.skip(iprot, field.type);
           }
@@ -300,7 +378,20 @@ public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
       oprot.writeI32(this.size);
       oprot.writeFieldEnd();
     }
-    if (this.body != null) {
+    if (this.lazyBody != null) {
+      oprot.writeFieldBegin(BODY_FIELD_DESC);
+      try {
+        java.io.InputStream in = this.lazyBody.open();
+        try {
+          oprot.writeStream(in, this.lazyBody.length());
+        } finally {
+          in.close();
+        }
+      } catch (java.io.IOException e) {
+        throw new TException("Failed to read deferred body", e);
+      }
+      oprot.writeFieldEnd();
+    } else if (this.body != null) {
       if (isSetBody()) {
         oprot.writeFieldBegin(BODY_FIELD_DESC);
         oprot.writeBinary(this.body);
@@ -334,7 +425,9 @@ public class Data implements TBase<Data>, java.io.Serializable, Cloneable {
     if (isSetBody()) {
       if (!first) sb.append(", ");
       sb.append("body:");
-      if (this.body == null) {
+      if (this.lazyBody != null) {
+        sb.append("<deferred " + this.lazyBody.length() + " bytes>");
+      } else if (this.body == null) {
         sb.append("null");
       } else {
         TBaseHelper.toString(this.body, sb);
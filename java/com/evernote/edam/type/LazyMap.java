@@ -204,7 +204,14 @@ public class LazyMap implements TBase<LazyMap>, java.io.Serializable, Cloneable
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetKeysOnly() ? 131071 : 524287);
+    if (isSetKeysOnly())
+      hashCode = hashCode * 8191 + keysOnly.hashCode();
+    hashCode = hashCode * 8191 + (isSetFullMap() ? 131071 : 524287);
+    if (isSetFullMap())
+      hashCode = hashCode * 8191 + fullMap.hashCode();
+    return hashCode;
   }
 
   public int compareTo(LazyMap other) {
@@ -547,7 +547,41 @@ public class LinkedNotebook implements TBase<LinkedNotebook>, java.io.Serializab
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetShareName() ? 131071 : 524287);
+    if (isSetShareName())
+      hashCode = hashCode * 8191 + shareName.hashCode();
+    hashCode = hashCode * 8191 + (isSetUsername() ? 131071 : 524287);
+    if (isSetUsername())
+      hashCode = hashCode * 8191 + username.hashCode();
+    hashCode = hashCode * 8191 + (isSetShardId() ? 131071 : 524287);
+    if (isSetShardId())
+      hashCode = hashCode * 8191 + shardId.hashCode();
+    hashCode = hashCode * 8191 + (isSetShareKey() ? 131071 : 524287);
+    if (isSetShareKey())
+      hashCode = hashCode * 8191 + shareKey.hashCode();
+    hashCode = hashCode * 8191 + (isSetUri() ? 131071 : 524287);
+    if (isSetUri())
+      hashCode = hashCode * 8191 + uri.hashCode();
+    hashCode = hashCode * 8191 + (isSetGuid() ? 131071 : 524287);
+    if (isSetGuid())
+      hashCode = hashCode * 8191 + guid.hashCode();
+    hashCode = hashCode * 8191 + (isSetUpdateSequenceNum() ? 131071 : 524287);
+    if (isSetUpdateSequenceNum())
+      hashCode = hashCode * 8191 + updateSequenceNum;
+    hashCode = hashCode * 8191 + (isSetNoteStoreUrl() ? 131071 : 524287);
+    if (isSetNoteStoreUrl())
+      hashCode = hashCode * 8191 + noteStoreUrl.hashCode();
+    hashCode = hashCode * 8191 + (isSetWebApiUrlPrefix() ? 131071 : 524287);
+    if (isSetWebApiUrlPrefix())
+      hashCode = hashCode * 8191 + webApiUrlPrefix.hashCode();
+    hashCode = hashCode * 8191 + (isSetStack() ? 131071 : 524287);
+    if (isSetStack())
+      hashCode = hashCode * 8191 + stack.hashCode();
+    hashCode = hashCode * 8191 + (isSetBusinessId() ? 131071 : 524287);
+    if (isSetBusinessId())
+      hashCode = hashCode * 8191 + businessId;
+    return hashCode;
   }
 
   public int compareTo(LinkedNotebook other) {
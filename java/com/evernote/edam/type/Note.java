@@ -144,7 +144,7 @@ import com.evernote.thrift.protocol.*;
  *   </dd>
  * </dl>
  */
-public class Note implements TBase<Note>, java.io.Serializable, Cloneable {
+public class Note implements TBase<Note>, TProjectable, java.io.Serializable, Cloneable {
   private static final TStruct STRUCT_DESC = new TStruct("Note");
 
   private static final TField GUID_FIELD_DESC = new TField("guid", TType.STRING, (short)1);
@@ -810,7 +810,53 @@ public class Note implements TBase<Note>, java.io.Serializable, Cloneable {
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetGuid() ? 131071 : 524287);
+    if (isSetGuid())
+      hashCode = hashCode * 8191 + guid.hashCode();
+    hashCode = hashCode * 8191 + (isSetTitle() ? 131071 : 524287);
+    if (isSetTitle())
+      hashCode = hashCode * 8191 + title.hashCode();
+    hashCode = hashCode * 8191 + (isSetContent() ? 131071 : 524287);
+    if (isSetContent())
+      hashCode = hashCode * 8191 + content.hashCode();
+    hashCode = hashCode * 8191 + (isSetContentHash() ? 131071 : 524287);
+    if (isSetContentHash())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(contentHash);
+    hashCode = hashCode * 8191 + (isSetContentLength() ? 131071 : 524287);
+    if (isSetContentLength())
+      hashCode = hashCode * 8191 + contentLength;
+    hashCode = hashCode * 8191 + (isSetCreated() ? 131071 : 524287);
+    if (isSetCreated())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(created);
+    hashCode = hashCode * 8191 + (isSetUpdated() ? 131071 : 524287);
+    if (isSetUpdated())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(updated);
+    hashCode = hashCode * 8191 + (isSetDeleted() ? 131071 : 524287);
+    if (isSetDeleted())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(deleted);
+    hashCode = hashCode * 8191 + (isSetActive() ? 131071 : 524287);
+    if (isSetActive())
+      hashCode = hashCode * 8191 + (active ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetUpdateSequenceNum() ? 131071 : 524287);
+    if (isSetUpdateSequenceNum())
+      hashCode = hashCode * 8191 + updateSequenceNum;
+    hashCode = hashCode * 8191 + (isSetNotebookGuid() ? 131071 : 524287);
+    if (isSetNotebookGuid())
+      hashCode = hashCode * 8191 + notebookGuid.hashCode();
+    hashCode = hashCode * 8191 + (isSetTagGuids() ? 131071 : 524287);
+    if (isSetTagGuids())
+      hashCode = hashCode * 8191 + tagGuids.hashCode();
+    hashCode = hashCode * 8191 + (isSetResources() ? 131071 : 524287);
+    if (isSetResources())
+      hashCode = hashCode * 8191 + resources.hashCode();
+    hashCode = hashCode * 8191 + (isSetAttributes() ? 131071 : 524287);
+    if (isSetAttributes())
+      hashCode = hashCode * 8191 + attributes.hashCode();
+    hashCode = hashCode * 8191 + (isSetTagNames() ? 131071 : 524287);
+    if (isSetTagNames())
+      hashCode = hashCode * 8191 + tagNames.hashCode();
+    return hashCode;
   }
 
   public int compareTo(Note other) {
@@ -960,6 +1006,10 @@ public class Note implements TBase<Note>, java.io.Serializable, Cloneable {
   }
 
   public void read(TProtocol iprot) throws TException {
+    read(iprot, null);
+  }
+
+  public void read(TProtocol iprot, TFieldMask mask) throws TException {
     TField field;
     iprot.readStructBegin();
     while (true)
@@ -968,6 +1018,11 @@ public class Note implements TBase<Note>, java.io.Serializable, Cloneable {
       if (field.type == TType.STOP) { 
         break;
       }
+      if (mask != null && !mask.includes(field.id)) {
+        TProtocolUtil.skip(iprot, field.type);
+        iprot.readFieldEnd();
+        continue;
+      }
       switch (field.id) {
         case 1: // GUID
           if (field.type == TType.STRING) {
@@ -1078,7 +1133,7 @@ public class Note implements TBase<Note>, java.io.Serializable, Cloneable {
               {
                 Resource _elem27;
                 _elem27 = new Resource();
-                _elem27.read(iprot);
+                _elem27.read(iprot, TFieldMask.child(mask, RESOURCES_FIELD_DESC.id));
                 this.resources.add(_elem27);
               }
               iprot.readListEnd();
@@ -1090,7 +1145,7 @@ public class Note implements TBase<Note>, java.io.Serializable, Cloneable {
         case 14: // ATTRIBUTES
           if (field.type == TType.STRUCT) {
             this.attributes = new NoteAttributes();
-            this.attributes.read(iprot);
+            this.attributes.read(iprot, TFieldMask.child(mask, ATTRIBUTES_FIELD_DESC.id));
           } else { 
             TProtocolUtil.skip(iprot, field.type);
           }
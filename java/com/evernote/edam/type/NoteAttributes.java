@@ -187,7 +187,7 @@ import com.evernote.thrift.protocol.*;
  * 
  * </dl>
  */
-public class NoteAttributes implements TBase<NoteAttributes>, java.io.Serializable, Cloneable {
+public class NoteAttributes implements TBase<NoteAttributes>, TProjectable, java.io.Serializable, Cloneable {
   private static final TStruct STRUCT_DESC = new TStruct("NoteAttributes");
 
   private static final TField SUBJECT_DATE_FIELD_DESC = new TField("subjectDate", TType.I64, (short)1);
@@ -966,7 +966,65 @@ public class NoteAttributes implements TBase<NoteAttributes>, java.io.Serializab
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetSubjectDate() ? 131071 : 524287);
+    if (isSetSubjectDate())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(subjectDate);
+    hashCode = hashCode * 8191 + (isSetLatitude() ? 131071 : 524287);
+    if (isSetLatitude())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(latitude);
+    hashCode = hashCode * 8191 + (isSetLongitude() ? 131071 : 524287);
+    if (isSetLongitude())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(longitude);
+    hashCode = hashCode * 8191 + (isSetAltitude() ? 131071 : 524287);
+    if (isSetAltitude())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(altitude);
+    hashCode = hashCode * 8191 + (isSetAuthor() ? 131071 : 524287);
+    if (isSetAuthor())
+      hashCode = hashCode * 8191 + author.hashCode();
+    hashCode = hashCode * 8191 + (isSetSource() ? 131071 : 524287);
+    if (isSetSource())
+      hashCode = hashCode * 8191 + source.hashCode();
+    hashCode = hashCode * 8191 + (isSetSourceURL() ? 131071 : 524287);
+    if (isSetSourceURL())
+      hashCode = hashCode * 8191 + sourceURL.hashCode();
+    hashCode = hashCode * 8191 + (isSetSourceApplication() ? 131071 : 524287);
+    if (isSetSourceApplication())
+      hashCode = hashCode * 8191 + sourceApplication.hashCode();
+    hashCode = hashCode * 8191 + (isSetShareDate() ? 131071 : 524287);
+    if (isSetShareDate())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(shareDate);
+    hashCode = hashCode * 8191 + (isSetReminderOrder() ? 131071 : 524287);
+    if (isSetReminderOrder())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(reminderOrder);
+    hashCode = hashCode * 8191 + (isSetReminderDoneTime() ? 131071 : 524287);
+    if (isSetReminderDoneTime())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(reminderDoneTime);
+    hashCode = hashCode * 8191 + (isSetReminderTime() ? 131071 : 524287);
+    if (isSetReminderTime())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(reminderTime);
+    hashCode = hashCode * 8191 + (isSetPlaceName() ? 131071 : 524287);
+    if (isSetPlaceName())
+      hashCode = hashCode * 8191 + placeName.hashCode();
+    hashCode = hashCode * 8191 + (isSetContentClass() ? 131071 : 524287);
+    if (isSetContentClass())
+      hashCode = hashCode * 8191 + contentClass.hashCode();
+    hashCode = hashCode * 8191 + (isSetApplicationData() ? 131071 : 524287);
+    if (isSetApplicationData())
+      hashCode = hashCode * 8191 + applicationData.hashCode();
+    hashCode = hashCode * 8191 + (isSetLastEditedBy() ? 131071 : 524287);
+    if (isSetLastEditedBy())
+      hashCode = hashCode * 8191 + lastEditedBy.hashCode();
+    hashCode = hashCode * 8191 + (isSetClassifications() ? 131071 : 524287);
+    if (isSetClassifications())
+      hashCode = hashCode * 8191 + classifications.hashCode();
+    hashCode = hashCode * 8191 + (isSetCreatorId() ? 131071 : 524287);
+    if (isSetCreatorId())
+      hashCode = hashCode * 8191 + creatorId;
+    hashCode = hashCode * 8191 + (isSetLastEditorId() ? 131071 : 524287);
+    if (isSetLastEditorId())
+      hashCode = hashCode * 8191 + lastEditorId;
+    return hashCode;
   }
 
   public int compareTo(NoteAttributes other) {
@@ -1152,6 +1210,10 @@ public class NoteAttributes implements TBase<NoteAttributes>, java.io.Serializab
   }
 
   public void read(TProtocol iprot) throws TException {
+    read(iprot, null);
+  }
+
+  public void read(TProtocol iprot, TFieldMask mask) throws TException {
     TField field;
     iprot.readStructBegin();
     while (true)
@@ -1160,6 +1222,11 @@ public class NoteAttributes implements TBase<NoteAttributes>, java.io.Serializab
       if (field.type == TType.STOP) { 
         break;
       }
+      if (mask != null && !mask.includes(field.id)) {
+        TProtocolUtil.skip(iprot, field.type);
+        iprot.readFieldEnd();
+        continue;
+      }
       switch (field.id) {
         case 1: // SUBJECT_DATE
           if (field.type == TType.I64) {
@@ -742,7 +742,50 @@ public class Notebook implements TBase<Notebook>, java.io.Serializable, Cloneabl
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetGuid() ? 131071 : 524287);
+    if (isSetGuid())
+      hashCode = hashCode * 8191 + guid.hashCode();
+    hashCode = hashCode * 8191 + (isSetName() ? 131071 : 524287);
+    if (isSetName())
+      hashCode = hashCode * 8191 + name.hashCode();
+    hashCode = hashCode * 8191 + (isSetUpdateSequenceNum() ? 131071 : 524287);
+    if (isSetUpdateSequenceNum())
+      hashCode = hashCode * 8191 + updateSequenceNum;
+    hashCode = hashCode * 8191 + (isSetDefaultNotebook() ? 131071 : 524287);
+    if (isSetDefaultNotebook())
+      hashCode = hashCode * 8191 + (defaultNotebook ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetServiceCreated() ? 131071 : 524287);
+    if (isSetServiceCreated())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(serviceCreated);
+    hashCode = hashCode * 8191 + (isSetServiceUpdated() ? 131071 : 524287);
+    if (isSetServiceUpdated())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(serviceUpdated);
+    hashCode = hashCode * 8191 + (isSetPublishing() ? 131071 : 524287);
+    if (isSetPublishing())
+      hashCode = hashCode * 8191 + publishing.hashCode();
+    hashCode = hashCode * 8191 + (isSetPublished() ? 131071 : 524287);
+    if (isSetPublished())
+      hashCode = hashCode * 8191 + (published ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetStack() ? 131071 : 524287);
+    if (isSetStack())
+      hashCode = hashCode * 8191 + stack.hashCode();
+    hashCode = hashCode * 8191 + (isSetSharedNotebookIds() ? 131071 : 524287);
+    if (isSetSharedNotebookIds())
+      hashCode = hashCode * 8191 + sharedNotebookIds.hashCode();
+    hashCode = hashCode * 8191 + (isSetSharedNotebooks() ? 131071 : 524287);
+    if (isSetSharedNotebooks())
+      hashCode = hashCode * 8191 + sharedNotebooks.hashCode();
+    hashCode = hashCode * 8191 + (isSetBusinessNotebook() ? 131071 : 524287);
+    if (isSetBusinessNotebook())
+      hashCode = hashCode * 8191 + businessNotebook.hashCode();
+    hashCode = hashCode * 8191 + (isSetContact() ? 131071 : 524287);
+    if (isSetContact())
+      hashCode = hashCode * 8191 + contact.hashCode();
+    hashCode = hashCode * 8191 + (isSetRestrictions() ? 131071 : 524287);
+    if (isSetRestrictions())
+      hashCode = hashCode * 8191 + restrictions.hashCode();
+    return hashCode;
   }
 
   public int compareTo(Notebook other) {
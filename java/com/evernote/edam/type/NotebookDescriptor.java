@@ -276,7 +276,23 @@ public class NotebookDescriptor implements TBase<NotebookDescriptor>, java.io.Se
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetGuid() ? 131071 : 524287);
+    if (isSetGuid())
+      hashCode = hashCode * 8191 + guid.hashCode();
+    hashCode = hashCode * 8191 + (isSetNotebookDisplayName() ? 131071 : 524287);
+    if (isSetNotebookDisplayName())
+      hashCode = hashCode * 8191 + notebookDisplayName.hashCode();
+    hashCode = hashCode * 8191 + (isSetContactName() ? 131071 : 524287);
+    if (isSetContactName())
+      hashCode = hashCode * 8191 + contactName.hashCode();
+    hashCode = hashCode * 8191 + (isSetHasSharedNotebook() ? 131071 : 524287);
+    if (isSetHasSharedNotebook())
+      hashCode = hashCode * 8191 + (hasSharedNotebook ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetJoinedUserCount() ? 131071 : 524287);
+    if (isSetJoinedUserCount())
+      hashCode = hashCode * 8191 + joinedUserCount;
+    return hashCode;
   }
 
   public int compareTo(NotebookDescriptor other) {
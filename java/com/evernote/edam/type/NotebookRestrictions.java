@@ -920,7 +920,68 @@ public class NotebookRestrictions implements TBase<NotebookRestrictions>, java.i
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetNoReadNotes() ? 131071 : 524287);
+    if (isSetNoReadNotes())
+      hashCode = hashCode * 8191 + (noReadNotes ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoCreateNotes() ? 131071 : 524287);
+    if (isSetNoCreateNotes())
+      hashCode = hashCode * 8191 + (noCreateNotes ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoUpdateNotes() ? 131071 : 524287);
+    if (isSetNoUpdateNotes())
+      hashCode = hashCode * 8191 + (noUpdateNotes ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoExpungeNotes() ? 131071 : 524287);
+    if (isSetNoExpungeNotes())
+      hashCode = hashCode * 8191 + (noExpungeNotes ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoShareNotes() ? 131071 : 524287);
+    if (isSetNoShareNotes())
+      hashCode = hashCode * 8191 + (noShareNotes ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoEmailNotes() ? 131071 : 524287);
+    if (isSetNoEmailNotes())
+      hashCode = hashCode * 8191 + (noEmailNotes ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoSendMessageToRecipients() ? 131071 : 524287);
+    if (isSetNoSendMessageToRecipients())
+      hashCode = hashCode * 8191 + (noSendMessageToRecipients ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoUpdateNotebook() ? 131071 : 524287);
+    if (isSetNoUpdateNotebook())
+      hashCode = hashCode * 8191 + (noUpdateNotebook ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoExpungeNotebook() ? 131071 : 524287);
+    if (isSetNoExpungeNotebook())
+      hashCode = hashCode * 8191 + (noExpungeNotebook ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoSetDefaultNotebook() ? 131071 : 524287);
+    if (isSetNoSetDefaultNotebook())
+      hashCode = hashCode * 8191 + (noSetDefaultNotebook ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoSetNotebookStack() ? 131071 : 524287);
+    if (isSetNoSetNotebookStack())
+      hashCode = hashCode * 8191 + (noSetNotebookStack ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoPublishToPublic() ? 131071 : 524287);
+    if (isSetNoPublishToPublic())
+      hashCode = hashCode * 8191 + (noPublishToPublic ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoPublishToBusinessLibrary() ? 131071 : 524287);
+    if (isSetNoPublishToBusinessLibrary())
+      hashCode = hashCode * 8191 + (noPublishToBusinessLibrary ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoCreateTags() ? 131071 : 524287);
+    if (isSetNoCreateTags())
+      hashCode = hashCode * 8191 + (noCreateTags ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoUpdateTags() ? 131071 : 524287);
+    if (isSetNoUpdateTags())
+      hashCode = hashCode * 8191 + (noUpdateTags ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoExpungeTags() ? 131071 : 524287);
+    if (isSetNoExpungeTags())
+      hashCode = hashCode * 8191 + (noExpungeTags ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoSetParentTag() ? 131071 : 524287);
+    if (isSetNoSetParentTag())
+      hashCode = hashCode * 8191 + (noSetParentTag ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetNoCreateSharedNotebooks() ? 131071 : 524287);
+    if (isSetNoCreateSharedNotebooks())
+      hashCode = hashCode * 8191 + (noCreateSharedNotebooks ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetUpdateWhichSharedNotebookRestrictions() ? 131071 : 524287);
+    if (isSetUpdateWhichSharedNotebookRestrictions())
+      hashCode = hashCode * 8191 + updateWhichSharedNotebookRestrictions.getValue();
+    hashCode = hashCode * 8191 + (isSetExpungeWhichSharedNotebookRestrictions() ? 131071 : 524287);
+    if (isSetExpungeWhichSharedNotebookRestrictions())
+      hashCode = hashCode * 8191 + expungeWhichSharedNotebookRestrictions.getValue();
+    return hashCode;
   }
 
   public int compareTo(NotebookRestrictions other) {
@@ -553,7 +553,27 @@ public class PremiumInfo implements TBase<PremiumInfo>, java.io.Serializable, Cl
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + TBaseHelper.hashCode(currentTime);
+    hashCode = hashCode * 8191 + (premium ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (premiumRecurring ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetPremiumExpirationDate() ? 131071 : 524287);
+    if (isSetPremiumExpirationDate())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(premiumExpirationDate);
+    hashCode = hashCode * 8191 + (premiumExtendable ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (premiumPending ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (premiumCancellationPending ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (canPurchaseUploadAllowance ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetSponsoredGroupName() ? 131071 : 524287);
+    if (isSetSponsoredGroupName())
+      hashCode = hashCode * 8191 + sponsoredGroupName.hashCode();
+    hashCode = hashCode * 8191 + (isSetSponsoredGroupRole() ? 131071 : 524287);
+    if (isSetSponsoredGroupRole())
+      hashCode = hashCode * 8191 + sponsoredGroupRole.getValue();
+    hashCode = hashCode * 8191 + (isSetPremiumUpgradable() ? 131071 : 524287);
+    if (isSetPremiumUpgradable())
+      hashCode = hashCode * 8191 + (premiumUpgradable ? 131071 : 524287);
+    return hashCode;
   }
 
   public int compareTo(PremiumInfo other) {
@@ -259,7 +259,20 @@ public class Publishing implements TBase<Publishing>, java.io.Serializable, Clon
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetUri() ? 131071 : 524287);
+    if (isSetUri())
+      hashCode = hashCode * 8191 + uri.hashCode();
+    hashCode = hashCode * 8191 + (isSetOrder() ? 131071 : 524287);
+    if (isSetOrder())
+      hashCode = hashCode * 8191 + order.getValue();
+    hashCode = hashCode * 8191 + (isSetAscending() ? 131071 : 524287);
+    if (isSetAscending())
+      hashCode = hashCode * 8191 + (ascending ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetPublicDescription() ? 131071 : 524287);
+    if (isSetPublicDescription())
+      hashCode = hashCode * 8191 + publicDescription.hashCode();
+    return hashCode;
   }
 
   public int compareTo(Publishing other) {
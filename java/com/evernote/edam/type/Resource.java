@@ -95,7 +95,7 @@ import com.evernote.thrift.protocol.*;
  *   this field will be unset.</dd>
  * </dl>
  */
-public class Resource implements TBase<Resource>, java.io.Serializable, Cloneable {
+public class Resource implements TBase<Resource>, TProjectable, java.io.Serializable, Cloneable {
   private static final TStruct STRUCT_DESC = new TStruct("Resource");
 
   private static final TField GUID_FIELD_DESC = new TField("guid", TType.STRING, (short)1);
@@ -590,7 +590,44 @@ public class Resource implements TBase<Resource>, java.io.Serializable, Cloneabl
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetGuid() ? 131071 : 524287);
+    if (isSetGuid())
+      hashCode = hashCode * 8191 + guid.hashCode();
+    hashCode = hashCode * 8191 + (isSetNoteGuid() ? 131071 : 524287);
+    if (isSetNoteGuid())
+      hashCode = hashCode * 8191 + noteGuid.hashCode();
+    hashCode = hashCode * 8191 + (isSetData() ? 131071 : 524287);
+    if (isSetData())
+      hashCode = hashCode * 8191 + data.hashCode();
+    hashCode = hashCode * 8191 + (isSetMime() ? 131071 : 524287);
+    if (isSetMime())
+      hashCode = hashCode * 8191 + mime.hashCode();
+    hashCode = hashCode * 8191 + (isSetWidth() ? 131071 : 524287);
+    if (isSetWidth())
+      hashCode = hashCode * 8191 + width;
+    hashCode = hashCode * 8191 + (isSetHeight() ? 131071 : 524287);
+    if (isSetHeight())
+      hashCode = hashCode * 8191 + height;
+    hashCode = hashCode * 8191 + (isSetDuration() ? 131071 : 524287);
+    if (isSetDuration())
+      hashCode = hashCode * 8191 + duration;
+    hashCode = hashCode * 8191 + (isSetActive() ? 131071 : 524287);
+    if (isSetActive())
+      hashCode = hashCode * 8191 + (active ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetRecognition() ? 131071 : 524287);
+    if (isSetRecognition())
+      hashCode = hashCode * 8191 + recognition.hashCode();
+    hashCode = hashCode * 8191 + (isSetAttributes() ? 131071 : 524287);
+    if (isSetAttributes())
+      hashCode = hashCode * 8191 + attributes.hashCode();
+    hashCode = hashCode * 8191 + (isSetUpdateSequenceNum() ? 131071 : 524287);
+    if (isSetUpdateSequenceNum())
+      hashCode = hashCode * 8191 + updateSequenceNum;
+    hashCode = hashCode * 8191 + (isSetAlternateData() ? 131071 : 524287);
+    if (isSetAlternateData())
+      hashCode = hashCode * 8191 + alternateData.hashCode();
+    return hashCode;
   }
 
   public int compareTo(Resource other) {
@@ -713,6 +750,10 @@ public class Resource implements TBase<Resource>, java.io.Serializable, Cloneabl
   }
 
   public void read(TProtocol iprot) throws TException {
+    read(iprot, null);
+  }
+
+  public void read(TProtocol iprot, TFieldMask mask) throws TException {
     TField field;
     iprot.readStructBegin();
     while (true)
@@ -721,6 +762,11 @@ public class Resource implements TBase<Resource>, java.io.Serializable, Cloneabl
       if (field.type == TType.STOP) { 
         break;
       }
+      if (mask != null && !mask.includes(field.id)) {
+        TProtocolUtil.skip(iprot, field.type);
+        iprot.readFieldEnd();
+        continue;
+      }
       switch (field.id) {
         case 1: // GUID
           if (field.type == TType.STRING) {
@@ -739,7 +785,7 @@ public class Resource implements TBase<Resource>, java.io.Serializable, Cloneabl
         case 3: // DATA
           if (field.type == TType.STRUCT) {
             this.data = new Data();
-            this.data.read(iprot);
+            this.data.read(iprot, TFieldMask.child(mask, DATA_FIELD_DESC.id));
           } else { 
             TProtocolUtil.skip(iprot, field.type);
           }
@@ -786,7 +832,7 @@ public class Resource implements TBase<Resource>, java.io.Serializable, Cloneabl
         case 9: // RECOGNITION
           if (field.type == TType.STRUCT) {
             this.recognition = new Data();
-            this.recognition.read(iprot);
+            this.recognition.read(iprot, TFieldMask.child(mask, RECOGNITION_FIELD_DESC.id));
           } else { 
             TProtocolUtil.skip(iprot, field.type);
           }
@@ -794,7 +840,7 @@ public class Resource implements TBase<Resource>, java.io.Serializable, Cloneabl
         case 11: // ATTRIBUTES
           if (field.type == TType.STRUCT) {
             this.attributes = new ResourceAttributes();
-            this.attributes.read(iprot);
+            this.attributes.read(iprot, TFieldMask.child(mask, ATTRIBUTES_FIELD_DESC.id));
           } else { 
             TProtocolUtil.skip(iprot, field.type);
           }
@@ -810,7 +856,7 @@ public class Resource implements TBase<Resource>, java.io.Serializable, Cloneabl
         case 13: // ALTERNATE_DATA
           if (field.type == TType.STRUCT) {
             this.alternateData = new Data();
-            this.alternateData.read(iprot);
+            this.alternateData.read(iprot, TFieldMask.child(mask, ALTERNATE_DATA_FIELD_DESC.id));
           } else { 
             TProtocolUtil.skip(iprot, field.type);
           }
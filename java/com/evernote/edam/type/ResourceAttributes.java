@@ -96,7 +96,7 @@ import com.evernote.thrift.protocol.*;
  * 
  * </dl>
  */
-public class ResourceAttributes implements TBase<ResourceAttributes>, java.io.Serializable, Cloneable {
+public class ResourceAttributes implements TBase<ResourceAttributes>, TProjectable, java.io.Serializable, Cloneable {
   private static final TStruct STRUCT_DESC = new TStruct("ResourceAttributes");
 
   private static final TField SOURCE_URL_FIELD_DESC = new TField("sourceURL", TType.STRING, (short)1);
@@ -590,7 +590,44 @@ public class ResourceAttributes implements TBase<ResourceAttributes>, java.io.Se
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetSourceURL() ? 131071 : 524287);
+    if (isSetSourceURL())
+      hashCode = hashCode * 8191 + sourceURL.hashCode();
+    hashCode = hashCode * 8191 + (isSetTimestamp() ? 131071 : 524287);
+    if (isSetTimestamp())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(timestamp);
+    hashCode = hashCode * 8191 + (isSetLatitude() ? 131071 : 524287);
+    if (isSetLatitude())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(latitude);
+    hashCode = hashCode * 8191 + (isSetLongitude() ? 131071 : 524287);
+    if (isSetLongitude())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(longitude);
+    hashCode = hashCode * 8191 + (isSetAltitude() ? 131071 : 524287);
+    if (isSetAltitude())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(altitude);
+    hashCode = hashCode * 8191 + (isSetCameraMake() ? 131071 : 524287);
+    if (isSetCameraMake())
+      hashCode = hashCode * 8191 + cameraMake.hashCode();
+    hashCode = hashCode * 8191 + (isSetCameraModel() ? 131071 : 524287);
+    if (isSetCameraModel())
+      hashCode = hashCode * 8191 + cameraModel.hashCode();
+    hashCode = hashCode * 8191 + (isSetClientWillIndex() ? 131071 : 524287);
+    if (isSetClientWillIndex())
+      hashCode = hashCode * 8191 + (clientWillIndex ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetRecoType() ? 131071 : 524287);
+    if (isSetRecoType())
+      hashCode = hashCode * 8191 + recoType.hashCode();
+    hashCode = hashCode * 8191 + (isSetFileName() ? 131071 : 524287);
+    if (isSetFileName())
+      hashCode = hashCode * 8191 + fileName.hashCode();
+    hashCode = hashCode * 8191 + (isSetAttachment() ? 131071 : 524287);
+    if (isSetAttachment())
+      hashCode = hashCode * 8191 + (attachment ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetApplicationData() ? 131071 : 524287);
+    if (isSetApplicationData())
+      hashCode = hashCode * 8191 + applicationData.hashCode();
+    return hashCode;
   }
 
   public int compareTo(ResourceAttributes other) {
@@ -713,6 +750,10 @@ public class ResourceAttributes implements TBase<ResourceAttributes>, java.io.Se
   }
 
   public void read(TProtocol iprot) throws TException {
+    read(iprot, null);
+  }
+
+  public void read(TProtocol iprot, TFieldMask mask) throws TException {
     TField field;
     iprot.readStructBegin();
     while (true)
@@ -721,6 +762,11 @@ public class ResourceAttributes implements TBase<ResourceAttributes>, java.io.Se
       if (field.type == TType.STOP) { 
         break;
       }
+      if (mask != null && !mask.includes(field.id)) {
+        TProtocolUtil.skip(iprot, field.type);
+        iprot.readFieldEnd();
+        continue;
+      }
       switch (field.id) {
         case 1: // SOURCE_URL
           if (field.type == TType.STRING) {
@@ -349,7 +349,26 @@ public class SavedSearch implements TBase<SavedSearch>, java.io.Serializable, Cl
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetGuid() ? 131071 : 524287);
+    if (isSetGuid())
+      hashCode = hashCode * 8191 + guid.hashCode();
+    hashCode = hashCode * 8191 + (isSetName() ? 131071 : 524287);
+    if (isSetName())
+      hashCode = hashCode * 8191 + name.hashCode();
+    hashCode = hashCode * 8191 + (isSetQuery() ? 131071 : 524287);
+    if (isSetQuery())
+      hashCode = hashCode * 8191 + query.hashCode();
+    hashCode = hashCode * 8191 + (isSetFormat() ? 131071 : 524287);
+    if (isSetFormat())
+      hashCode = hashCode * 8191 + format.getValue();
+    hashCode = hashCode * 8191 + (isSetUpdateSequenceNum() ? 131071 : 524287);
+    if (isSetUpdateSequenceNum())
+      hashCode = hashCode * 8191 + updateSequenceNum;
+    hashCode = hashCode * 8191 + (isSetScope() ? 131071 : 524287);
+    if (isSetScope())
+      hashCode = hashCode * 8191 + scope.hashCode();
+    return hashCode;
   }
 
   public int compareTo(SavedSearch other) {
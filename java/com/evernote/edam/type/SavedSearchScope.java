@@ -187,7 +187,17 @@ public class SavedSearchScope implements TBase<SavedSearchScope>, java.io.Serial
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetIncludeAccount() ? 131071 : 524287);
+    if (isSetIncludeAccount())
+      hashCode = hashCode * 8191 + (includeAccount ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludePersonalLinkedNotebooks() ? 131071 : 524287);
+    if (isSetIncludePersonalLinkedNotebooks())
+      hashCode = hashCode * 8191 + (includePersonalLinkedNotebooks ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetIncludeBusinessLinkedNotebooks() ? 131071 : 524287);
+    if (isSetIncludeBusinessLinkedNotebooks())
+      hashCode = hashCode * 8191 + (includeBusinessLinkedNotebooks ? 131071 : 524287);
+    return hashCode;
   }
 
   public int compareTo(SavedSearchScope other) {
@@ -616,7 +616,47 @@ public class SharedNotebook implements TBase<SharedNotebook>, java.io.Serializab
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetId() ? 131071 : 524287);
+    if (isSetId())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(id);
+    hashCode = hashCode * 8191 + (isSetUserId() ? 131071 : 524287);
+    if (isSetUserId())
+      hashCode = hashCode * 8191 + userId;
+    hashCode = hashCode * 8191 + (isSetNotebookGuid() ? 131071 : 524287);
+    if (isSetNotebookGuid())
+      hashCode = hashCode * 8191 + notebookGuid.hashCode();
+    hashCode = hashCode * 8191 + (isSetEmail() ? 131071 : 524287);
+    if (isSetEmail())
+      hashCode = hashCode * 8191 + email.hashCode();
+    hashCode = hashCode * 8191 + (isSetNotebookModifiable() ? 131071 : 524287);
+    if (isSetNotebookModifiable())
+      hashCode = hashCode * 8191 + (notebookModifiable ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetRequireLogin() ? 131071 : 524287);
+    if (isSetRequireLogin())
+      hashCode = hashCode * 8191 + (requireLogin ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetServiceCreated() ? 131071 : 524287);
+    if (isSetServiceCreated())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(serviceCreated);
+    hashCode = hashCode * 8191 + (isSetServiceUpdated() ? 131071 : 524287);
+    if (isSetServiceUpdated())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(serviceUpdated);
+    hashCode = hashCode * 8191 + (isSetShareKey() ? 131071 : 524287);
+    if (isSetShareKey())
+      hashCode = hashCode * 8191 + shareKey.hashCode();
+    hashCode = hashCode * 8191 + (isSetUsername() ? 131071 : 524287);
+    if (isSetUsername())
+      hashCode = hashCode * 8191 + username.hashCode();
+    hashCode = hashCode * 8191 + (isSetPrivilege() ? 131071 : 524287);
+    if (isSetPrivilege())
+      hashCode = hashCode * 8191 + privilege.getValue();
+    hashCode = hashCode * 8191 + (isSetAllowPreview() ? 131071 : 524287);
+    if (isSetAllowPreview())
+      hashCode = hashCode * 8191 + (allowPreview ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetRecipientSettings() ? 131071 : 524287);
+    if (isSetRecipientSettings())
+      hashCode = hashCode * 8191 + recipientSettings.hashCode();
+    return hashCode;
   }
 
   public int compareTo(SharedNotebook other) {
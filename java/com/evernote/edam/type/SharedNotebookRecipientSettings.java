@@ -161,7 +161,14 @@ public class SharedNotebookRecipientSettings implements TBase<SharedNotebookReci
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetReminderNotifyEmail() ? 131071 : 524287);
+    if (isSetReminderNotifyEmail())
+      hashCode = hashCode * 8191 + (reminderNotifyEmail ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetReminderNotifyInApp() ? 131071 : 524287);
+    if (isSetReminderNotifyInApp())
+      hashCode = hashCode * 8191 + (reminderNotifyInApp ? 131071 : 524287);
+    return hashCode;
   }
 
   public int compareTo(SharedNotebookRecipientSettings other) {
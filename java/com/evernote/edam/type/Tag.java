@@ -256,7 +256,20 @@ public class Tag implements TBase<Tag>, java.io.Serializable, Cloneable {
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetGuid() ? 131071 : 524287);
+    if (isSetGuid())
+      hashCode = hashCode * 8191 + guid.hashCode();
+    hashCode = hashCode * 8191 + (isSetName() ? 131071 : 524287);
+    if (isSetName())
+      hashCode = hashCode * 8191 + name.hashCode();
+    hashCode = hashCode * 8191 + (isSetParentGuid() ? 131071 : 524287);
+    if (isSetParentGuid())
+      hashCode = hashCode * 8191 + parentGuid.hashCode();
+    hashCode = hashCode * 8191 + (isSetUpdateSequenceNum() ? 131071 : 524287);
+    if (isSetUpdateSequenceNum())
+      hashCode = hashCode * 8191 + updateSequenceNum;
+    return hashCode;
   }
 
   public int compareTo(Tag other) {
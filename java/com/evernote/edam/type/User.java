@@ -735,7 +735,53 @@ public class User implements TBase<User>, java.io.Serializable, Cloneable {
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetId() ? 131071 : 524287);
+    if (isSetId())
+      hashCode = hashCode * 8191 + id;
+    hashCode = hashCode * 8191 + (isSetUsername() ? 131071 : 524287);
+    if (isSetUsername())
+      hashCode = hashCode * 8191 + username.hashCode();
+    hashCode = hashCode * 8191 + (isSetEmail() ? 131071 : 524287);
+    if (isSetEmail())
+      hashCode = hashCode * 8191 + email.hashCode();
+    hashCode = hashCode * 8191 + (isSetName() ? 131071 : 524287);
+    if (isSetName())
+      hashCode = hashCode * 8191 + name.hashCode();
+    hashCode = hashCode * 8191 + (isSetTimezone() ? 131071 : 524287);
+    if (isSetTimezone())
+      hashCode = hashCode * 8191 + timezone.hashCode();
+    hashCode = hashCode * 8191 + (isSetPrivilege() ? 131071 : 524287);
+    if (isSetPrivilege())
+      hashCode = hashCode * 8191 + privilege.getValue();
+    hashCode = hashCode * 8191 + (isSetCreated() ? 131071 : 524287);
+    if (isSetCreated())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(created);
+    hashCode = hashCode * 8191 + (isSetUpdated() ? 131071 : 524287);
+    if (isSetUpdated())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(updated);
+    hashCode = hashCode * 8191 + (isSetDeleted() ? 131071 : 524287);
+    if (isSetDeleted())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(deleted);
+    hashCode = hashCode * 8191 + (isSetActive() ? 131071 : 524287);
+    if (isSetActive())
+      hashCode = hashCode * 8191 + (active ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetShardId() ? 131071 : 524287);
+    if (isSetShardId())
+      hashCode = hashCode * 8191 + shardId.hashCode();
+    hashCode = hashCode * 8191 + (isSetAttributes() ? 131071 : 524287);
+    if (isSetAttributes())
+      hashCode = hashCode * 8191 + attributes.hashCode();
+    hashCode = hashCode * 8191 + (isSetAccounting() ? 131071 : 524287);
+    if (isSetAccounting())
+      hashCode = hashCode * 8191 + accounting.hashCode();
+    hashCode = hashCode * 8191 + (isSetPremiumInfo() ? 131071 : 524287);
+    if (isSetPremiumInfo())
+      hashCode = hashCode * 8191 + premiumInfo.hashCode();
+    hashCode = hashCode * 8191 + (isSetBusinessUserInfo() ? 131071 : 524287);
+    if (isSetBusinessUserInfo())
+      hashCode = hashCode * 8191 + businessUserInfo.hashCode();
+    return hashCode;
   }
 
   public int compareTo(User other) {
@@ -1446,7 +1446,101 @@ public class UserAttributes implements TBase<UserAttributes>, java.io.Serializab
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetDefaultLocationName() ? 131071 : 524287);
+    if (isSetDefaultLocationName())
+      hashCode = hashCode * 8191 + defaultLocationName.hashCode();
+    hashCode = hashCode * 8191 + (isSetDefaultLatitude() ? 131071 : 524287);
+    if (isSetDefaultLatitude())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(defaultLatitude);
+    hashCode = hashCode * 8191 + (isSetDefaultLongitude() ? 131071 : 524287);
+    if (isSetDefaultLongitude())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(defaultLongitude);
+    hashCode = hashCode * 8191 + (isSetPreactivation() ? 131071 : 524287);
+    if (isSetPreactivation())
+      hashCode = hashCode * 8191 + (preactivation ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetViewedPromotions() ? 131071 : 524287);
+    if (isSetViewedPromotions())
+      hashCode = hashCode * 8191 + viewedPromotions.hashCode();
+    hashCode = hashCode * 8191 + (isSetIncomingEmailAddress() ? 131071 : 524287);
+    if (isSetIncomingEmailAddress())
+      hashCode = hashCode * 8191 + incomingEmailAddress.hashCode();
+    hashCode = hashCode * 8191 + (isSetRecentMailedAddresses() ? 131071 : 524287);
+    if (isSetRecentMailedAddresses())
+      hashCode = hashCode * 8191 + recentMailedAddresses.hashCode();
+    hashCode = hashCode * 8191 + (isSetComments() ? 131071 : 524287);
+    if (isSetComments())
+      hashCode = hashCode * 8191 + comments.hashCode();
+    hashCode = hashCode * 8191 + (isSetDateAgreedToTermsOfService() ? 131071 : 524287);
+    if (isSetDateAgreedToTermsOfService())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(dateAgreedToTermsOfService);
+    hashCode = hashCode * 8191 + (isSetMaxReferrals() ? 131071 : 524287);
+    if (isSetMaxReferrals())
+      hashCode = hashCode * 8191 + maxReferrals;
+    hashCode = hashCode * 8191 + (isSetReferralCount() ? 131071 : 524287);
+    if (isSetReferralCount())
+      hashCode = hashCode * 8191 + referralCount;
+    hashCode = hashCode * 8191 + (isSetRefererCode() ? 131071 : 524287);
+    if (isSetRefererCode())
+      hashCode = hashCode * 8191 + refererCode.hashCode();
+    hashCode = hashCode * 8191 + (isSetSentEmailDate() ? 131071 : 524287);
+    if (isSetSentEmailDate())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(sentEmailDate);
+    hashCode = hashCode * 8191 + (isSetSentEmailCount() ? 131071 : 524287);
+    if (isSetSentEmailCount())
+      hashCode = hashCode * 8191 + sentEmailCount;
+    hashCode = hashCode * 8191 + (isSetDailyEmailLimit() ? 131071 : 524287);
+    if (isSetDailyEmailLimit())
+      hashCode = hashCode * 8191 + dailyEmailLimit;
+    hashCode = hashCode * 8191 + (isSetEmailOptOutDate() ? 131071 : 524287);
+    if (isSetEmailOptOutDate())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(emailOptOutDate);
+    hashCode = hashCode * 8191 + (isSetPartnerEmailOptInDate() ? 131071 : 524287);
+    if (isSetPartnerEmailOptInDate())
+      hashCode = hashCode * 8191 + TBaseHelper.hashCode(partnerEmailOptInDate);
+    hashCode = hashCode * 8191 + (isSetPreferredLanguage() ? 131071 : 524287);
+    if (isSetPreferredLanguage())
+      hashCode = hashCode * 8191 + preferredLanguage.hashCode();
+    hashCode = hashCode * 8191 + (isSetPreferredCountry() ? 131071 : 524287);
+    if (isSetPreferredCountry())
+      hashCode = hashCode * 8191 + preferredCountry.hashCode();
+    hashCode = hashCode * 8191 + (isSetClipFullPage() ? 131071 : 524287);
+    if (isSetClipFullPage())
+      hashCode = hashCode * 8191 + (clipFullPage ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetTwitterUserName() ? 131071 : 524287);
+    if (isSetTwitterUserName())
+      hashCode = hashCode * 8191 + twitterUserName.hashCode();
+    hashCode = hashCode * 8191 + (isSetTwitterId() ? 131071 : 524287);
+    if (isSetTwitterId())
+      hashCode = hashCode * 8191 + twitterId.hashCode();
+    hashCode = hashCode * 8191 + (isSetGroupName() ? 131071 : 524287);
+    if (isSetGroupName())
+      hashCode = hashCode * 8191 + groupName.hashCode();
+    hashCode = hashCode * 8191 + (isSetRecognitionLanguage() ? 131071 : 524287);
+    if (isSetRecognitionLanguage())
+      hashCode = hashCode * 8191 + recognitionLanguage.hashCode();
+    hashCode = hashCode * 8191 + (isSetReferralProof() ? 131071 : 524287);
+    if (isSetReferralProof())
+      hashCode = hashCode * 8191 + referralProof.hashCode();
+    hashCode = hashCode * 8191 + (isSetEducationalDiscount() ? 131071 : 524287);
+    if (isSetEducationalDiscount())
+      hashCode = hashCode * 8191 + (educationalDiscount ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetBusinessAddress() ? 131071 : 524287);
+    if (isSetBusinessAddress())
+      hashCode = hashCode * 8191 + businessAddress.hashCode();
+    hashCode = hashCode * 8191 + (isSetHideSponsorBilling() ? 131071 : 524287);
+    if (isSetHideSponsorBilling())
+      hashCode = hashCode * 8191 + (hideSponsorBilling ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetTaxExempt() ? 131071 : 524287);
+    if (isSetTaxExempt())
+      hashCode = hashCode * 8191 + (taxExempt ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetUseEmailAutoFiling() ? 131071 : 524287);
+    if (isSetUseEmailAutoFiling())
+      hashCode = hashCode * 8191 + (useEmailAutoFiling ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetReminderEmailConfig() ? 131071 : 524287);
+    if (isSetReminderEmailConfig())
+      hashCode = hashCode * 8191 + reminderEmailConfig.getValue();
+    return hashCode;
   }
 
   public int compareTo(UserAttributes other) {
@@ -480,7 +480,31 @@ public class AuthenticationResult implements TBase<AuthenticationResult>, java.i
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + TBaseHelper.hashCode(currentTime);
+    hashCode = hashCode * 8191 + (isSetAuthenticationToken() ? 131071 : 524287);
+    if (isSetAuthenticationToken())
+      hashCode = hashCode * 8191 + authenticationToken.hashCode();
+    hashCode = hashCode * 8191 + TBaseHelper.hashCode(expiration);
+    hashCode = hashCode * 8191 + (isSetUser() ? 131071 : 524287);
+    if (isSetUser())
+      hashCode = hashCode * 8191 + user.hashCode();
+    hashCode = hashCode * 8191 + (isSetPublicUserInfo() ? 131071 : 524287);
+    if (isSetPublicUserInfo())
+      hashCode = hashCode * 8191 + publicUserInfo.hashCode();
+    hashCode = hashCode * 8191 + (isSetNoteStoreUrl() ? 131071 : 524287);
+    if (isSetNoteStoreUrl())
+      hashCode = hashCode * 8191 + noteStoreUrl.hashCode();
+    hashCode = hashCode * 8191 + (isSetWebApiUrlPrefix() ? 131071 : 524287);
+    if (isSetWebApiUrlPrefix())
+      hashCode = hashCode * 8191 + webApiUrlPrefix.hashCode();
+    hashCode = hashCode * 8191 + (isSetSecondFactorRequired() ? 131071 : 524287);
+    if (isSetSecondFactorRequired())
+      hashCode = hashCode * 8191 + (secondFactorRequired ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetSecondFactorDeliveryHint() ? 131071 : 524287);
+    if (isSetSecondFactorDeliveryHint())
+      hashCode = hashCode * 8191 + secondFactorDeliveryHint.hashCode();
+    return hashCode;
   }
 
   public int compareTo(AuthenticationResult other) {
@@ -131,7 +131,11 @@ public class BootstrapInfo implements TBase<BootstrapInfo>, java.io.Serializable
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetProfiles() ? 131071 : 524287);
+    if (isSetProfiles())
+      hashCode = hashCode * 8191 + profiles.hashCode();
+    return hashCode;
   }
 
   public int compareTo(BootstrapInfo other) {
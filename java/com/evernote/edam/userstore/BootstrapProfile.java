@@ -156,7 +156,14 @@ public class BootstrapProfile implements TBase<BootstrapProfile>, java.io.Serial
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetName() ? 131071 : 524287);
+    if (isSetName())
+      hashCode = hashCode * 8191 + name.hashCode();
+    hashCode = hashCode * 8191 + (isSetSettings() ? 131071 : 524287);
+    if (isSetSettings())
+      hashCode = hashCode * 8191 + settings.hashCode();
+    return hashCode;
   }
 
   public int compareTo(BootstrapProfile other) {
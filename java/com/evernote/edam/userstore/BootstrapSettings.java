@@ -616,7 +616,47 @@ public class BootstrapSettings implements TBase<BootstrapSettings>, java.io.Seri
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + (isSetServiceHost() ? 131071 : 524287);
+    if (isSetServiceHost())
+      hashCode = hashCode * 8191 + serviceHost.hashCode();
+    hashCode = hashCode * 8191 + (isSetMarketingUrl() ? 131071 : 524287);
+    if (isSetMarketingUrl())
+      hashCode = hashCode * 8191 + marketingUrl.hashCode();
+    hashCode = hashCode * 8191 + (isSetSupportUrl() ? 131071 : 524287);
+    if (isSetSupportUrl())
+      hashCode = hashCode * 8191 + supportUrl.hashCode();
+    hashCode = hashCode * 8191 + (isSetAccountEmailDomain() ? 131071 : 524287);
+    if (isSetAccountEmailDomain())
+      hashCode = hashCode * 8191 + accountEmailDomain.hashCode();
+    hashCode = hashCode * 8191 + (isSetEnableFacebookSharing() ? 131071 : 524287);
+    if (isSetEnableFacebookSharing())
+      hashCode = hashCode * 8191 + (enableFacebookSharing ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetEnableGiftSubscriptions() ? 131071 : 524287);
+    if (isSetEnableGiftSubscriptions())
+      hashCode = hashCode * 8191 + (enableGiftSubscriptions ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetEnableSupportTickets() ? 131071 : 524287);
+    if (isSetEnableSupportTickets())
+      hashCode = hashCode * 8191 + (enableSupportTickets ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetEnableSharedNotebooks() ? 131071 : 524287);
+    if (isSetEnableSharedNotebooks())
+      hashCode = hashCode * 8191 + (enableSharedNotebooks ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetEnableSingleNoteSharing() ? 131071 : 524287);
+    if (isSetEnableSingleNoteSharing())
+      hashCode = hashCode * 8191 + (enableSingleNoteSharing ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetEnableSponsoredAccounts() ? 131071 : 524287);
+    if (isSetEnableSponsoredAccounts())
+      hashCode = hashCode * 8191 + (enableSponsoredAccounts ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetEnableTwitterSharing() ? 131071 : 524287);
+    if (isSetEnableTwitterSharing())
+      hashCode = hashCode * 8191 + (enableTwitterSharing ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetEnableLinkedInSharing() ? 131071 : 524287);
+    if (isSetEnableLinkedInSharing())
+      hashCode = hashCode * 8191 + (enableLinkedInSharing ? 131071 : 524287);
+    hashCode = hashCode * 8191 + (isSetEnablePublicNotebooks() ? 131071 : 524287);
+    if (isSetEnablePublicNotebooks())
+      hashCode = hashCode * 8191 + (enablePublicNotebooks ? 131071 : 524287);
+    return hashCode;
   }
 
   public int compareTo(BootstrapSettings other) {
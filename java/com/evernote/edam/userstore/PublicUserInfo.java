@@ -340,7 +340,24 @@ public class PublicUserInfo implements TBase<PublicUserInfo>, java.io.Serializab
 
   @Override
   public int hashCode() {
-    return 0;
+    int hashCode = 1;
+    hashCode = hashCode * 8191 + userId;
+    hashCode = hashCode * 8191 + (isSetShardId() ? 131071 : 524287);
+    if (isSetShardId())
+      hashCode = hashCode * 8191 + shardId.hashCode();
+    hashCode = hashCode * 8191 + (isSetPrivilege() ? 131071 : 524287);
+    if (isSetPrivilege())
+      hashCode = hashCode * 8191 + privilege.hashCode();
+    hashCode = hashCode * 8191 + (isSetUsername() ? 131071 : 524287);
+    if (isSetUsername())
+      hashCode = hashCode * 8191 + username.hashCode();
+    hashCode = hashCode * 8191 + (isSetNoteStoreUrl() ? 131071 : 524287);
+    if (isSetNoteStoreUrl())
+      hashCode = hashCode * 8191 + noteStoreUrl.hashCode();
+    hashCode = hashCode * 8191 + (isSetWebApiUrlPrefix() ? 131071 : 524287);
+    if (isSetWebApiUrlPrefix())
+      hashCode = hashCode * 8191 + webApiUrlPrefix.hashCode();
+    return hashCode;
   }
 
   public int compareTo(PublicUserInfo other) {
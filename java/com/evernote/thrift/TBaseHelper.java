@@ -18,6 +18,7 @@
 package com.evernote.thrift;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
@@ -218,6 +219,19 @@ public class TBaseHelper {
     }
   }
 
+  public static int hashCode(long value) {
+    return (int) (value ^ (value >>> 32));
+  }
+
+  public static int hashCode(double value) {
+    // 0.0 == -0.0, so both must hash alike
+    return value == 0 ? 0 : hashCode(Double.doubleToLongBits(value));
+  }
+
+  public static int hashCode(byte[] value) {
+    return Arrays.hashCode(value);
+  }
+
   public static void toString(byte[] bytes, StringBuilder sb) {
     toString(bytes, 0, bytes.length, sb);
   }
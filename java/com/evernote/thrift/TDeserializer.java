@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.evernote.thrift;
+
+import com.evernote.thrift.protocol.TBinaryProtocol;
+import com.evernote.thrift.protocol.TProtocol;
+import com.evernote.thrift.protocol.TProtocolFactory;
+import com.evernote.thrift.transport.TMemoryBuffer;
+
+/**
+ * Reads structs from byte arrays through a reused {@link TMemoryBuffer}. The
+ * array is read in place, without copying it first.
+ * <p>
+ * Instances are not thread safe; {@link #forThread()} hands out one instance
+ * per thread for the binary protocol.
+ */
+public class TDeserializer {
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private static final ThreadLocal<TDeserializer> LOCAL =
+      new ThreadLocal<TDeserializer>() {
+        @Override
+        protected TDeserializer initialValue() {
+          return new TDeserializer();
+        }
+      };
+
+  private final TMemoryBuffer buffer_ = new TMemoryBuffer(EMPTY);
+  private final TProtocol protocol_;
+
+  /**
+   * Creates a deserializer for the binary protocol.
+   */
+  public TDeserializer() {
+    this(new TBinaryProtocol.Factory());
+  }
+
+  public TDeserializer(TProtocolFactory protocolFactory) {
+    protocol_ = protocolFactory.getProtocol(buffer_);
+  }
+
+  /**
+   * @return the binary protocol deserializer of the calling thread
+   */
+  public static TDeserializer forThread() {
+    return LOCAL.get();
+  }
+
+  /**
+   * Reads <code>base</code> from <code>bytes</code>.
+   */
+  public void deserialize(TBase<?> base, byte[] bytes) throws TException {
+    deserialize(base, bytes, 0, bytes.length);
+  }
+
+  /**
+   * Reads <code>base</code> from <code>len</code> bytes of <code>bytes</code>
+   * starting at <code>off</code>.
+   */
+  public void deserialize(TBase<?> base, byte[] bytes, int off, int len)
+      throws TException {
+    buffer_.reset(bytes, off, len);
+    protocol_.reset();
+    try {
+      base.read(protocol_);
+    } finally {
+      // don't keep the caller's array reachable
+      buffer_.reset(EMPTY, 0, 0);
+    }
+  }
+
+  /**
+   * Reads only the fields of <code>base</code> that are in <code>mask</code>
+   * from <code>bytes</code>; the others are skipped and left unset.
+   */
+  public void deserialize(TProjectable base, byte[] bytes, TFieldMask mask)
+      throws TException {
+    deserialize(base, bytes, 0, bytes.length, mask);
+  }
+
+  /**
+   * Reads only the fields of <code>base</code> that are in <code>mask</code>
+   * from <code>len</code> bytes of <code>bytes</code> starting at
+   * <code>off</code>.
+   */
+  public void deserialize(TProjectable base, byte[] bytes, int off, int len,
+      TFieldMask mask) throws TException {
+    buffer_.reset(bytes, off, len);
+    protocol_.reset();
+    try {
+      base.read(protocol_, mask);
+    } finally {
+      buffer_.reset(EMPTY, 0, 0);
+    }
+  }
+}
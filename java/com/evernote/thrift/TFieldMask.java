@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.evernote.thrift;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.evernote.thrift.protocol.TField;
+
+/**
+ * The set of fields to decode when reading a {@link TProjectable} struct. Fields
+ * outside the mask are skipped on the wire and left unset. A struct field may
+ * carry a nested mask for its own fields; without one it is read in full.
+ * <p>
+ * Masks are immutable and can be shared between threads:
+ *
+ * <pre>
+ * TFieldMask listView = TFieldMask.of(Note.class, "title", "updated",
+ *     "notebookGuid");
+ * </pre>
+ */
+public final class TFieldMask {
+
+  private final Class<?> type_;
+  private final BitSet ids_;
+  private final Map<Short, TFieldMask> children_;
+
+  private TFieldMask(Class<?> type, BitSet ids,
+      Map<Short, TFieldMask> children) {
+    type_ = type;
+    ids_ = ids;
+    children_ = children;
+  }
+
+  /**
+   * Creates a mask over the fields of <code>type</code> with the given IDL
+   * names.
+   *
+   * @throws IllegalArgumentException if <code>type</code> has no such field
+   */
+  public static TFieldMask of(Class<? extends TBase<?>> type,
+      String... fieldNames) {
+    BitSet ids = new BitSet();
+    for (String name : fieldNames) {
+      ids.set(fieldId(type, name));
+    }
+    return new TFieldMask(type, ids, Collections.<Short, TFieldMask>emptyMap());
+  }
+
+  /**
+   * Creates a mask from raw field ids, for structs that are not known at
+   * compile time.
+   */
+  public static TFieldMask ofIds(short... ids) {
+    BitSet set = new BitSet();
+    for (short id : ids) {
+      set.set(id);
+    }
+    return new TFieldMask(null, set, Collections.<Short, TFieldMask>emptyMap());
+  }
+
+  /**
+   * Returns a copy of this mask that also includes the struct field
+   * <code>fieldName</code>, decoded through <code>child</code>.
+   */
+  public TFieldMask with(String fieldName, TFieldMask child) {
+    if (type_ == null) {
+      throw new IllegalStateException("mask was created from raw field ids");
+    }
+    return with(fieldId(type_, fieldName), child);
+  }
+
+  /**
+   * Returns a copy of this mask that also includes field <code>id</code>,
+   * decoded through <code>child</code>.
+   */
+  public TFieldMask with(short id, TFieldMask child) {
+    BitSet ids = (BitSet) ids_.clone();
+    ids.set(id);
+    Map<Short, TFieldMask> children = new HashMap<Short, TFieldMask>(children_);
+    children.put(id, child);
+    return new TFieldMask(type_, ids, Collections.unmodifiableMap(children));
+  }
+
+  /**
+   * @return whether field <code>id</code> should be decoded
+   */
+  public boolean includes(short id) {
+    return id >= 0 && ids_.get(id);
+  }
+
+  /**
+   * @return the mask for the struct field <code>id</code>, or null to read it
+   *         in full
+   */
+  public TFieldMask child(short id) {
+    return children_.get(id);
+  }
+
+  /**
+   * Null-safe {@link #child(short)}, for use by generated code.
+   */
+  public static TFieldMask child(TFieldMask mask, short id) {
+    return mask == null ? null : mask.child(id);
+  }
+
+  private static short fieldId(Class<?> type, String name) {
+    for (Field f : type.getDeclaredFields()) {
+      if (f.getType() != TField.class || !Modifier.isStatic(f.getModifiers())) {
+        continue;
+      }
+      f.setAccessible(true);
+      TField desc;
+      try {
+        desc = (TField) f.get(null);
+      } catch (IllegalAccessException e) {
+        throw new IllegalArgumentException(e);
+      }
+      if (desc.name.equals(name)) {
+        return desc.id;
+      }
+    }
+    throw new IllegalArgumentException(type.getSimpleName()
+        + " has no field named " + name);
+  }
+
+  @Override
+  public String toString() {
+    return "TFieldMask" + ids_ + (children_.isEmpty() ? "" : children_);
+  }
+}
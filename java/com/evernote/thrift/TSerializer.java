@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.evernote.thrift;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.evernote.thrift.protocol.TBinaryProtocol;
+import com.evernote.thrift.protocol.TProtocol;
+import com.evernote.thrift.protocol.TProtocolFactory;
+import com.evernote.thrift.transport.TMemoryBuffer;
+import com.evernote.thrift.transport.TTransportException;
+
+/**
+ * Turns structs into bytes through a reused {@link TMemoryBuffer}, so that the
+ * only allocation per struct is the returned array, or none at all with
+ * {@link #serialize(TBase, OutputStream)}.
+ * <p>
+ * Instances are not thread safe; {@link #forThread()} hands out one instance
+ * per thread for the binary protocol.
+ */
+public class TSerializer {
+
+  /** Larger buffers are dropped after use instead of being kept for reuse. */
+  private static final int MAX_RETAINED = 1024 * 1024;
+
+  private static final ThreadLocal<TSerializer> LOCAL =
+      new ThreadLocal<TSerializer>() {
+        @Override
+        protected TSerializer initialValue() {
+          return new TSerializer();
+        }
+      };
+
+  private final TMemoryBuffer buffer_ = new TMemoryBuffer();
+  private final TProtocol protocol_;
+
+  /**
+   * Creates a serializer for the binary protocol.
+   */
+  public TSerializer() {
+    this(new TBinaryProtocol.Factory());
+  }
+
+  public TSerializer(TProtocolFactory protocolFactory) {
+    protocol_ = protocolFactory.getProtocol(buffer_);
+  }
+
+  /**
+   * @return the binary protocol serializer of the calling thread
+   */
+  public static TSerializer forThread() {
+    return LOCAL.get();
+  }
+
+  public byte[] serialize(TBase<?> base) throws TException {
+    try {
+      write(base);
+      return buffer_.toByteArray();
+    } finally {
+      buffer_.reset(MAX_RETAINED);
+    }
+  }
+
+  /**
+   * Serializes <code>base</code> and writes the bytes to <code>out</code>.
+   * The whole struct is encoded in memory first; write large structs straight
+   * to a stream transport instead.
+   */
+  public void serialize(TBase<?> base, OutputStream out) throws TException {
+    try {
+      write(base);
+      buffer_.writeTo(out);
+    } catch (IOException e) {
+      throw new TTransportException(e);
+    } finally {
+      buffer_.reset(MAX_RETAINED);
+    }
+  }
+
+  private void write(TBase<?> base) throws TException {
+    buffer_.reset();
+    protocol_.reset();
+    base.write(protocol_);
+  }
+}
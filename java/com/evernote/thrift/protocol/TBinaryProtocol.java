@@ -43,6 +43,9 @@ public class TBinaryProtocol extends TProtocol {
   protected int readLength_;
   protected boolean checkReadLength_ = false;
 
+  /** scratch buffer for TUtf8 when writing strings */
+  private byte[] strout = new byte[1024];
+
   /**
    * Factory
    */
@@ -203,11 +206,8 @@ public class TBinaryProtocol extends TProtocol {
 
   @Override
   public void writeString(String str) throws TException {
-    ByteBuffer encoded = UTF8.encode(str);
-    byte[] dat = new byte[encoded.remaining()];
-    encoded.get(dat, 0, dat.length);      
-    writeI32(dat.length);
-    trans_.write(dat, 0, dat.length);
+    writeI32(TUtf8.encodedLength(str));
+    TUtf8.write(str, strout, trans_);
   }
 
   @Override
@@ -238,7 +238,9 @@ public class TBinaryProtocol extends TProtocol {
   }
 
   @Override
-  public void readMessageEnd() {}
+  public void readMessageEnd() {
+    trans_.readEnd();
+  }
 
   @Override
   public TStruct readStructBegin() {
@@ -373,7 +375,7 @@ public class TBinaryProtocol extends TProtocol {
   public String readString() throws TException {
     int size = readI32();
 
-    if (trans_.getBytesRemainingInBuffer() >= size) {
+    if (size >= 0 && trans_.getBytesRemainingInBuffer() >= size) {
       String s = UTF8.decode(ByteBuffer.wrap(trans_.getBuffer(),
           trans_.getBufferPosition(), size)).toString();
       trans_.consumeBuffer(size);
@@ -414,6 +416,37 @@ public class TBinaryProtocol extends TProtocol {
     return buf;
   }
 
+  @Override
+  protected int readBinaryLength() throws TException {
+    int size = readI32();
+    checkReadLength(size);
+    return size;
+  }
+
+  @Override
+  protected void skipBytes(int len) throws TException {
+    checkReadLength(len);
+    trans_.skipBytes(len);
+  }
+
+  @Override
+  protected int getFixedWidth(byte type) {
+    switch (type) {
+    case TType.BOOL:
+    case TType.BYTE:
+      return 1;
+    case TType.I16:
+      return 2;
+    case TType.I32:
+      return 4;
+    case TType.I64:
+    case TType.DOUBLE:
+      return 8;
+    default:
+      return -1;
+    }
+  }
+
   private int readAll(byte[] buf, int off, int len) throws TException {
     checkReadLength(len);
     return trans_.readAll(buf, off, len);
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.evernote.thrift.protocol;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.evernote.thrift.TException;
+import com.evernote.thrift.transport.TTransport;
+
+/**
+ * Decides where large binary values go while a struct is being read.
+ * Values of at least {@code threshold} bytes are copied from the transport
+ * into a temporary file instead of a byte array, so decoding a message with
+ * big attachments costs memory in proportion to its metadata only.
+ *
+ * Set a spool on a protocol with {@link TProtocol#setBinarySpool}; structs
+ * that support deferred fields then read them through
+ * {@link TProtocol#readLazyBinary()}.
+ *
+ * A spool file is deleted when its {@link TLazyBinary} is released. Closing
+ * the spool deletes any files that are still around, so values read through
+ * it cannot be streamed or loaded afterwards.
+ */
+public class TBinarySpool implements Closeable {
+
+  public static final int DEFAULT_THRESHOLD = 64 * 1024;
+
+  private static final String PREFIX = "thrift";
+  private static final String SUFFIX = ".bin";
+
+  private final File directory_;
+  private final int threshold_;
+  private final Set<File> files_ = Collections.newSetFromMap(new ConcurrentHashMap<File, Boolean>());
+
+  /**
+   * Spool values of at least {@link #DEFAULT_THRESHOLD} bytes into the
+   * default temporary directory.
+   */
+  public TBinarySpool() {
+    this(null, DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * @param directory where spool files are created, or null for the default
+   *        temporary directory
+   * @param threshold values of at least this many bytes are spooled
+   */
+  public TBinarySpool(File directory, int threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("threshold must not be negative");
+    }
+    directory_ = directory;
+    threshold_ = threshold;
+  }
+
+  public int getThreshold() {
+    return threshold_;
+  }
+
+  /**
+   * Read length bytes from trans.
+   */
+  public TLazyBinary read(TTransport trans, int length) throws TException {
+    if (length < threshold_) {
+      byte[] buf = new byte[length];
+      trans.readAll(buf, 0, length);
+      return new TLazyBinary(buf);
+    }
+
+    File file = null;
+    OutputStream out = null;
+    try {
+      file = File.createTempFile(PREFIX, SUFFIX, directory_);
+      files_.add(file);
+      out = new FileOutputStream(file);
+      byte[] chunk = null;
+      int remaining = length;
+      while (remaining > 0) {
+        int buffered = trans.getBytesRemainingInBuffer();
+        if (buffered > 0) {
+          int n = Math.min(buffered, remaining);
+          out.write(trans.getBuffer(), trans.getBufferPosition(), n);
+          trans.consumeBuffer(n);
+          remaining -= n;
+        } else {
+          if (chunk == null) {
+            chunk = new byte[8192];
+          }
+          int n = trans.read(chunk, 0, Math.min(chunk.length, remaining));
+          if (n <= 0) {
+            throw new TException("Cannot read. Remote side has closed. " + remaining + " bytes of " + length + " missing.");
+          }
+          out.write(chunk, 0, n);
+          remaining -= n;
+        }
+      }
+      out.close();
+      out = null;
+      return new TLazyBinary(this, file, length);
+    } catch (IOException e) {
+      if (file != null) {
+        release(file);
+      }
+      throw new TException("Failed to spool binary", e);
+    } catch (TException e) {
+      if (file != null) {
+        release(file);
+      }
+      throw e;
+    } finally {
+      if (out != null) {
+        try {
+          out.close();
+        } catch (IOException e) {
+          ;
+        }
+      }
+    }
+  }
+
+  /**
+   * Delete a spool file created by this spool, unless {@link #close()} already
+   * has.
+   */
+  void release(File file) {
+    if (files_.remove(file)) {
+      file.delete();
+    }
+  }
+
+  /**
+   * Delete every spool file that has not been released yet.
+   */
+  public void close() {
+    for (File file : files_) {
+      release(file);
+    }
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.evernote.thrift.protocol;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
+import java.io.Serializable;
+
+/**
+ * A binary value whose bytes are either held in memory or spooled to a file
+ * by a {@link TBinarySpool}. Spooled values are only loaded into memory when
+ * {@link #get()} is called, and can be streamed with {@link #open()}.
+ *
+ * A spooled value may be shared by several holders, each of which takes a
+ * reference with {@link #retain()} and gives it back with {@link #release()}.
+ * The spool file is deleted when the last reference is released, or when the
+ * {@link TBinarySpool} that created it is closed, whichever comes first.
+ */
+public class TLazyBinary implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final ObjectStreamField[] serialPersistentFields = {
+    new ObjectStreamField("bytes_", byte[].class),
+    new ObjectStreamField("length_", int.class)
+  };
+
+  private byte[] bytes_;
+  private transient File file_;
+  private transient TBinarySpool spool_;
+  private transient int refs_;
+  private int length_;
+
+  public TLazyBinary(byte[] bytes) {
+    bytes_ = bytes;
+    length_ = bytes.length;
+  }
+
+  TLazyBinary(TBinarySpool spool, File file, int length) {
+    spool_ = spool;
+    file_ = file;
+    refs_ = 1;
+    length_ = length;
+  }
+
+  /**
+   * Number of bytes in the value.
+   */
+  public int length() {
+    return length_;
+  }
+
+  /**
+   * Whether the bytes are held in memory rather than in a spool file.
+   */
+  public boolean isLoaded() {
+    return bytes_ != null;
+  }
+
+  /**
+   * The bytes of the value, read from the spool file if necessary.
+   */
+  public byte[] get() throws IOException {
+    if (bytes_ != null) {
+      return bytes_;
+    }
+    byte[] buf = new byte[length_];
+    InputStream in = open();
+    try {
+      int got = 0;
+      while (got < length_) {
+        int ret = in.read(buf, got, length_ - got);
+        if (ret < 0) {
+          throw new IOException("Spool file is truncated");
+        }
+        got += ret;
+      }
+    } finally {
+      in.close();
+    }
+    return buf;
+  }
+
+  /**
+   * A stream over the bytes of the value, which does not load a spooled
+   * value into memory.
+   */
+  public InputStream open() throws IOException {
+    if (bytes_ != null) {
+      return new ByteArrayInputStream(bytes_);
+    }
+    File file;
+    synchronized (this) {
+      file = file_;
+    }
+    if (file == null || !file.exists()) {
+      throw new IOException("Spooled binary has been released");
+    }
+    return new FileInputStream(file);
+  }
+
+  /**
+   * Compares like {@code TBaseHelper.compareTo(byte[], byte[])}: by length
+   * first, then byte by byte. Spooled values are streamed rather than loaded.
+   */
+  public int compareTo(TLazyBinary other) throws IOException {
+    if (length_ != other.length_) {
+      return length_ < other.length_ ? -1 : 1;
+    }
+    if (bytes_ != null && other.bytes_ != null) {
+      for (int i = 0; i < length_; i++) {
+        if (bytes_[i] != other.bytes_[i]) {
+          return bytes_[i] < other.bytes_[i] ? -1 : 1;
+        }
+      }
+      return 0;
+    }
+    InputStream a = new BufferedInputStream(open());
+    try {
+      InputStream b = new BufferedInputStream(other.open());
+      try {
+        for (int i = 0; i < length_; i++) {
+          int x = a.read();
+          int y = b.read();
+          if (x < 0 || y < 0) {
+            throw new IOException("Spool file is truncated");
+          }
+          if (x != y) {
+            return (byte) x < (byte) y ? -1 : 1;
+          }
+        }
+        return 0;
+      } finally {
+        b.close();
+      }
+    } finally {
+      a.close();
+    }
+  }
+
+  /**
+   * Take another reference to the value, to be given back with
+   * {@link #release()}.
+   *
+   * @return this value
+   */
+  public synchronized TLazyBinary retain() {
+    if (file_ != null) {
+      refs_++;
+    }
+    return this;
+  }
+
+  /**
+   * Give back a reference to the value. When the last one is released the
+   * spool file is deleted, and the value cannot be read afterwards unless it
+   * was held in memory.
+   */
+  public void release() {
+    File file;
+    synchronized (this) {
+      if (file_ == null || --refs_ > 0) {
+        return;
+      }
+      file = file_;
+      file_ = null;
+    }
+    spool_.release(file);
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("bytes_", get());
+    fields.put("length_", length_);
+    out.writeFields();
+  }
+}
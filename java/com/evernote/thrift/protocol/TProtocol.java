@@ -42,6 +42,12 @@ public abstract class TProtocol {
    */
   protected TTransport trans_;
 
+  /**
+   * Where large binary values read through readLazyBinary go, or null to keep
+   * them in memory
+   */
+  protected TBinarySpool binarySpool_ = null;
+
   /**
    * Constructor
    */
@@ -169,6 +175,56 @@ public abstract class TProtocol {
 
   public abstract byte[] readBytes() throws TException;
 
+  /**
+   * Read a binary value that the caller may not need right away. With a
+   * {@link TBinarySpool} set, large values are spooled to a file instead of
+   * being read into memory.
+   */
+  public TLazyBinary readLazyBinary() throws TException {
+    if (binarySpool_ == null) {
+      return new TLazyBinary(readBytes());
+    }
+    return binarySpool_.read(trans_, readBinaryLength());
+  }
+
+  /**
+   * Read the length prefix of a binary value.
+   */
+  protected int readBinaryLength() throws TException {
+    return readI32();
+  }
+
+  /**
+   * Skip a binary or string value without copying it out of the transport.
+   */
+  public void skipBinary() throws TException {
+    trans_.skipBytes(readBinaryLength());
+  }
+
+  /**
+   * Skip len bytes of encoded values, such as a run of fixed width container
+   * elements.
+   */
+  protected void skipBytes(int len) throws TException {
+    trans_.skipBytes(len);
+  }
+
+  /**
+   * The encoded size of a container element of the given type, or -1 if it
+   * varies from value to value.
+   */
+  protected int getFixedWidth(byte type) {
+    return -1;
+  }
+
+  public void setBinarySpool(TBinarySpool spool) {
+    binarySpool_ = spool;
+  }
+
+  public TBinarySpool getBinarySpool() {
+    return binarySpool_;
+  }
+
   /**
    * Reset any internal state back to a blank slate. This method only needs to
    * be implemented for stateful protocols.
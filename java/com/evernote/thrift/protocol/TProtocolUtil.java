@@ -106,7 +106,7 @@ public class TProtocolUtil {
       }
     case TType.STRING:
       {
-        prot.readBinary();
+        prot.skipBinary();
         break;
       }
     case TType.STRUCT:
@@ -126,6 +126,13 @@ public class TProtocolUtil {
     case TType.MAP:
       {
         TMap map = prot.readMapBegin();
+        int keyWidth = prot.getFixedWidth(map.keyType);
+        int valueWidth = prot.getFixedWidth(map.valueType);
+        if (keyWidth > 0 && valueWidth > 0
+            && skipFixedWidth(prot, keyWidth + valueWidth, map.size)) {
+          prot.readMapEnd();
+          break;
+        }
         for (int i = 0; i < map.size; i++) {
           skip(prot, map.keyType, maxDepth - 1);
           skip(prot, map.valueType, maxDepth - 1);
@@ -136,6 +143,10 @@ public class TProtocolUtil {
     case TType.SET:
       {
         TSet set = prot.readSetBegin();
+        if (skipFixedWidth(prot, prot.getFixedWidth(set.elemType), set.size)) {
+          prot.readSetEnd();
+          break;
+        }
         for (int i = 0; i < set.size; i++) {
           skip(prot, set.elemType, maxDepth - 1);
         }
@@ -145,6 +156,10 @@ public class TProtocolUtil {
     case TType.LIST:
       {
         TList list = prot.readListBegin();
+        if (skipFixedWidth(prot, prot.getFixedWidth(list.elemType), list.size)) {
+          prot.readListEnd();
+          break;
+        }
         for (int i = 0; i < list.size; i++) {
           skip(prot, list.elemType, maxDepth - 1);
         }
@@ -155,4 +170,24 @@ public class TProtocolUtil {
       break;
     }
   }
+
+  /**
+   * Skips <code>count</code> elements of <code>width</code> bytes each in one
+   * step.
+   *
+   * @return false if the elements don't have a fixed width
+   */
+  private static boolean skipFixedWidth(TProtocol prot, int width, int count)
+      throws TException {
+    if (width <= 0 || count <= 0) {
+      return false;
+    }
+    long len = (long) width * count;
+    if (len > Integer.MAX_VALUE) {
+      throw new TProtocolException(TProtocolException.SIZE_LIMIT,
+          "Container too large to skip: " + count + " elements");
+    }
+    prot.skipBytes((int) len);
+    return true;
+  }
 }
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.evernote.thrift.protocol;
+
+import com.evernote.thrift.TException;
+import com.evernote.thrift.transport.TTransport;
+
+/**
+ * UTF-8 encoding helpers for protocols that write strings without
+ * allocating an intermediate byte array per string.
+ *
+ * Unpaired surrogates are written as '?', the same replacement the platform
+ * encoder uses, so the output matches {@code Charset.encode}.
+ */
+final class TUtf8 {
+
+  private static final byte REPLACEMENT = (byte)'?';
+
+  private TUtf8() {}
+
+  /**
+   * Number of bytes str takes once encoded.
+   */
+  static int encodedLength(String str) {
+    int len = str.length();
+    int bytes = len;
+    for (int i = 0; i < len; i++) {
+      char c = str.charAt(i);
+      if (c < 0x80) {
+        continue;
+      } else if (c < 0x800) {
+        bytes += 1;
+      } else if (Character.isHighSurrogate(c) && i + 1 < len
+          && Character.isLowSurrogate(str.charAt(i + 1))) {
+        // two chars, four bytes
+        bytes += 2;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        ;
+      } else {
+        bytes += 2;
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Encode str through scratch into trans. Strings longer than the scratch
+   * buffer are written in several pieces.
+   *
+   * @param scratch reusable buffer of at least 4 bytes
+   */
+  static void write(String str, byte[] scratch, TTransport trans) throws TException {
+    int len = str.length();
+    int limit = scratch.length - 4;
+    int pos = 0;
+    int i = 0;
+
+    while (i < len) {
+      // Pure ASCII runs
+      int end = Math.min(len, i + limit - pos + 1);
+      while (i < end) {
+        char c = str.charAt(i);
+        if (c >= 0x80) {
+          break;
+        }
+        scratch[pos++] = (byte)c;
+        i++;
+      }
+
+      if (i < len && pos <= limit) {
+        char c = str.charAt(i);
+        if (c < 0x80) {
+          scratch[pos++] = (byte)c;
+        } else if (c < 0x800) {
+          scratch[pos++] = (byte)(0xc0 | (c >> 6));
+          scratch[pos++] = (byte)(0x80 | (c & 0x3f));
+        } else if (Character.isHighSurrogate(c) && i + 1 < len
+            && Character.isLowSurrogate(str.charAt(i + 1))) {
+          int cp = Character.toCodePoint(c, str.charAt(i + 1));
+          scratch[pos++] = (byte)(0xf0 | (cp >> 18));
+          scratch[pos++] = (byte)(0x80 | ((cp >> 12) & 0x3f));
+          scratch[pos++] = (byte)(0x80 | ((cp >> 6) & 0x3f));
+          scratch[pos++] = (byte)(0x80 | (cp & 0x3f));
+          i++;
+        } else if (Character.isSurrogate(c)) {
+          scratch[pos++] = REPLACEMENT;
+        } else {
+          scratch[pos++] = (byte)(0xe0 | (c >> 12));
+          scratch[pos++] = (byte)(0x80 | ((c >> 6) & 0x3f));
+          scratch[pos++] = (byte)(0x80 | (c & 0x3f));
+        }
+        i++;
+      }
+
+      if (pos > limit) {
+        trans.write(scratch, 0, pos);
+        pos = 0;
+      }
+    }
+
+    if (pos > 0) {
+      trans.write(scratch, 0, pos);
+    }
+  }
+}
@@ -19,9 +19,11 @@
 
 package com.evernote.thrift.transport;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
 import java.net.URL;
 import java.net.HttpURLConnection;
@@ -32,6 +34,15 @@ import java.util.Map;
  * HTTP implementation of the TTransport interface. Used for working with a
  * Thrift web services implementation.
  *
+ * Connections are reused through the keep-alive cache of HttpURLConnection,
+ * which is shared by the whole process and keyed by host and port. A
+ * connection only goes back to that cache once its response has been read to
+ * the end and closed, so the client does that as soon as the protocol has
+ * read the whole message (see {@link #readEnd()}). The cache is configured
+ * with the standard <code>http.keepAlive</code> and
+ * <code>http.maxConnections</code> system properties, which default to on and
+ * five idle connections per host.
+ *
  */
 public class THttpClient extends TTransport {
 
@@ -48,6 +59,22 @@ public class THttpClient extends TTransport {
 
   private Map<String,String> customHeaders_ = null;
 
+  private static final int STREAM_BUFFER_SIZE = 8192;
+
+  private int chunkLength_ = 0;
+
+  private HttpURLConnection streamingConnection_ = null;
+
+  private OutputStream outputStream_ = null;
+
+  public static final int DEFAULT_READ_BUFFER_SIZE = 8192;
+
+  private byte[] readBuffer_ = new byte[DEFAULT_READ_BUFFER_SIZE];
+
+  private int readPos_ = 0;
+
+  private int readLimit_ = 0;
+
   public THttpClient(String url) throws TTransportException {
     try {
       url_ = new URL(url);
@@ -75,6 +102,43 @@ public class THttpClient extends TTransport {
     customHeaders_.put(key, value);
   }
 
+  /**
+   * Send request bodies with chunked transfer encoding. Protocol output is
+   * then written to the connection as it is produced instead of being
+   * collected in memory until {@link #flush()}, so a large request (e.g. a
+   * note with big resources) is never held as a whole on the heap.
+   *
+   * @param chunkLength the chunk size in bytes, or 0 to buffer the whole
+   *        request body as before
+   */
+  public void setChunkedStreamingMode(int chunkLength) {
+    if (chunkLength < 0) {
+      throw new IllegalArgumentException("chunkLength must not be negative");
+    }
+    chunkLength_ = chunkLength;
+  }
+
+  /**
+   * Size of the window responses are read through. While a response is being
+   * read, the window is exposed via {@link #getBuffer()} so protocols can
+   * decode primitives and strings in place instead of copying them out of the
+   * stream.
+   *
+   * @param size the window size in bytes, or 0 to read straight from the
+   *        connection
+   */
+  public void setReadBufferSize(int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("size must not be negative");
+    }
+    if (readPos_ < readLimit_) {
+      throw new IllegalStateException("Cannot resize a non-empty read buffer");
+    }
+    readBuffer_ = size > 0 ? new byte[size] : null;
+    readPos_ = 0;
+    readLimit_ = 0;
+  }
+
   public void open() {}
 
   public void close() {
@@ -86,6 +150,8 @@ public class THttpClient extends TTransport {
       }
       inputStream_ = null;
     }
+    readPos_ = 0;
+    readLimit_ = 0;
   }
 
   public boolean isOpen() {
@@ -96,6 +162,19 @@ public class THttpClient extends TTransport {
     if (inputStream_ == null) {
       throw new TTransportException("Response buffer is empty, no request.");
     }
+
+    int remaining = readLimit_ - readPos_;
+    if (remaining <= 0 && readBuffer_ != null && len < readBuffer_.length) {
+      remaining = fillReadBuffer();
+    }
+    if (remaining > 0) {
+      int n = Math.min(remaining, len);
+      System.arraycopy(readBuffer_, readPos_, buf, off, n);
+      readPos_ += n;
+      return n;
+    }
+
+    // Large reads bypass the window
     try {
       int ret = inputStream_.read(buf, off, len);
       if (ret == -1) {
@@ -107,49 +186,199 @@ public class THttpClient extends TTransport {
     }
   }
 
-  public void write(byte[] buf, int off, int len) {
-    requestBuffer_.write(buf, off, len);
+  private int fillReadBuffer() throws TTransportException {
+    try {
+      int ret = inputStream_.read(readBuffer_, 0, readBuffer_.length);
+      if (ret == -1) {
+        throw new TTransportException("No more data available.");
+      }
+      readPos_ = 0;
+      readLimit_ = ret;
+      return ret;
+    } catch (IOException iox) {
+      throw new TTransportException(iox);
+    }
+  }
+
+  @Override
+  public byte[] getBuffer() {
+    return readBuffer_;
   }
 
-  public void flush() throws TTransportException {
-    // Extract request and reset buffer
-    byte[] data = requestBuffer_.toByteArray();
-    requestBuffer_.reset();
+  @Override
+  public int getBufferPosition() {
+    return readPos_;
+  }
+
+  @Override
+  public int getBytesRemainingInBuffer() {
+    if (readBuffer_ == null) {
+      return -1;
+    }
+    return readLimit_ - readPos_;
+  }
+
+  @Override
+  public void consumeBuffer(int len) {
+    readPos_ += len;
+  }
 
+  @Override
+  public void skipBytes(int len) throws TTransportException {
+    if (inputStream_ == null) {
+      throw new TTransportException("Response buffer is empty, no request.");
+    }
+    int buffered = readLimit_ - readPos_;
+    if (buffered >= len) {
+      readPos_ += len;
+      return;
+    }
+    if (buffered > 0) {
+      readPos_ = readLimit_;
+      len -= buffered;
+    }
     try {
-      // Create connection object
-      HttpURLConnection connection = (HttpURLConnection)url_.openConnection();
+      while (len > 0) {
+        long skipped = inputStream_.skip(len);
+        if (skipped <= 0) {
+          super.skipBytes(len);
+          return;
+        }
+        len -= (int) skipped;
+      }
+    } catch (IOException iox) {
+      throw new TTransportException(iox);
+    }
+  }
 
-      // Timeouts, only if explicitly set
-      if (connectTimeout_ > 0) {
-        connection.setConnectTimeout(connectTimeout_);
+  public void write(byte[] buf, int off, int len) throws TTransportException {
+    if (chunkLength_ <= 0) {
+      requestBuffer_.write(buf, off, len);
+      return;
+    }
+    try {
+      if (outputStream_ == null) {
+        startStreamingRequest();
       }
-      if (readTimeout_ > 0) {
-        connection.setReadTimeout(readTimeout_);
+      outputStream_.write(buf, off, len);
+    } catch (IOException iox) {
+      abortStreamingRequest();
+      throw new TTransportException(iox);
+    }
+  }
+
+  /**
+   * Releases the response once the protocol has read the whole message, so
+   * the connection is back in the keep-alive cache while this client is idle.
+   */
+  @Override
+  public void readEnd() {
+    releaseResponse();
+  }
+
+  /**
+   * Read whatever is left of the response and close it, which lets
+   * HttpURLConnection put the underlying connection back into its cache.
+   */
+  private void releaseResponse() {
+    if (null == inputStream_) {
+      return;
+    }
+    try {
+      byte[] drain = readBuffer_ != null ? readBuffer_ : new byte[1024];
+      while (inputStream_.read(drain) >= 0) {
+        ;
       }
+    } catch (IOException ioe) {
+      ;
+    }
+    close();
+  }
 
-      // Make the request
-      connection.setRequestMethod("POST");
-      connection.setRequestProperty("Content-Type", "application/x-thrift");
-      connection.setRequestProperty("Accept", "application/x-thrift");
-      connection.setRequestProperty("User-Agent", "Java/THttpClient");
-      if (customHeaders_ != null) {
-        for (Map.Entry<String, String> header : customHeaders_.entrySet()) {
-          connection.setRequestProperty(header.getKey(), header.getValue());
-        }
+  private HttpURLConnection openConnection() throws IOException {
+    // Create connection object
+    HttpURLConnection connection = (HttpURLConnection)url_.openConnection();
+
+    // Timeouts, only if explicitly set
+    if (connectTimeout_ > 0) {
+      connection.setConnectTimeout(connectTimeout_);
+    }
+    if (readTimeout_ > 0) {
+      connection.setReadTimeout(readTimeout_);
+    }
+
+    // Make the request
+    connection.setRequestMethod("POST");
+    connection.setRequestProperty("Content-Type", "application/x-thrift");
+    connection.setRequestProperty("Accept", "application/x-thrift");
+    connection.setRequestProperty("User-Agent", "Java/THttpClient");
+    if (customHeaders_ != null) {
+      for (Map.Entry<String, String> header : customHeaders_.entrySet()) {
+        connection.setRequestProperty(header.getKey(), header.getValue());
       }
-      connection.setDoOutput(true);
-      connection.connect();
-      connection.getOutputStream().write(data);
+    }
+    connection.setDoOutput(true);
+    return connection;
+  }
+
+  private void startStreamingRequest() throws IOException {
+    releaseResponse();
+    streamingConnection_ = openConnection();
+    streamingConnection_.setChunkedStreamingMode(chunkLength_);
+    streamingConnection_.connect();
+    outputStream_ = new BufferedOutputStream(
+        streamingConnection_.getOutputStream(), STREAM_BUFFER_SIZE);
+  }
+
+  private void abortStreamingRequest() {
+    if (streamingConnection_ != null) {
+      streamingConnection_.disconnect();
+    }
+    streamingConnection_ = null;
+    outputStream_ = null;
+  }
+
+  private void readResponse(HttpURLConnection connection) throws IOException, TTransportException {
+    int responseCode = connection.getResponseCode();
+    if (responseCode != HttpURLConnection.HTTP_OK) {
+      throw new TTransportException("HTTP Response code: " + responseCode);
+    }
 
-      int responseCode = connection.getResponseCode();
-      if (responseCode != HttpURLConnection.HTTP_OK) {
-        throw new TTransportException("HTTP Response code: " + responseCode);
+    // Read the responses
+    inputStream_ = connection.getInputStream();
+    readPos_ = 0;
+    readLimit_ = 0;
+  }
+
+  public void flush() throws TTransportException {
+    if (chunkLength_ > 0) {
+      try {
+        if (outputStream_ == null) {
+          startStreamingRequest();
+        }
+        outputStream_.close();
+        readResponse(streamingConnection_);
+      } catch (IOException iox) {
+        throw new TTransportException(iox);
+      } finally {
+        streamingConnection_ = null;
+        outputStream_ = null;
       }
+      return;
+    }
 
-      // Read the responses
-      inputStream_ = connection.getInputStream();
+    // Extract request and reset buffer
+    byte[] data = requestBuffer_.toByteArray();
+    requestBuffer_.reset();
+
+    releaseResponse();
+
+    try {
+      HttpURLConnection connection = openConnection();
+      connection.connect();
+      connection.getOutputStream().write(data);
 
+      readResponse(connection);
     } catch (IOException iox) {
       throw new TTransportException(iox);
     }
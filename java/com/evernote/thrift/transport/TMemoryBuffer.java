@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.evernote.thrift.transport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * A transport backed by a byte array. Writes append to the array, growing it
+ * as needed; reads consume what has been written, or the bytes given to
+ * {@link #reset(byte[], int, int)}. Both go through the
+ * {@link #getBuffer()}/{@link #consumeBuffer(int)} fast paths of the
+ * protocols.
+ * <p>
+ * A buffer can be reused for any number of messages with {@link #reset()},
+ * which keeps the array so that steady-state serialization does not allocate.
+ * Not thread safe.
+ */
+public class TMemoryBuffer extends TTransport {
+
+  private static final int DEFAULT_SIZE = 1024;
+
+  private byte[] buf_;
+  private int readPos_;
+  private int writePos_;
+  // false while reading an array given to reset(byte[], int, int)
+  private boolean owned_;
+
+  public TMemoryBuffer() {
+    this(DEFAULT_SIZE);
+  }
+
+  /**
+   * @param size the initial capacity
+   */
+  public TMemoryBuffer(int size) {
+    buf_ = new byte[Math.max(16, size)];
+    owned_ = true;
+  }
+
+  /**
+   * Creates a buffer to read <code>bytes</code>, without copying them.
+   */
+  public TMemoryBuffer(byte[] bytes) {
+    reset(bytes, 0, bytes.length);
+  }
+
+  @Override
+  public boolean isOpen() {
+    return true;
+  }
+
+  @Override
+  public void open() {
+  }
+
+  @Override
+  public void close() {
+  }
+
+  /**
+   * Discards all content, keeping the array for later writes.
+   */
+  public void reset() {
+    if (!owned_) {
+      buf_ = new byte[DEFAULT_SIZE];
+      owned_ = true;
+    }
+    readPos_ = 0;
+    writePos_ = 0;
+  }
+
+  /**
+   * Discards all content and drops the array if it has grown beyond
+   * <code>maxRetained</code> bytes, so that one large message does not pin
+   * memory for the lifetime of the buffer.
+   */
+  public void reset(int maxRetained) {
+    reset();
+    if (buf_.length > maxRetained) {
+      buf_ = new byte[Math.min(DEFAULT_SIZE, Math.max(16, maxRetained))];
+    }
+  }
+
+  /**
+   * Makes <code>len</code> bytes of <code>bytes</code> starting at
+   * <code>off</code> the content to read. The array is not copied and must not
+   * change while it is read; a later write copies it first.
+   */
+  public void reset(byte[] bytes, int off, int len) {
+    if (off < 0 || len < 0 || off + len > bytes.length) {
+      throw new IndexOutOfBoundsException();
+    }
+    buf_ = bytes;
+    readPos_ = off;
+    writePos_ = off + len;
+    owned_ = false;
+  }
+
+  @Override
+  public int read(byte[] buf, int off, int len) {
+    int n = Math.min(len, writePos_ - readPos_);
+    if (n > 0) {
+      System.arraycopy(buf_, readPos_, buf, off, n);
+      readPos_ += n;
+    }
+    return n;
+  }
+
+  @Override
+  public void write(byte[] buf, int off, int len) {
+    ensureCapacity(len);
+    System.arraycopy(buf, off, buf_, writePos_, len);
+    writePos_ += len;
+  }
+
+  private void ensureCapacity(int len) {
+    int needed = writePos_ + len;
+    if (!owned_) {
+      // copy on write, never modify the caller's array
+      byte[] copy = new byte[Math.max(DEFAULT_SIZE, needed - readPos_)];
+      System.arraycopy(buf_, readPos_, copy, 0, writePos_ - readPos_);
+      writePos_ -= readPos_;
+      readPos_ = 0;
+      buf_ = copy;
+      owned_ = true;
+      needed = writePos_ + len;
+    }
+    if (needed > buf_.length) {
+      if (needed < 0) {
+        throw new OutOfMemoryError("TMemoryBuffer too large");
+      }
+      buf_ = Arrays.copyOf(buf_, Math.max(needed, buf_.length * 2));
+    }
+  }
+
+  @Override
+  public byte[] getBuffer() {
+    return buf_;
+  }
+
+  @Override
+  public int getBufferPosition() {
+    return readPos_;
+  }
+
+  @Override
+  public int getBytesRemainingInBuffer() {
+    return writePos_ - readPos_;
+  }
+
+  @Override
+  public void consumeBuffer(int len) {
+    readPos_ += len;
+  }
+
+  /**
+   * @return the number of bytes not read yet
+   */
+  public int length() {
+    return writePos_ - readPos_;
+  }
+
+  /**
+   * @return a copy of the bytes not read yet
+   */
+  public byte[] toByteArray() {
+    return Arrays.copyOfRange(buf_, readPos_, writePos_);
+  }
+
+  /**
+   * Writes the bytes not read yet to <code>out</code> without consuming them.
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(buf_, readPos_, writePos_ - readPos_);
+  }
+}
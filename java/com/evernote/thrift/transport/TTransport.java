@@ -151,4 +151,43 @@ public abstract class TTransport {
    * @param len
    */
   public void consumeBuffer(int len) {}
+
+  /**
+   * Called by the protocol once a whole message has been read, e.g. so that
+   * a transport can release the connection the message came in on.
+   */
+  public void readEnd() {}
+
+  /**
+   * Skips len bytes without handing them to the caller. The buffered part is
+   * consumed in place; the rest is read into a small scratch array.
+   *
+   * @param len Number of bytes to skip
+   * @throws TTransportException if the transport ends before len bytes
+   */
+  public void skipBytes(int len) throws TTransportException {
+    if (len < 0) {
+      throw new TTransportException("Negative skip length: " + len);
+    }
+    int buffered = getBytesRemainingInBuffer();
+    if (len == 0 || buffered >= len) {
+      consumeBuffer(len);
+      return;
+    }
+    if (buffered > 0) {
+      consumeBuffer(buffered);
+      len -= buffered;
+    }
+    byte[] scratch = new byte[Math.min(len, SKIP_BUFFER_SIZE)];
+    while (len > 0) {
+      int ret = read(scratch, 0, Math.min(len, scratch.length));
+      if (ret <= 0) {
+        throw new TTransportException(TTransportException.END_OF_FILE,
+            "Cannot skip. Remote side has closed with " + len + " bytes left to skip.");
+      }
+      len -= ret;
+    }
+  }
+
+  private static final int SKIP_BUFFER_SIZE = 8192;
 }
@@ -0,0 +1,200 @@
+package xywang.webarchiver;
+
+import com.evernote.edam.type.Note;
+import com.evernote.thrift.TException;
+import com.evernote.thrift.protocol.TBinaryProtocol;
+import com.evernote.thrift.transport.TIOStreamTransport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A directory of notes waiting to be uploaded again.
+ *
+ * Each job is one file holding its retry state followed by the complete note
+ * written with the Thrift binary protocol, so a retry needs neither the article
+ * nor its images. Files are replaced atomically and survive restarts.
+ *
+ * A job whose upload failed in a way that may have created the note anyway is
+ * marked in doubt, and its retries look for the note before sending it again.
+ *
+ * The delay between attempts doubles from {@link Config#RETRY_BASE_DELAY} up to
+ * {@link Config#RETRY_MAX_DELAY}, unless the service asked for a longer wait
+ * with a rate limit duration. Jobs that keep failing, or fail for a reason a
+ * retry cannot fix, are renamed to {@code .failed} and left for inspection.
+ */
+class ArchiveJournal {
+
+    private static final int VERSION = 2;
+    private static final int FLAG_IN_DOUBT = 1;
+    private static final String JOB_SUFFIX = ".job";
+    private static final String FAILED_SUFFIX = ".failed";
+
+    private final File dir;
+    /* jobs being retried right now */
+    private final Set<String> claimed = new HashSet<>();
+    private int seq;
+
+    ArchiveJournal(File dir) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs())
+            throw new IOException("Cannot create " + dir);
+        this.dir = dir;
+    }
+
+    /**
+     * Queues a note whose first upload attempt has failed.
+     *
+     * @param retryAfter the delay the service asked for in ms, or -1 to use the backoff
+     * @param inDoubt whether the failed attempt may have created the note anyway
+     */
+    void add(Note n, long retryAfter, boolean inDoubt) throws IOException {
+        String name;
+        synchronized (this) {
+            name = System.currentTimeMillis() + "-" + (seq++) + JOB_SUFFIX;
+        }
+        write(new File(dir, name), 1, inDoubt, System.currentTimeMillis() + delay(1, retryAfter), n);
+    }
+
+    /**
+     * @return the number of queued jobs
+     */
+    int size() {
+        return listJobs().length;
+    }
+
+    /**
+     * Uploads the jobs that are due, oldest first. Stops early when the service
+     * reports a rate limit, since the remaining jobs would fail the same way.
+     *
+     * @return the number of jobs still queued
+     */
+    int retryDue(ArchivePipeline pipeline, ProgressListener listener) {
+        for (String name : listJobs()) {
+            synchronized (this) {
+                if (!claimed.add(name))
+                    continue;
+            }
+            try {
+                if (!retry(new File(dir, name), pipeline, listener))
+                    break;
+            } finally {
+                synchronized (this) {
+                    claimed.remove(name);
+                }
+            }
+        }
+        return size();
+    }
+
+    /* returns false if retrying should stop for now */
+    private boolean retry(File job, ArchivePipeline pipeline, ProgressListener listener) {
+        int attempts;
+        boolean inDoubt;
+        long nextAttempt;
+        Note n = new Note();
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(job)));
+            try {
+                int version = in.readInt();
+                if (version == VERSION) {
+                    attempts = in.readInt();
+                    inDoubt = (in.readInt() & FLAG_IN_DOUBT) != 0;
+                } else if (version == 1) {
+                    /* written before failures were told apart, so look before sending */
+                    attempts = in.readInt();
+                    inDoubt = true;
+                } else {
+                    throw new IOException("Unknown journal version in " + job);
+                }
+                nextAttempt = in.readLong();
+                if (nextAttempt > System.currentTimeMillis())
+                    return true;
+                /* streamed, a note with large images is never held twice */
+                n.read(new TBinaryProtocol(new TIOStreamTransport(in)));
+            } finally {
+                in.close();
+            }
+        } catch (IOException | TException e) {
+            /* a job that vanished was done by someone else, anything else is unreadable */
+            e.printStackTrace();
+            if (job.exists())
+                job.renameTo(new File(dir, job.getName() + FAILED_SUFFIX));
+            return true;
+        }
+
+        listener.onProgress("Retrying \"" + n.getTitle() + "\" (attempt " + (attempts + 1) + ").");
+        try {
+            listener.onProgress(pipeline.upload(n, listener, inDoubt));
+            job.delete();
+            return true;
+        } catch (ArchivePipeline.ArchiveException e) {
+            attempts++;
+            if (!e.isTransient() || attempts >= Config.RETRY_MAX_ATTEMPTS) {
+                job.renameTo(new File(dir, job.getName() + FAILED_SUFFIX));
+                listener.onProgress(e.getMessage() + "\nGave up on \"" + n.getTitle() + "\".");
+                return true;
+            }
+
+            long retryAfter = e.getRetryAfter();
+            try {
+                write(job, attempts, inDoubt || e.isInDoubt(),
+                        System.currentTimeMillis() + delay(attempts, retryAfter), n);
+            } catch (IOException ioe) {
+                ioe.printStackTrace();
+            }
+            listener.onProgress(e.getMessage() + "\n\"" + n.getTitle() + "\" will be retried later.");
+            return retryAfter < 0;
+        }
+    }
+
+    private static long delay(int attempts, long retryAfter) {
+        long backoff = Config.RETRY_BASE_DELAY << Math.min(attempts - 1, 30);
+        if (backoff <= 0 || backoff > Config.RETRY_MAX_DELAY)
+            backoff = Config.RETRY_MAX_DELAY;
+        return Math.max(backoff, retryAfter);
+    }
+
+    private void write(File job, int attempts, boolean inDoubt, long nextAttempt, Note n) throws IOException {
+        File tmp = new File(dir, job.getName() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+        try {
+            out.writeInt(VERSION);
+            out.writeInt(attempts);
+            out.writeInt(inDoubt ? FLAG_IN_DOUBT : 0);
+            out.writeLong(nextAttempt);
+            n.write(new TBinaryProtocol(new TIOStreamTransport(out)));
+        } catch (TException e) {
+            throw new IOException("Cannot serialize the note", e);
+        } finally {
+            out.close();
+        }
+        if (!tmp.renameTo(job)) {
+            job.delete();
+            if (!tmp.renameTo(job))
+                throw new IOException("Cannot write " + job);
+        }
+    }
+
+    private String[] listJobs() {
+        String[] names = dir.list(new FilenameFilter() {
+            @Override
+            public boolean accept(File d, String name) {
+                return name.endsWith(JOB_SUFFIX);
+            }
+        });
+        if (names == null)
+            return new String[0];
+        Arrays.sort(names);
+        return names;
+    }
+}
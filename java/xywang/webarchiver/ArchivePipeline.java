@@ -0,0 +1,667 @@
+package xywang.webarchiver;
+
+import com.evernote.auth.EvernoteAuth;
+import com.evernote.auth.EvernoteService;
+import com.evernote.clients.AuthCache;
+import com.evernote.clients.ClientFactory;
+import com.evernote.clients.NoteStoreClient;
+import com.evernote.clients.NotebookTagCache;
+import com.evernote.clients.RequestScheduler;
+import com.evernote.clients.ResourceCache;
+import com.evernote.edam.error.EDAMErrorCode;
+import com.evernote.edam.error.EDAMNotFoundException;
+import com.evernote.edam.error.EDAMSystemException;
+import com.evernote.edam.error.EDAMUserException;
+import com.evernote.edam.notestore.NoteFilter;
+import com.evernote.edam.notestore.NoteMetadata;
+import com.evernote.edam.notestore.NotesMetadataList;
+import com.evernote.edam.notestore.NotesMetadataResultSpec;
+import com.evernote.edam.type.Note;
+import com.evernote.edam.type.NoteAttributes;
+import com.evernote.edam.type.NoteSortOrder;
+import com.evernote.edam.type.Notebook;
+import com.evernote.edam.type.Resource;
+import com.evernote.thrift.TException;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.safety.Cleaner;
+import org.jsoup.safety.Whitelist;
+import org.jsoup.select.Elements;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * The fetch -> filter -> clean -> upload steps of archiving one article, free of
+ * any Android dependency so that both the activity and the batch mode can use it.
+ *
+ * Building notes is thread safe and may run for several articles at once; their
+ * images go through one shared {@link ImageFetcher}, so its overall and per-host
+ * limits hold across articles.
+ * Uploads share a pool of note store clients and may run concurrently too.
+ */
+class ArchivePipeline {
+
+    static class ArchiveException extends Exception {
+        private final boolean inDoubt;
+
+        ArchiveException(String msg) {
+            this(msg, null, false);
+        }
+
+        ArchiveException(String msg, Throwable cause) {
+            this(msg, cause, false);
+        }
+
+        ArchiveException(String msg, Throwable cause, boolean inDoubt) {
+            super(msg, cause);
+            this.inDoubt = inDoubt;
+        }
+
+        /* true if uploading the same note again later may succeed */
+        boolean isTransient() {
+            return getCause() instanceof TException
+                    || getCause() instanceof EDAMSystemException;
+        }
+
+        /*
+         * true if the note may have been created although the call failed, e.g. when the
+         * connection broke before the response came back; the note must not be sent again
+         * before looking for it
+         */
+        boolean isInDoubt() {
+            return inDoubt && !isRateLimit();
+        }
+
+        /* true if the service turned the call away because of its rate limit */
+        boolean isRateLimit() {
+            return getCause() instanceof EDAMSystemException
+                    && ((EDAMSystemException) getCause()).getErrorCode() == EDAMErrorCode.RATE_LIMIT_REACHED;
+        }
+
+        /* how long the service asked us to wait before the next call in ms, or -1 */
+        long getRetryAfter() {
+            if (getCause() instanceof EDAMSystemException) {
+                EDAMSystemException e = (EDAMSystemException) getCause();
+                if (e.getErrorCode() == EDAMErrorCode.RATE_LIMIT_REACHED && e.isSetRateLimitDuration())
+                    return e.getRateLimitDuration() * 1000L;
+            }
+            return -1;
+        }
+    }
+
+    /* the upload failed, but the note has been saved and will be uploaded later */
+    static class QueuedException extends ArchiveException {
+        QueuedException(String msg, ArchiveException e) {
+            super(msg, e.getCause(), e.isInDoubt());
+        }
+    }
+
+    /* notes from the same page looked at when checking for a duplicate */
+    private static final int EXISTING_NOTE_CANDIDATES = 20;
+
+    private final ClientFactory factory;
+    private final HttpCache cache;
+    private final ImageFetcher fetcher;
+    private ArchiveJournal journal;
+    private RequestScheduler scheduler;
+    private NoteStoreClient client;
+    private NotebookTagCache notebooks;
+
+    /**
+     * @param cache the cache pages and images are fetched through, or null to always download
+     */
+    ArchivePipeline(ClientFactory factory, HttpCache cache) {
+        this.factory = factory;
+        this.cache = cache;
+        this.fetcher = new ImageFetcher(Config.IMAGE_FETCH_CONCURRENCY, Config.IMAGE_FETCH_PER_HOST, cache);
+    }
+
+    /**
+     * Creates a pipeline for the account in {@link Config}.
+     *
+     * @param cacheDir the directory for the page and image caches, or null to run without them
+     * @param dataDir the directory for the journal of failed uploads, or null to give up on them
+     */
+    static ArchivePipeline create(File cacheDir, File dataDir) {
+        EvernoteAuth auth = new EvernoteAuth(EvernoteService.PRODUCTION, Config.TOKEN);
+        ClientFactory factory = new ClientFactory(auth);
+        factory.setAuthCache(AuthCache.getDefault());
+        RequestScheduler scheduler = new RequestScheduler(Config.EVERNOTE_CALLS_PER_SECOND,
+                Config.EVERNOTE_CALL_BURST);
+        scheduler.setMaxRateLimitWait(Config.RATE_LIMIT_MAX_WAIT);
+        factory.setRequestScheduler(scheduler);
+
+        HttpCache cache = null;
+        if (cacheDir != null) {
+            try {
+                ResourceCache bodies = new ResourceCache(new File(cacheDir, "resources"),
+                        Config.RESOURCE_CACHE_MAX_BYTES);
+                cache = new HttpCache(new File(cacheDir, "http"), bodies);
+            } catch (IOException e) {
+                /* run without the cache */
+                e.printStackTrace();
+            }
+        }
+        ArchivePipeline pipeline = new ArchivePipeline(factory, cache);
+        pipeline.scheduler = scheduler;
+        if (dataDir != null) {
+            try {
+                pipeline.setJournal(new ArchiveJournal(new File(dataDir, "journal")));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return pipeline;
+    }
+
+    /**
+     * Stops the image downloads and writes the caches to disk. The pipeline
+     * cannot archive anything afterwards.
+     */
+    void shutdown() {
+        fetcher.shutdown();
+        flushCache();
+    }
+
+    /**
+     * Writes the page and image caches to disk.
+     */
+    void flushCache() {
+        if (cache == null)
+            return;
+        try {
+            cache.flush();
+        } catch (IOException e) {
+            /* the cache only loses what was added since the last write */
+            e.printStackTrace();
+        }
+    }
+
+    /* the scheduler pacing the Evernote calls, or null */
+    RequestScheduler getRequestScheduler() {
+        return scheduler;
+    }
+
+    private static Cleaner cl = null;
+    private static synchronized Cleaner getCleaner() {
+        if (cl != null)
+            return cl;
+        else {
+            Whitelist wl = new Whitelist();
+
+            /* enml2 */
+            wl.addAttributes("en-note", "bgcolor", "text", "xmlns");
+            wl.addAttributes("en-crypt", "hint", "cipher", "length");
+            wl.addAttributes("en-todo", "checked");
+            wl.addAttributes("en-media", "type", "hash", "height", "width", "usemap", "align", "border", "hspace",
+                    "vspace", "longdesc", "alt");
+            wl.addAttributes("a","charset","type","name","href","hreflang","rel","rev","shape","coords","target");
+            wl.addTags("abbr");
+            wl.addTags("acronym");
+            wl.addTags("address");
+            wl.addAttributes("area","shape","coords","href","nohref","alt","target");
+            wl.addTags("b");
+            wl.addAttributes("bdo","lang","xml","dir");
+            wl.addTags("big");
+            wl.addAttributes("blockquote","cite");
+            wl.addAttributes("br","clear");
+            wl.addAttributes("caption","align");
+            wl.addTags("center");
+            wl.addTags("cite");
+            wl.addTags("code");
+            wl.addAttributes("col","span","width");
+            wl.addAttributes("colgroup","span","width");
+            wl.addTags("dd");
+            wl.addAttributes("del","cite","datetime");
+            wl.addTags("dfn");
+            wl.addTags("div");
+            wl.addAttributes("dl","compact");
+            wl.addTags("dt");
+            wl.addTags("em");
+            wl.addAttributes("font","size","color","face");
+            wl.addTags("h1");
+            wl.addTags("h2");
+            wl.addTags("h3");
+            wl.addTags("h4");
+            wl.addTags("h5");
+            wl.addTags("h6");
+            wl.addAttributes("hr","align","noshade","size","width");
+            wl.addTags("i");
+            wl.addAttributes("img","src","alt","name","longdesc","height","width","usemap","ismap","align","border","hspace","vspace");
+            wl.addAttributes("ins","cite","datetime");
+            wl.addTags("kbd");
+            wl.addAttributes("li","type","value");
+            wl.addAttributes("map","title","name");
+            wl.addAttributes("ol","type","compact","start");
+            wl.addTags("p");
+            wl.addAttributes("pre","width","xml");
+            wl.addAttributes("q","cite");
+            wl.addTags("s");
+            wl.addTags("samp");
+            wl.addTags("small");
+            wl.addTags("span");
+            wl.addTags("strike");
+            wl.addTags("strong");
+            wl.addTags("sub");
+            wl.addTags("sup");
+            wl.addAttributes("table","summary","width","border","cellspacing","cellpadding","align","bgcolor");
+            wl.addTags("tbody");
+            wl.addAttributes("td","abbr","rowspan","colspan","nowrap","bgcolor","width","height");
+            wl.addTags("tfoot");
+            wl.addAttributes("th","abbr","rowspan","colspan","nowrap","bgcolor","width","height");
+            wl.addTags("thead");
+            wl.addAttributes("tr","bgcolor");
+            wl.addTags("tt");
+            wl.addTags("u");
+            wl.addAttributes("ul","type","compact");
+            wl.addTags("var");
+
+            cl = new Cleaner(wl);
+            return cl;
+        }
+    }
+
+    /**
+     * Keeps notes whose upload failed for a transient reason, so that
+     * {@link #retryPending(ProgressListener)} can upload them later without
+     * fetching the article again.
+     */
+    void setJournal(ArchiveJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Archives {@code url} into Evernote.
+     *
+     * @return the message to show on success
+     * @throws QueuedException when the upload failed but the note has been queued for a retry
+     * @throws ArchiveException with the message to show on failure
+     */
+    String archive(String url, ProgressListener listener) throws ArchiveException {
+        Note n = buildNote(url, listener);
+        try {
+            return upload(n, listener);
+        } catch (ArchiveException e) {
+            if (journal == null || !e.isTransient())
+                throw e;
+            try {
+                journal.add(n, e.getRetryAfter(), e.isInDoubt());
+            } catch (IOException ioe) {
+                ioe.printStackTrace();
+                throw e;
+            }
+            throw new QueuedException(e.getMessage() + "\nThe note has been saved and will be uploaded later.", e);
+        }
+    }
+
+    /**
+     * Uploads the queued notes whose retry time has come.
+     *
+     * @return the number of notes still queued
+     */
+    int retryPending(ProgressListener listener) {
+        if (journal == null)
+            return 0;
+        return journal.retryDue(this, listener);
+    }
+
+    /**
+     * Fetches the article and its images and turns them into a note ready to be
+     * uploaded.
+     */
+    Note buildNote(String url, ProgressListener listener) throws ArchiveException {
+        URLFilter filter = findFilter(url);
+        if (filter == null) {
+            listener.onProgress("[Error] Invalid url: " + url);
+            throw new ArchiveException("[Error] Invalid url: " + url);
+        }
+        url = filter.getURL(url);
+
+        listener.onProgress("Found " + filter.getType() + " link.");
+
+        listener.onProgress("Connecting to the Web host...");
+        Document doc = null;
+        try {
+            if (cache != null) {
+                HttpCache.Response res = cache.fetch(url, Config.ARTICLE_DEFAULT_MAX_AGE);
+                if (res.isCached())
+                    listener.onProgress("The page has not changed since the last fetch.");
+                doc = Jsoup.parse(new ByteArrayInputStream(res.getBody()), res.getCharset(), res.getUrl());
+            } else {
+                doc = Jsoup.connect(url).get();
+            }
+        } catch (IllegalArgumentException e) {
+            e.printStackTrace();
+            throw new ArchiveException("[Error] Malformed URL: " + url);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new ArchiveException("[Error] Failed to fetch " + url);
+        }
+
+        String title;
+        String bodyInner;
+        try {
+            title = filter.getTitle(doc);
+            bodyInner = filter.getBodyInner(doc);
+        } catch (URLFilter.InvalidDocumentException e) {
+            e.printStackTrace();
+            throw new ArchiveException("[Error] " + e.getMessage());
+        }
+
+        listener.onProgress("Title: " + title);
+
+        List<Resource> resources = new ArrayList<>();
+        /* img -> en-media */
+        Document bodyDoc = Jsoup.parseBodyFragment(bodyInner);
+        Elements es = bodyDoc.getElementsByTag("img");
+        List<Element> imgs = new ArrayList<>();
+        List<Element> medias = new ArrayList<>();
+        List<Future<Resource>> downloads = new ArrayList<>();
+        int idx = 0;
+        for (Element e : es) {
+            idx++;
+
+            Element enew = new Element("en-media");
+
+            if (e.hasAttr("height"))
+                enew.attr("height", e.attr("height"));
+            if (e.hasAttr("width"))
+                enew.attr("width", e.attr("width"));
+            if (e.hasAttr("usemap"))
+                enew.attr("usemap", e.attr("usemap"));
+            if (e.hasAttr("align"))
+                enew.attr("align", e.attr("align"));
+            if (e.hasAttr("border"))
+                enew.attr("border", e.attr("border"));
+            if (e.hasAttr("hspace"))
+                enew.attr("hspace", e.attr("hspace"));
+            if (e.hasAttr("vspace"))
+                enew.attr("vspace", e.attr("vspace"));
+
+            String imgURL = null;
+
+            if (e.hasAttr("data-actualsrc")) {
+                enew.attr("src", e.attr("data-actualsrc"));
+                imgURL = e.attr("data-actualsrc");
+            } else if (e.hasAttr("data-src")) {
+                enew.attr("src", e.attr("data-src"));
+                imgURL = e.attr("data-src");
+            } else if (e.hasAttr("data-original")) {
+                enew.attr("src", e.attr("data-original"));
+                imgURL = e.attr("data-original");
+            } else if (e.hasAttr("src")) {
+                enew.attr("src", e.attr("src"));
+                imgURL = e.attr("src");
+            } else {
+                listener.onProgress("[Warning] Cannot decide image source: " + e.html());
+                continue;
+            }
+
+            /* handle relative path */
+            if (imgURL.startsWith("/")) {
+                String hostname = url.substring(8);
+                int slashIdx = hostname.indexOf("/");
+                hostname = hostname.substring(0, slashIdx);
+                imgURL = "https://" + hostname + imgURL;
+                enew.attr("src", imgURL);
+            } else if (!imgURL.startsWith("http")) {
+                String hostname = url.substring(8);
+                int slashIdx = hostname.indexOf("/");
+                hostname = hostname.substring(0, slashIdx);
+                imgURL = "https://" + hostname + "/" + imgURL;
+                enew.attr("src", imgURL);
+            }
+
+            imgs.add(e);
+            medias.add(enew);
+            downloads.add(fetcher.submit(imgURL, idx, es.size(), listener));
+        }
+
+        try {
+            /* collect in document order */
+            for (int i = 0; i < downloads.size(); i++) {
+                Element e = imgs.get(i);
+                Element enew = medias.get(i);
+
+                Resource r;
+                try {
+                    r = downloads.get(i).get();
+                } catch (ExecutionException e1) {
+                    if (e1.getCause() instanceof ImageFetcher.FetchException)
+                        throw new ArchiveException("[Error] " + e1.getCause().getMessage() + "\nThe element is " + e);
+                    e1.printStackTrace();
+                    throw new ArchiveException("[Error] Failed to download image.\nThe element is " + e);
+                } catch (InterruptedException e1) {
+                    throw new ArchiveException("[Error] Interrupted while downloading images.");
+                }
+
+                resources.add(r);
+
+                String hash = ResourceCache.toHex(r.getData().getBodyHash());
+
+                enew.attr("type", r.getMime());
+                enew.attr("hash", hash);
+                e.replaceWith(enew);
+            }
+        } finally {
+            /* only stops the downloads of this article, after a failure */
+            for (Future<Resource> download : downloads)
+                download.cancel(true);
+        }
+
+        Document cleandoc = getCleaner().clean(bodyDoc);
+
+        /* remove invalid href value */
+        Elements aes = cleandoc.getElementsByTag("a");
+        for (Element e : aes) {
+            if (!e.hasAttr("href"))
+                continue;
+
+            String v = e.attr("href");
+            if (!v.startsWith("https://"))
+                e.attr("href", url);
+        }
+
+        Document.OutputSettings os = cleandoc.outputSettings();
+        /* pretty-printing self-closing tags */
+        os.syntax(Document.OutputSettings.Syntax.xml);
+
+
+
+        String noteBody = cleandoc.getElementsByTag("body").html();
+
+        Note n = new Note();
+        n.setTitle(title);
+        for (Resource r : resources) {
+            n.addToResources(r);
+        }
+        if (n.getAttributes() == null) {
+            n.setAttributes(new NoteAttributes());
+        }
+        n.getAttributes().setSourceURL(url);
+        n.getAttributes().setSource("xywang-app");
+
+        String content = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<!DOCTYPE en-note SYSTEM \"http://xml.evernote.com/pub/enml2.dtd\">"
+                + "<en-note>"
+                + noteBody
+                + "</en-note>";
+        n.setContent(content);
+
+        return n;
+    }
+
+    /**
+     * Creates {@code n} in the configured notebook.
+     *
+     * @return the message to show on success
+     */
+    String upload(Note n, ProgressListener listener) throws ArchiveException {
+        return upload(n, listener, false);
+    }
+
+    /**
+     * Creates {@code n} in the configured notebook, unless {@code checkExisting} is set and
+     * an earlier attempt that failed in doubt has created it after all.
+     *
+     * @return the message to show on success
+     */
+    String upload(Note n, ProgressListener listener, boolean checkExisting) throws ArchiveException {
+        long totalSize = n.getContent().length();
+        if (n.isSetResources()) {
+            for (Resource r : n.getResources()) {
+                totalSize += r.getData().getSize();
+            }
+        }
+
+        listener.onProgress("Connecting to Evernote...");
+        /* upload note */
+        Notebook notebook = null;
+        NoteStoreClient client;
+        try {
+            client = client();
+
+            if (!"Fill the notebook name here".equals(Config.NOTEBOOK_NAME))
+                notebook = notebooks.getNotebookByName(Config.NOTEBOOK_NAME);
+        } catch (EDAMUserException e) {
+            e.printStackTrace();
+            throw new ArchiveException("[Error] Evernote user exception: " + e.getMessage() + ".", e);
+        } catch (EDAMSystemException e) {
+            e.printStackTrace();
+            throw new ArchiveException("[Error] Evernote system exception: " + e.getMessage() + ".", e);
+        } catch (TException e) {
+            e.printStackTrace();
+            throw new ArchiveException("[Error Evernote TException: " + e.getMessage() + ".", e);
+        }
+
+        if (notebook != null)
+            n.setNotebookGuid(notebook.getGuid());
+
+        String sizeString = null;
+        if (totalSize < 1024) {
+            sizeString = totalSize + " bytes";
+        } else if (totalSize < 1024 * 1024) {
+            sizeString = (totalSize / 1024) + "KB";
+        } else if (totalSize < 1024 * 1024 * 1024) {
+            sizeString = (totalSize / 1024 / 1024) + "MB";
+        } else {
+            sizeString = " larger than 1GB";
+        }
+
+        if (checkExisting) {
+            listener.onProgress("Looking for a note created by an earlier attempt...");
+            try {
+                if (findExisting(client, n) != null)
+                    return "\"" + n.getTitle() + "\" had been uploaded already.";
+            } catch (TException e) {
+                throw new ArchiveException("[Error] Evernote TException: " + e.getMessage() + ".", e, true);
+            } catch (EDAMUserException e) {
+                throw new ArchiveException("[Error] Evernote user exception: " + e.getMessage() + ".", e, true);
+            } catch (EDAMSystemException e) {
+                throw new ArchiveException("[Error] Evernote system exception: " + e.getMessage() + ".", e, true);
+            } catch (EDAMNotFoundException e) {
+                notebooks.invalidate();
+                throw new ArchiveException("[Error] Evernote not found exception: " + e.getMessage() + ".", e, true);
+            }
+        }
+
+        listener.onProgress("The estimated size is " + sizeString + ". Creating the note...");
+        try {
+            client.createNote(n);
+        } catch (TException e) {
+            /* the request may have been processed before the connection failed */
+            e.printStackTrace();
+            throw new ArchiveException("[Error] Evernote TException: " + e.getMessage() + ".", e, true);
+        } catch (EDAMUserException e) {
+            e.printStackTrace();
+            throw new ArchiveException("[Error] Evernote user exception: " + e.getMessage() + ".", e);
+        } catch (EDAMSystemException e) {
+            e.printStackTrace();
+            throw new ArchiveException("[Error] Evernote system exception: " + e.getMessage() + ".", e, true);
+        } catch (EDAMNotFoundException e) {
+            /* most likely the notebook is gone, look it up again next time */
+            notebooks.invalidate();
+            e.printStackTrace();
+            throw new ArchiveException("[Error] Evernote not found exception: " + e.getMessage() + ".", e);
+        }
+
+        return "Successfully upload \"" + n.getTitle() + "\".";
+    }
+
+    /* a note with the same source URL and title as {@code n}, or null */
+    private static NoteMetadata findExisting(NoteStoreClient client, Note n) throws EDAMUserException,
+            EDAMSystemException, EDAMNotFoundException, TException {
+        String url = n.getAttributes().getSourceURL();
+        NoteFilter filter = new NoteFilter();
+        filter.setWords("sourceUrl:\"" + url.replace("\"", "") + "\"");
+        if (n.isSetNotebookGuid())
+            filter.setNotebookGuid(n.getNotebookGuid());
+        filter.setOrder(NoteSortOrder.CREATED.getValue());
+        NotesMetadataResultSpec spec = new NotesMetadataResultSpec();
+        spec.setIncludeTitle(true);
+        spec.setIncludeAttributes(true);
+        NotesMetadataList found = client.findNotesMetadata(filter, 0, EXISTING_NOTE_CANDIDATES, spec);
+        if (found.isSetNotes()) {
+            for (NoteMetadata m : found.getNotes()) {
+                if (m.isSetAttributes() && url.equals(m.getAttributes().getSourceURL())
+                        && n.getTitle().equals(m.getTitle()))
+                    return m;
+            }
+        }
+        return null;
+    }
+
+    /* the shared note store client, created on first use */
+    private synchronized NoteStoreClient client()
+            throws EDAMUserException, EDAMSystemException, TException {
+        if (client == null) {
+            client = factory.createPooledNoteStoreClient(Config.EVERNOTE_CLIENT_POOL_SIZE);
+            notebooks = new NotebookTagCache(client);
+        }
+        return client;
+    }
+
+    /* the filter that handles url, or null */
+    private static URLFilter findFilter(String url) {
+        List<URLFilter> filters = new ArrayList<>();
+        filters.add(new WeChatFilter());
+        filters.add(new ThePaperFilter());
+        filters.add(new ThePaperClientFilter());
+        filters.add(new ZhihuFilter());
+        filters.add(new ZhihuClientFilter());
+        filters.add(new LTNFilter());
+        filters.add(new PTTFilter());
+        filters.add(new HeritageFilter());
+        filters.add(new DefaultFilter());
+
+        for (URLFilter f : filters) {
+            if (f.canParse(url))
+                return f;
+        }
+        return null;
+    }
+
+    /* the host the article at url is fetched from */
+    static String articleHost(String url) {
+        URLFilter filter = findFilter(url);
+        return hostOf(filter == null ? url : filter.getURL(url));
+    }
+
+    static String hostOf(String url) {
+        try {
+            return new URL(url).getHost();
+        } catch (MalformedURLException e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package xywang.webarchiver;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Archives a list of urls without any UI.
+ *
+ * At most {@code workers} articles are processed at once and at most
+ * {@code queueSize} more wait for a worker; the caller blocks while the queue is
+ * full. With a {@link HostRateLimiter}, each article waits for the next free
+ * slot of its host before it takes a worker or queue slot, so articles from one
+ * host are spaced out without holding up articles from other hosts. After every article one line with the overall progress
+ * is reported.
+ *
+ * Usage: {@code BatchArchiver [url-file] [workers]}, reading one url per line
+ * from the file or from stdin.
+ */
+class BatchArchiver {
+
+    static class Summary {
+        final int total;
+        final int succeeded;
+        final int queued;
+        final List<String> failed;
+
+        Summary(int total, int succeeded, int queued, List<String> failed) {
+            this.total = total;
+            this.succeeded = succeeded;
+            this.queued = queued;
+            this.failed = failed;
+        }
+    }
+
+    /* a url waiting for the next free slot of its host */
+    private static class Delayed implements Comparable<Delayed> {
+        final String url;
+        final long due;
+
+        Delayed(String url, long due) {
+            this.url = url;
+            this.due = due;
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(due, o.due);
+        }
+    }
+
+    private final ArchivePipeline pipeline;
+    private final int workers;
+    private final int queueSize;
+    private HostRateLimiter rateLimiter;
+
+    BatchArchiver(ArchivePipeline pipeline, int workers, int queueSize) {
+        this.pipeline = pipeline;
+        this.workers = Math.max(1, workers);
+        this.queueSize = Math.max(0, queueSize);
+    }
+
+    /**
+     * Spaces out article fetches towards the same host.
+     */
+    void setHostRateLimiter(HostRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Archives all {@code urls} and waits for them to finish.
+     *
+     * @param listener receives one progress line per finished article
+     */
+    Summary run(List<String> urls, final ProgressListener listener) throws InterruptedException {
+        final int total = urls.size();
+        final AtomicInteger done = new AtomicInteger();
+        final AtomicInteger succeeded = new AtomicInteger();
+        final AtomicInteger queued = new AtomicInteger();
+        final List<String> failed = Collections.synchronizedList(new ArrayList<String>());
+        final Semaphore slots = new Semaphore(workers + queueSize);
+        final ProgressListener quiet = new ProgressListener() {
+            @Override
+            public void onProgress(String msg) {
+                /* per article messages are too noisy for thousands of urls */
+            }
+        };
+
+        /*
+         * urls whose host is not free yet wait here, without a slot, so that they do
+         * not keep urls of other hosts from running
+         */
+        PriorityQueue<Delayed> delayed = new PriorityQueue<>();
+        Iterator<String> next = urls.iterator();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            while (next.hasNext() || !delayed.isEmpty()) {
+                slots.acquire();
+                String due = null;
+                while (due == null) {
+                    long now = System.currentTimeMillis();
+                    if (!delayed.isEmpty() && delayed.peek().due <= now) {
+                        due = delayed.poll().url;
+                    } else if (next.hasNext()) {
+                        String url = next.next();
+                        long delay = rateLimiter == null ? 0 : rateLimiter.reserve(ArchivePipeline.articleHost(url));
+                        if (delay > 0)
+                            delayed.add(new Delayed(url, now + delay));
+                        else
+                            due = url;
+                    } else {
+                        Thread.sleep(delayed.peek().due - now);
+                    }
+                }
+
+                final String url = due;
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        String msg;
+                        AtomicInteger count = null;
+                        try {
+                            msg = pipeline.archive(url, quiet);
+                            count = succeeded;
+                        } catch (ArchivePipeline.QueuedException e) {
+                            msg = e.getMessage();
+                            count = queued;
+                        } catch (ArchivePipeline.ArchiveException e) {
+                            msg = e.getMessage();
+                        } catch (RuntimeException e) {
+                            e.printStackTrace();
+                            msg = "[Error] " + e;
+                        } finally {
+                            slots.release();
+                        }
+
+                        if (count != null)
+                            count.incrementAndGet();
+                        else
+                            failed.add(url);
+                        int n = done.incrementAndGet();
+                        listener.onProgress("[" + n + "/" + total + ", " + failed.size() + " failed, "
+                                + queued.get() + " queued] " + url + ": " + msg);
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+
+        return new Summary(total, succeeded.get(), queued.get(), new ArrayList<>(failed));
+    }
+
+    private static List<String> readUrls(InputStream in) throws IOException {
+        List<String> urls = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#"))
+                urls.add(line);
+        }
+        return urls;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if ("Fill the token here".equals(Config.TOKEN)) {
+            System.err.println("[Error] Please fill the token in Config.java");
+            System.exit(1);
+        }
+
+        List<String> urls;
+        if (args.length > 0 && !"-".equals(args[0])) {
+            InputStream in = new FileInputStream(args[0]);
+            try {
+                urls = readUrls(in);
+            } finally {
+                in.close();
+            }
+        } else {
+            urls = readUrls(System.in);
+        }
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Config.BATCH_WORKERS;
+
+        ArchivePipeline pipeline = ArchivePipeline.create(
+                new File(System.getProperty("webarchiver.cache", "webarchiver-cache")),
+                new File(System.getProperty("webarchiver.data", "webarchiver-data")));
+
+        ProgressListener out = new ProgressListener() {
+            @Override
+            public void onProgress(String msg) {
+                System.out.println(msg);
+            }
+        };
+        pipeline.retryPending(out);
+
+        BatchArchiver archiver = new BatchArchiver(pipeline, workers, Config.BATCH_QUEUE_SIZE);
+        archiver.setHostRateLimiter(new HostRateLimiter(Config.BATCH_HOST_INTERVAL));
+        Summary summary = archiver.run(urls, out);
+        int pending = pipeline.retryPending(out);
+        pipeline.shutdown();
+
+        System.out.println("Archived " + summary.succeeded + " of " + summary.total + " urls, "
+                + summary.queued + " queued for a later upload.");
+        if (pending > 0)
+            System.out.println(pending + " notes are queued for another upload attempt.");
+        if (pipeline.getRequestScheduler() != null)
+            System.out.println(pipeline.getRequestScheduler());
+        for (String url : summary.failed) {
+            System.out.println("Failed: " + url);
+        }
+        System.exit(summary.failed.isEmpty() ? 0 : 2);
+    }
+}
@@ -3,4 +3,33 @@ package xywang.webarchiver;
 public class Config {
     public static final String TOKEN = "Fill the token here";
     public static final String NOTEBOOK_NAME = "Fill the notebook name here";
+
+    /* parallel image downloads, overall and towards a single host */
+    public static final int IMAGE_FETCH_CONCURRENCY = 8;
+    public static final int IMAGE_FETCH_PER_HOST = 4;
+
+    /* on-disk cache of downloaded images, shared by all articles */
+    public static final long RESOURCE_CACHE_MAX_BYTES = 32L * 1024 * 1024;
+
+    /* how long responses without caching headers are used without revalidation, in ms */
+    public static final long ARTICLE_DEFAULT_MAX_AGE = 0;
+    public static final long IMAGE_DEFAULT_MAX_AGE = 7L * 24 * 60 * 60 * 1000;
+
+    /* batch mode: parallel articles, queued articles, and spacing of article fetches per host in ms */
+    public static final int BATCH_WORKERS = 4;
+    public static final int BATCH_QUEUE_SIZE = 64;
+    public static final long BATCH_HOST_INTERVAL = 1000;
+
+    /* retries of failed uploads: first delay and cap in ms, doubling in between */
+    public static final long RETRY_BASE_DELAY = 30L * 1000;
+    public static final long RETRY_MAX_DELAY = 6L * 60 * 60 * 1000;
+    public static final int RETRY_MAX_ATTEMPTS = 10;
+
+    /* pacing of Evernote calls, and the longest rate limit cooldown to wait out in ms before queueing the note */
+    public static final double EVERNOTE_CALLS_PER_SECOND = 2;
+    public static final int EVERNOTE_CALL_BURST = 10;
+    public static final long RATE_LIMIT_MAX_WAIT = 60L * 1000;
+
+    /* note store connections shared by concurrent uploads */
+    public static final int EVERNOTE_CLIENT_POOL_SIZE = 4;
 }
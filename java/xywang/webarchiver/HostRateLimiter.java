@@ -0,0 +1,34 @@
+package xywang.webarchiver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps requests towards the same host at least {@code interval} ms apart.
+ *
+ * Callers reserve the next free slot of a host and schedule the request for it,
+ * for example on a {@link java.util.concurrent.ScheduledExecutorService}, so no
+ * thread is tied up waiting for one host while requests to others are due.
+ */
+class HostRateLimiter {
+
+    private final long interval;
+    private final Map<String, Long> nextSlot = new HashMap<>();
+
+    HostRateLimiter(long interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Reserves the next free slot for a request to {@code host}.
+     *
+     * @return the delay until the slot, in ms
+     */
+    synchronized long reserve(String host) {
+        long now = System.currentTimeMillis();
+        Long next = nextSlot.get(host);
+        long slot = next == null ? now : Math.max(now, next);
+        nextSlot.put(host, slot + interval);
+        return slot - now;
+    }
+}
@@ -0,0 +1,334 @@
+package xywang.webarchiver;
+
+import com.evernote.clients.ResourceCache;
+
+import org.jsoup.Connection;
+import org.jsoup.HttpStatusException;
+import org.jsoup.Jsoup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * A small HTTP cache for the pages and images we archive.
+ *
+ * For every url it remembers the ETag, Last-Modified and freshness of the last
+ * response, while the body itself is kept in a {@link ResourceCache} by its MD5
+ * hash. A fresh entry is served without touching the network. A stale entry is
+ * revalidated with If-None-Match / If-Modified-Since, and a 304 answer is served
+ * from the stored body.
+ *
+ * Responses marked no-store or private are not stored. A stale entry is never
+ * served without revalidation; responses marked must-revalidate get no
+ * heuristic freshness either, so without max-age or Expires they are
+ * revalidated on every fetch. Other responses without Cache-Control, Expires
+ * or Last-Modified stay fresh for the {@code defaultMaxAge} given to
+ * {@link #fetch(String, long)}.
+ *
+ * The index is written after every {@code INDEX_WRITE_INTERVAL} changes and by
+ * {@link #flush()}.
+ */
+class HttpCache {
+
+    static class Response {
+        private final String url;
+        private final String contentType;
+        private final byte[] body;
+        private final byte[] bodyHash;
+        private final boolean cached;
+
+        Response(String url, String contentType, byte[] body, byte[] bodyHash, boolean cached) {
+            this.url = url;
+            this.contentType = contentType;
+            this.body = body;
+            this.bodyHash = bodyHash;
+            this.cached = cached;
+        }
+
+        /* the url after redirects */
+        String getUrl() { return url; }
+        String getContentType() { return contentType; }
+        byte[] getBody() { return body; }
+        /* MD5 of the body, null if the response could not be stored */
+        byte[] getBodyHash() { return bodyHash; }
+        /* true if no body was transferred */
+        boolean isCached() { return cached; }
+
+        /* the charset of the content type, or null to let the parser detect it */
+        String getCharset() {
+            if (contentType == null)
+                return null;
+            int idx = contentType.toLowerCase(Locale.US).indexOf("charset=");
+            if (idx < 0)
+                return null;
+            String cs = contentType.substring(idx + 8).trim();
+            int end = cs.indexOf(';');
+            if (end >= 0)
+                cs = cs.substring(0, end).trim();
+            if (cs.startsWith("\"") && cs.endsWith("\"") && cs.length() > 1)
+                cs = cs.substring(1, cs.length() - 1);
+            return cs.isEmpty() ? null : cs;
+        }
+    }
+
+    private static class Entry {
+        String finalUrl;
+        String etag;
+        String lastModified;
+        String contentType;
+        String hash;
+        long expires;
+    }
+
+    private static final int MAX_ENTRIES = 2000;
+    private static final long MAX_HEURISTIC_AGE = 24L * 60 * 60 * 1000;
+    private static final String INDEX_FILE = "http-index";
+    private static final int INDEX_WRITE_INTERVAL = 32;
+
+    private final ResourceCache bodies;
+    private final File index;
+    /* changes not written to the index yet */
+    private int unsavedChanges;
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    HttpCache(File dir, ResourceCache bodies) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs())
+            throw new IOException("Cannot create " + dir);
+        this.bodies = bodies;
+        this.index = new File(dir, INDEX_FILE);
+        loadIndex();
+    }
+
+    /**
+     * Fetches {@code url}, from the cache if possible.
+     *
+     * @param defaultMaxAge how long a response without any caching headers stays fresh, in ms
+     * @throws HttpStatusException if the server answers with an error status
+     */
+    Response fetch(String url, long defaultMaxAge) throws IOException {
+        Entry entry;
+        ResourceCache.Entry stored = null;
+        synchronized (this) {
+            entry = entries.get(url);
+            if (entry != null) {
+                stored = bodies.getByHash(ResourceCache.fromHex(entry.hash));
+                if (stored == null) {
+                    /* the body has been evicted */
+                    entries.remove(url);
+                    entry = null;
+                }
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        if (entry != null && now < entry.expires)
+            return new Response(entry.finalUrl, entry.contentType, stored.getBody(), stored.getBodyHash(), true);
+
+        Connection conn = Jsoup.connect(url)
+                .ignoreContentType(true)
+                .ignoreHttpErrors(true)
+                .maxBodySize(0);
+        if (entry != null) {
+            if (entry.etag != null)
+                conn.header("If-None-Match", entry.etag);
+            if (entry.lastModified != null)
+                conn.header("If-Modified-Since", entry.lastModified);
+        }
+        Connection.Response res = conn.execute();
+        int status = res.statusCode();
+
+        if (status == 304 && entry != null) {
+            Long expires = expiresAt(res, entry.lastModified, now, defaultMaxAge);
+            synchronized (this) {
+                if (expires != null)
+                    entry.expires = expires;
+                if (res.header("ETag") != null)
+                    entry.etag = res.header("ETag");
+                entries.put(url, entry);
+                indexChanged();
+            }
+            return new Response(entry.finalUrl, entry.contentType, stored.getBody(), stored.getBodyHash(), true);
+        }
+
+        if (status < 200 || status >= 300)
+            throw new HttpStatusException("HTTP error fetching URL", status, url);
+
+        byte[] body = res.bodyAsBytes();
+        String finalUrl = res.url().toExternalForm();
+        String lastModified = res.header("Last-Modified");
+        Long expires = expiresAt(res, lastModified, now, defaultMaxAge);
+        byte[] hash = null;
+        if (expires != null && body.length <= bodies.getMaxBytes()) {
+            hash = bodies.put(url, body, res.contentType());
+
+            Entry e = new Entry();
+            e.finalUrl = finalUrl;
+            e.etag = res.header("ETag");
+            e.lastModified = lastModified;
+            e.contentType = res.contentType();
+            e.hash = ResourceCache.toHex(hash);
+            e.expires = expires;
+            synchronized (this) {
+                entries.put(url, e);
+                indexChanged();
+            }
+        }
+        return new Response(finalUrl, res.contentType(), body, hash, false);
+    }
+
+    /**
+     * Writes what has not been written to disk yet, call before the cache is discarded.
+     */
+    void flush() throws IOException {
+        synchronized (this) {
+            if (unsavedChanges > 0)
+                writeIndex();
+        }
+        bodies.flush();
+    }
+
+    private void indexChanged() {
+        if (++unsavedChanges < INDEX_WRITE_INTERVAL)
+            return;
+        try {
+            writeIndex();
+        } catch (IOException e) {
+            /* the next write or flush() tries again */
+            e.printStackTrace();
+        }
+    }
+
+    /* the time the response goes stale, or null if it must not be stored */
+    private static Long expiresAt(Connection.Response res, String lastModified, long now, long defaultMaxAge) {
+        String cc = res.header("Cache-Control");
+        boolean noCache = false;
+        boolean mustRevalidate = false;
+        Long maxAge = null;
+        if (cc != null) {
+            for (String directive : cc.toLowerCase(Locale.US).split(",")) {
+                directive = directive.trim();
+                if (directive.equals("no-store") || directive.equals("private")
+                        || directive.startsWith("private="))
+                    return null;
+                if (directive.equals("no-cache"))
+                    noCache = true;
+                else if (directive.equals("must-revalidate"))
+                    mustRevalidate = true;
+                else if (directive.startsWith("max-age=") && maxAge == null) {
+                    try {
+                        maxAge = Long.parseLong(directive.substring(8).trim());
+                    } catch (NumberFormatException e) {
+                        /* ignore the directive */
+                    }
+                }
+            }
+        }
+        if (noCache)
+            return now;
+        if (maxAge != null)
+            return now + maxAge * 1000;
+
+        long expires = parseDate(res.header("Expires"));
+        if (expires > 0) {
+            long date = parseDate(res.header("Date"));
+            return now + Math.max(0, expires - (date > 0 ? date : now));
+        }
+
+        if (mustRevalidate)
+            return now;
+
+        long modified = parseDate(lastModified);
+        if (modified > 0) {
+            /* heuristic freshness, a tenth of the age of the document */
+            return now + Math.min(MAX_HEURISTIC_AGE, Math.max(0, (now - modified) / 10));
+        }
+
+        return now + defaultMaxAge;
+    }
+
+    private static long parseDate(String value) {
+        if (value == null)
+            return -1;
+        SimpleDateFormat fmt = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        fmt.setTimeZone(TimeZone.getTimeZone("GMT"));
+        try {
+            return fmt.parse(value).getTime();
+        } catch (ParseException e) {
+            return -1;
+        }
+    }
+
+    /* one tab separated line per url: url, final url, etag, last-modified, content type, hash, expires */
+    private void loadIndex() throws IOException {
+        if (!index.exists())
+            return;
+        BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(index), "UTF-8"));
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.split("\t", -1);
+                if (parts.length != 7 || parts[5].length() != 32)
+                    continue;
+                Entry e = new Entry();
+                e.finalUrl = parts[1];
+                e.etag = parts[2].isEmpty() ? null : parts[2];
+                e.lastModified = parts[3].isEmpty() ? null : parts[3];
+                e.contentType = parts[4].isEmpty() ? null : parts[4];
+                e.hash = parts[5];
+                try {
+                    e.expires = Long.parseLong(parts[6]);
+                } catch (NumberFormatException ex) {
+                    continue;
+                }
+                entries.put(parts[0], e);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        File tmp = new File(index.getPath() + ".tmp");
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmp), "UTF-8"));
+        try {
+            for (Map.Entry<String, Entry> me : entries.entrySet()) {
+                Entry e = me.getValue();
+                out.write(clean(me.getKey()) + "\t" + clean(e.finalUrl) + "\t" + clean(e.etag) + "\t"
+                        + clean(e.lastModified) + "\t" + clean(e.contentType) + "\t" + e.hash + "\t"
+                        + e.expires + "\n");
+            }
+        } finally {
+            out.close();
+        }
+        if (!tmp.renameTo(index)) {
+            index.delete();
+            if (!tmp.renameTo(index))
+                throw new IOException("Cannot write " + index);
+        }
+        unsavedChanges = 0;
+    }
+
+    private static String clean(String s) {
+        if (s == null)
+            return "";
+        return s.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
@@ -0,0 +1,259 @@
+package xywang.webarchiver;
+
+import com.evernote.edam.type.Data;
+import com.evernote.edam.type.Resource;
+import com.evernote.edam.type.ResourceAttributes;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Downloads images in parallel and turns them into {@link Resource}s.
+ *
+ * At most {@code concurrency} downloads run at once, and at most {@code perHost}
+ * of them talk to the same host. Downloads beyond the host limit wait in a queue
+ * of their host and are only handed to the pool when one of that host's
+ * downloads finishes, so they never hold a pool thread while waiting. One
+ * fetcher is shared by all articles being archived, so the limits hold across
+ * them. Callers keep the returned futures in document order, so the results
+ * can be put back in the order the images appeared, and cancel them if they
+ * give up on the article.
+ *
+ * If an {@link HttpCache} is given, images are fetched through it, so images
+ * seen before are served from disk or revalidated instead of downloaded again.
+ */
+class ImageFetcher {
+
+    static class FetchException extends Exception {
+        FetchException(String msg) {
+            super(msg);
+        }
+    }
+
+    private final ExecutorService executor;
+    private final int perHost;
+    /* per host, the number of downloads handed to the executor and those waiting for their turn */
+    private final Map<String, Integer> running = new HashMap<>();
+    private final Map<String, Queue<FutureTask<Resource>>> waiting = new HashMap<>();
+    private boolean shutdown;
+    private final HttpCache cache;
+
+    ImageFetcher(int concurrency, int perHost, HttpCache cache) {
+        this.executor = Executors.newFixedThreadPool(Math.max(1, concurrency));
+        this.perHost = Math.max(1, perHost);
+        this.cache = cache;
+    }
+
+    /**
+     * Schedules the download of one image.
+     *
+     * @param imgURL absolute image url
+     * @param idx 1-based position of the image in the document, used for the file name
+     * @param total number of images in the document, used for progress messages
+     * @param listener receives the progress messages of this download
+     */
+    Future<Resource> submit(final String imgURL, final int idx, final int total, final ProgressListener listener) {
+        FutureTask<Resource> task = new FutureTask<>(new Callable<Resource>() {
+            @Override
+            public Resource call() throws Exception {
+                return fetch(imgURL, idx, total, listener);
+            }
+        });
+        String host = ArchivePipeline.hostOf(imgURL);
+        synchronized (this) {
+            if (shutdown) {
+                task.cancel(false);
+                return task;
+            }
+            Integer n = running.get(host);
+            if (n != null && n >= perHost) {
+                Queue<FutureTask<Resource>> queue = waiting.get(host);
+                if (queue == null) {
+                    queue = new ArrayDeque<>();
+                    waiting.put(host, queue);
+                }
+                queue.add(task);
+                return task;
+            }
+            running.put(host, n == null ? 1 : n + 1);
+        }
+        start(host, task);
+        return task;
+    }
+
+    /**
+     * Stops all downloads that have not finished yet.
+     */
+    void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            for (Queue<FutureTask<Resource>> queue : waiting.values()) {
+                for (FutureTask<Resource> task : queue)
+                    task.cancel(false);
+            }
+            waiting.clear();
+        }
+        executor.shutdownNow();
+    }
+
+    private void start(final String host, final FutureTask<Resource> task) {
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        task.run();
+                    } finally {
+                        finished(host);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            /* shut down meanwhile */
+            task.cancel(false);
+        }
+    }
+
+    /* hands the next waiting download of host to the executor */
+    private void finished(String host) {
+        FutureTask<Resource> next = null;
+        synchronized (this) {
+            Queue<FutureTask<Resource>> queue = waiting.get(host);
+            if (queue != null) {
+                next = queue.poll();
+                if (queue.isEmpty())
+                    waiting.remove(host);
+            }
+            if (next == null) {
+                int n = running.get(host) - 1;
+                if (n == 0)
+                    running.remove(host);
+                else
+                    running.put(host, n);
+                return;
+            }
+        }
+        start(host, next);
+    }
+
+    private Resource fetch(String imgURL, int idx, int total, ProgressListener listener) throws FetchException {
+        String mime;
+        String suffix;
+        if (imgURL.contains(".jpg")
+                || imgURL.contains(".jpeg")
+                || imgURL.contains("=jpg")
+                || imgURL.contains("_jpg")
+                || imgURL.contains("=jpeg")
+                || imgURL.contains("_jpeg")) {
+            mime = "image/jpeg";
+            suffix = "jpeg";
+        } else if (imgURL.contains(".png")
+                || imgURL.contains("=png")
+                || imgURL.contains("_png")) {
+            mime = "image/png";
+            suffix = "png";
+        } else if (imgURL.contains(".gif")
+                || imgURL.contains("=gif")
+                || imgURL.contains("_gif")) {
+            mime = "image/gif";
+            suffix = "gif";
+        } else {
+            throw new FetchException("Unknown image type " + imgURL);
+        }
+
+        byte[] bodyb;
+        byte[] hashb = null;
+
+        if (cache != null) {
+            HttpCache.Response res = fetchCached(imgURL, idx, total, listener);
+            bodyb = res.getBody();
+            hashb = res.getBodyHash();
+        } else {
+            bodyb = download(imgURL, idx, total, listener);
+        }
+
+        if (hashb == null) {
+            try {
+                hashb = MessageDigest.getInstance("MD5").digest(bodyb);
+            } catch (NoSuchAlgorithmException e) {
+                throw new FetchException("Cannot find MD5 algorithm");
+            }
+        }
+
+        Data d = new Data();
+        d.setSize(bodyb.length);
+        d.setBodyHash(hashb);
+        d.setBody(bodyb);
+
+        Resource r = new Resource();
+        r.setData(d);
+        r.setMime(mime);
+
+        ResourceAttributes ra = new ResourceAttributes();
+        ra.setFileName(idx + "." + suffix);
+        r.setAttributes(ra);
+
+        return r;
+    }
+
+    private HttpCache.Response fetchCached(String imgURL, int idx, int total, ProgressListener listener) throws FetchException {
+        HttpCache.Response res;
+        try {
+            res = cache.fetch(imgURL, Config.IMAGE_DEFAULT_MAX_AGE);
+        } catch (IllegalArgumentException e) {
+            throw new FetchException("Malformed URL: " + imgURL + ".");
+        } catch (IOException e) {
+            listener.onProgress("Fetching " + imgURL + " failed: " + e);
+            throw new FetchException("IOException during fetching " + imgURL + ".");
+        }
+
+        if (res.isCached())
+            listener.onProgress("[" + idx + "/" + total + "] " + imgURL + " is cached.");
+        else
+            listener.onProgress(imgURL + " has been downloaded.");
+        return res;
+    }
+
+    private byte[] download(String imgURL, int idx, int total, ProgressListener listener) throws FetchException {
+        listener.onProgress("[" + idx + "/" + total + "] Downloading " + imgURL + ".");
+
+        byte[] bodyb;
+        try {
+            BufferedInputStream in = new BufferedInputStream(new URL(imgURL).openStream());
+            byte[] block = new byte[10240];
+            int len = 0;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                while ((len = in.read(block)) >= 0) {
+                    out.write(block, 0, len);
+                }
+            } finally {
+                in.close();
+            }
+            bodyb = out.toByteArray();
+        } catch (MalformedURLException e) {
+            throw new FetchException("Malformed URL: " + imgURL + ".");
+        } catch (IOException e) {
+            listener.onProgress("Fetching " + imgURL + " failed: " + e);
+            throw new FetchException("IOException during fetching " + imgURL + ".");
+        }
+
+        listener.onProgress(imgURL + " has been downloaded.");
+        return bodyb;
+    }
+}
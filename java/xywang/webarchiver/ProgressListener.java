@@ -0,0 +1,8 @@
+package xywang.webarchiver;
+
+/**
+ * Receives human readable progress messages of an archive job.
+ */
+interface ProgressListener {
+    void onProgress(String msg);
+}
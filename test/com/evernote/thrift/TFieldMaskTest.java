@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.evernote.thrift;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.evernote.edam.type.Data;
+import com.evernote.edam.type.Note;
+import com.evernote.edam.type.NoteAttributes;
+import com.evernote.edam.type.Resource;
+import com.evernote.edam.type.ResourceAttributes;
+import com.evernote.edam.type.Tag;
+import com.evernote.thrift.protocol.TBinaryProtocol;
+import com.evernote.thrift.protocol.TCompactProtocol;
+import com.evernote.thrift.protocol.TProtocol;
+import com.evernote.thrift.protocol.TProtocolFactory;
+import com.evernote.thrift.transport.TMemoryBuffer;
+
+/**
+ * Checks that a masked read decodes only the requested fields and leaves the
+ * stream positioned after the struct.
+ */
+public class TFieldMaskTest {
+
+  private static final TFieldMask LIST_VIEW = TFieldMask.of(Note.class,
+      "title", "updated", "notebookGuid");
+
+  @Test
+  public void listViewBinary() throws TException {
+    checkListView(new TBinaryProtocol.Factory());
+  }
+
+  @Test
+  public void listViewCompact() throws TException {
+    checkListView(new TCompactProtocol.Factory());
+  }
+
+  @Test
+  public void nestedMask() throws TException {
+    TFieldMask mask = LIST_VIEW.with("resources",
+        TFieldMask.of(Resource.class, "mime", "attributes"));
+    Note note = note();
+    TMemoryBuffer buffer = new TMemoryBuffer(1024);
+    TProtocol prot = new TBinaryProtocol(buffer);
+    note.write(prot);
+
+    Note read = new Note();
+    read.read(prot, mask);
+    assertEquals(1, read.getResourcesSize());
+    Resource resource = read.getResources().get(0);
+    assertEquals("image/png", resource.getMime());
+    assertEquals(note.getResources().get(0).getAttributes(),
+        resource.getAttributes());
+    assertFalse(resource.isSetData());
+    assertFalse(resource.isSetWidth());
+    assertFalse(read.isSetContent());
+    assertEquals(0, buffer.getBytesRemainingInBuffer());
+  }
+
+  @Test
+  public void deserializer() throws TException {
+    Note note = note();
+    byte[] bytes = new TSerializer().serialize(note);
+
+    Note read = new Note();
+    new TDeserializer().deserialize(read, bytes, LIST_VIEW);
+    assertListView(note, read);
+  }
+
+  @Test
+  public void unknownFieldName() {
+    try {
+      TFieldMask.of(Note.class, "title", "body");
+      fail("no exception for a field Note does not have");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  private static void checkListView(TProtocolFactory factory)
+      throws TException {
+    Note note = note();
+    Tag next = new Tag();
+    next.setGuid("tag");
+    next.setName("after the note");
+    TMemoryBuffer buffer = new TMemoryBuffer(1024);
+    TProtocol prot = factory.getProtocol(buffer);
+    note.write(prot);
+    next.write(prot);
+
+    Note read = new Note();
+    read.read(prot, LIST_VIEW);
+    assertListView(note, read);
+
+    Tag readNext = new Tag();
+    readNext.read(prot);
+    assertEquals(next, readNext);
+    assertEquals(0, buffer.getBytesRemainingInBuffer());
+  }
+
+  private static void assertListView(Note note, Note read) {
+    assertEquals(note.getTitle(), read.getTitle());
+    assertEquals(note.getUpdated(), read.getUpdated());
+    assertEquals(note.getNotebookGuid(), read.getNotebookGuid());
+    assertTrue(read.isSetUpdated());
+    assertFalse(read.isSetGuid());
+    assertFalse(read.isSetContent());
+    assertFalse(read.isSetCreated());
+    assertFalse(read.isSetResources());
+    assertFalse(read.isSetAttributes());
+    assertFalse(read.isSetTagNames());
+  }
+
+  private static Note note() {
+    Note note = new Note();
+    note.setGuid("note");
+    note.setTitle("Title");
+    note.setContent("<en-note>content</en-note>");
+    note.setCreated(1000L);
+    note.setUpdated(2000L);
+    note.setNotebookGuid("notebook");
+    note.setTagNames(Arrays.asList("one", "two"));
+
+    Data data = new Data();
+    data.setBody(new byte[5000]);
+    data.setSize(5000);
+    ResourceAttributes resourceAttributes = new ResourceAttributes();
+    resourceAttributes.setFileName("1.png");
+    Resource resource = new Resource();
+    resource.setData(data);
+    resource.setMime("image/png");
+    resource.setWidth((short) 10);
+    resource.setAttributes(resourceAttributes);
+    note.setResources(Arrays.asList(resource));
+
+    NoteAttributes attributes = new NoteAttributes();
+    attributes.setSourceURL("https://example.com/");
+    attributes.setLatitude(1.5);
+    note.setAttributes(attributes);
+    return note;
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.evernote.thrift.protocol;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.evernote.edam.notestore.SyncChunk;
+import com.evernote.edam.type.Data;
+import com.evernote.edam.type.Note;
+import com.evernote.edam.type.NoteAttributes;
+import com.evernote.edam.type.Notebook;
+import com.evernote.edam.type.NotebookRestrictions;
+import com.evernote.edam.type.Resource;
+import com.evernote.edam.type.ResourceAttributes;
+import com.evernote.edam.type.Tag;
+import com.evernote.thrift.TBase;
+import com.evernote.thrift.TException;
+import com.evernote.thrift.transport.TMemoryBuffer;
+
+/**
+ * Checks that structs survive a round trip through {@link TCompactProtocol},
+ * and that they decode to the same values as with {@link TBinaryProtocol},
+ * including fields the reader does not know.
+ */
+public class TCompactProtocolTest {
+
+  @Test
+  public void noteRoundTrip() throws TException {
+    Note note = note();
+    assertEquals(note, roundTrip(note, new Note()));
+  }
+
+  @Test
+  public void syncChunkRoundTrip() throws TException {
+    SyncChunk chunk = syncChunk();
+    assertEquals(chunk, roundTrip(chunk, new SyncChunk()));
+  }
+
+  @Test
+  public void longFieldHeader() throws TException {
+    // a field id more than 15 after the previous one needs the long header
+    Notebook notebook = new Notebook();
+    NotebookRestrictions restrictions = new NotebookRestrictions();
+    restrictions.setNoReadNotes(true);
+    notebook.setRestrictions(restrictions);
+    assertEquals(notebook, roundTrip(notebook, new Notebook()));
+  }
+
+  @Test
+  public void matchesBinaryProtocol() throws TException {
+    SyncChunk chunk = syncChunk();
+    byte[] binary = write(chunk, new TBinaryProtocol.Factory());
+
+    SyncChunk fromCompact = read(write(chunk, new TCompactProtocol.Factory()),
+        new TCompactProtocol.Factory(), new SyncChunk());
+    assertArrayEquals(binary, write(fromCompact, new TBinaryProtocol.Factory()));
+  }
+
+  @Test
+  public void skipsUnknownFieldsBinary() throws TException {
+    checkUnknownFields(new TBinaryProtocol.Factory());
+  }
+
+  @Test
+  public void skipsUnknownFieldsCompact() throws TException {
+    checkUnknownFields(new TCompactProtocol.Factory());
+  }
+
+  /**
+   * Reads a Notebook as a Tag, which shares only guid and name with it, and
+   * then the Note that follows it in the stream.
+   */
+  private static void checkUnknownFields(TProtocolFactory factory)
+      throws TException {
+    Notebook notebook = syncChunk().getNotebooks().get(0);
+    Note note = note();
+    TMemoryBuffer buffer = new TMemoryBuffer(1024);
+    TProtocol prot = factory.getProtocol(buffer);
+    notebook.write(prot);
+    note.write(prot);
+
+    Tag tag = new Tag();
+    tag.read(prot);
+    assertEquals(notebook.getGuid(), tag.getGuid());
+    assertEquals(notebook.getName(), tag.getName());
+    assertFalse(tag.isSetParentGuid());
+    assertFalse(tag.isSetUpdateSequenceNum());
+
+    Note next = new Note();
+    next.read(prot);
+    assertEquals(note, next);
+    assertEquals(0, buffer.getBytesRemainingInBuffer());
+  }
+
+  private static <T extends TBase<?>> T roundTrip(T value, T empty)
+      throws TException {
+    TProtocolFactory factory = new TCompactProtocol.Factory();
+    return read(write(value, factory), factory, empty);
+  }
+
+  private static byte[] write(TBase<?> value, TProtocolFactory factory)
+      throws TException {
+    TMemoryBuffer buffer = new TMemoryBuffer(1024);
+    value.write(factory.getProtocol(buffer));
+    return buffer.toByteArray();
+  }
+
+  private static <T extends TBase<?>> T read(byte[] bytes,
+      TProtocolFactory factory, T empty) throws TException {
+    TMemoryBuffer buffer = new TMemoryBuffer(bytes.length);
+    buffer.write(bytes);
+    empty.read(factory.getProtocol(buffer));
+    assertEquals(0, buffer.getBytesRemainingInBuffer());
+    return empty;
+  }
+
+  private static Note note() {
+    Note note = new Note();
+    note.setGuid("6b4dd8a7-5a1e-4a66-b9c0-4c1a5e8b2d11");
+    note.setTitle("Crème brûlée 🍮");
+    note.setContent("<en-note>" + repeat("x", 3000) + "</en-note>");
+    note.setContentLength(3019);
+    note.setCreated(1234567890123L);
+    note.setUpdated(-1L);
+    note.setActive(false);
+    note.setUpdateSequenceNum(Integer.MAX_VALUE);
+    note.setTagGuids(Arrays.asList("a", "b", ""));
+
+    byte[] body = new byte[70000];
+    for (int i = 0; i < body.length; i++) {
+      body[i] = (byte) (i * 31);
+    }
+    Data data = new Data();
+    data.setBody(body);
+    data.setSize(body.length);
+    data.setBodyHash(new byte[16]);
+    ResourceAttributes resourceAttributes = new ResourceAttributes();
+    resourceAttributes.setLatitude(-33.8688);
+    resourceAttributes.setAttachment(true);
+    Resource resource = new Resource();
+    resource.setData(data);
+    resource.setMime("image/png");
+    resource.setWidth((short) 640);
+    resource.setAttributes(resourceAttributes);
+    note.setResources(Arrays.asList(resource));
+
+    NoteAttributes attributes = new NoteAttributes();
+    attributes.setLatitude(51.5);
+    attributes.setLongitude(-0.1275);
+    attributes.setAltitude(Double.NEGATIVE_INFINITY);
+    attributes.setSourceURL("https://example.com/");
+    note.setAttributes(attributes);
+    return note;
+  }
+
+  private static SyncChunk syncChunk() {
+    SyncChunk chunk = new SyncChunk();
+    chunk.setCurrentTime(System.currentTimeMillis());
+    chunk.setChunkHighUSN(4711);
+    chunk.setUpdateCount(90000);
+
+    List<Note> notes = new ArrayList<Note>();
+    for (int i = 0; i < 3; i++) {
+      Note note = new Note();
+      note.setGuid("note" + i);
+      note.setTitle("Note " + i);
+      note.setUpdateSequenceNum(4700 + i);
+      note.setActive(i != 1);
+      notes.add(note);
+    }
+    chunk.setNotes(notes);
+
+    Notebook notebook = new Notebook();
+    notebook.setGuid("notebook");
+    notebook.setName("Inbox");
+    notebook.setUpdateSequenceNum(12);
+    notebook.setDefaultNotebook(true);
+    notebook.setServiceUpdated(1L << 40);
+    notebook.setStack("Stack");
+    chunk.setNotebooks(Arrays.asList(notebook));
+
+    Tag tag = new Tag();
+    tag.setGuid("tag");
+    tag.setName("tag");
+    chunk.setTags(Arrays.asList(tag));
+
+    chunk.setExpungedNotes(Arrays.asList("gone1", "gone2"));
+    chunk.setExpungedTags(new ArrayList<String>());
+    return chunk;
+  }
+
+  private static String repeat(String s, int n) {
+    StringBuilder sb = new StringBuilder(s.length() * n);
+    for (int i = 0; i < n; i++) {
+      sb.append(s);
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.evernote.thrift.protocol;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.evernote.edam.type.Data;
+import com.evernote.edam.type.Note;
+import com.evernote.edam.type.NoteAttributes;
+import com.evernote.edam.type.Resource;
+import com.evernote.thrift.TException;
+import com.evernote.thrift.transport.TMemoryBuffer;
+
+/**
+ * Checks that {@link TProtocolUtil#skip(TProtocol, byte)} consumes exactly the
+ * bytes the writer produced for every kind of value, whether it skips by
+ * length or element by element.
+ */
+public class TProtocolUtilTest {
+
+  /** Writes one value of a known type. */
+  private interface Value {
+    byte type();
+
+    void write(TProtocol prot) throws TException;
+  }
+
+  @Test
+  public void skipBinaryProtocol() throws TException {
+    checkSkips(new TBinaryProtocol.Factory());
+  }
+
+  @Test
+  public void skipCompactProtocol() throws TException {
+    checkSkips(new TCompactProtocol.Factory());
+  }
+
+  private static void checkSkips(TProtocolFactory factory) throws TException {
+    List<Value> values = values();
+    TMemoryBuffer buffer = new TMemoryBuffer(64);
+    TProtocol prot = factory.getProtocol(buffer);
+    int[] ends = new int[values.size()];
+    for (int i = 0; i < values.size(); i++) {
+      values.get(i).write(prot);
+      ends[i] = buffer.length();
+    }
+
+    byte[] bytes = buffer.toByteArray();
+    buffer.reset(bytes, 0, bytes.length);
+    prot.reset();
+    for (int i = 0; i < values.size(); i++) {
+      TProtocolUtil.skip(prot, values.get(i).type());
+      assertEquals("position after value " + i, ends[i],
+          buffer.getBufferPosition());
+    }
+    assertEquals(0, buffer.getBytesRemainingInBuffer());
+  }
+
+  private static List<Value> values() {
+    List<Value> values = new ArrayList<Value>();
+    values.add(new Value() {
+      public byte type() {
+        return TType.STRING;
+      }
+
+      public void write(TProtocol prot) throws TException {
+        prot.writeString("héllo 😀");
+      }
+    });
+    values.add(new Value() {
+      public byte type() {
+        return TType.STRING;
+      }
+
+      public void write(TProtocol prot) throws TException {
+        prot.writeBinary(ByteBuffer.wrap(new byte[100000]));
+      }
+    });
+    values.add(new Value() {
+      public byte type() {
+        return TType.STRING;
+      }
+
+      public void write(TProtocol prot) throws TException {
+        prot.writeString("");
+      }
+    });
+    values.add(list(TType.BOOL, 7));
+    values.add(list(TType.BYTE, 300));
+    values.add(list(TType.I16, 20));
+    values.add(list(TType.I32, 1000));
+    values.add(list(TType.I64, 16));
+    values.add(list(TType.DOUBLE, 33));
+    values.add(list(TType.I32, 0));
+    values.add(new Value() {
+      public byte type() {
+        return TType.SET;
+      }
+
+      public void write(TProtocol prot) throws TException {
+        prot.writeSetBegin(new TSet(TType.I64, 5));
+        for (int i = 0; i < 5; i++) {
+          prot.writeI64(-1L << (i * 12));
+        }
+        prot.writeSetEnd();
+      }
+    });
+    values.add(new Value() {
+      public byte type() {
+        return TType.MAP;
+      }
+
+      public void write(TProtocol prot) throws TException {
+        prot.writeMapBegin(new TMap(TType.I16, TType.DOUBLE, 50));
+        for (int i = 0; i < 50; i++) {
+          prot.writeI16((short) (i * 700));
+          prot.writeDouble(i / 3.0);
+        }
+        prot.writeMapEnd();
+      }
+    });
+    values.add(new Value() {
+      public byte type() {
+        return TType.MAP;
+      }
+
+      public void write(TProtocol prot) throws TException {
+        prot.writeMapBegin(new TMap(TType.STRING, TType.I32, 3));
+        for (int i = 0; i < 3; i++) {
+          prot.writeString("key" + i);
+          prot.writeI32(i * 100000);
+        }
+        prot.writeMapEnd();
+      }
+    });
+    values.add(new Value() {
+      public byte type() {
+        return TType.MAP;
+      }
+
+      public void write(TProtocol prot) throws TException {
+        prot.writeMapBegin(new TMap(TType.BYTE, TType.BOOL, 0));
+        prot.writeMapEnd();
+      }
+    });
+    values.add(new Value() {
+      public byte type() {
+        return TType.LIST;
+      }
+
+      public void write(TProtocol prot) throws TException {
+        prot.writeListBegin(new TList(TType.LIST, 4));
+        for (int i = 0; i < 4; i++) {
+          prot.writeListBegin(new TList(TType.I32, i * 5));
+          for (int j = 0; j < i * 5; j++) {
+            prot.writeI32(j * 4099);
+          }
+          prot.writeListEnd();
+        }
+        prot.writeListEnd();
+      }
+    });
+    values.add(new Value() {
+      public byte type() {
+        return TType.MAP;
+      }
+
+      public void write(TProtocol prot) throws TException {
+        prot.writeMapBegin(new TMap(TType.I32, TType.SET, 2));
+        for (int i = 0; i < 2; i++) {
+          prot.writeI32(i);
+          prot.writeSetBegin(new TSet(TType.DOUBLE, 3));
+          for (int j = 0; j < 3; j++) {
+            prot.writeDouble(j);
+          }
+          prot.writeSetEnd();
+        }
+        prot.writeMapEnd();
+      }
+    });
+    values.add(new Value() {
+      public byte type() {
+        return TType.STRUCT;
+      }
+
+      public void write(TProtocol prot) throws TException {
+        note().write(prot);
+      }
+    });
+    values.add(new Value() {
+      public byte type() {
+        return TType.I32;
+      }
+
+      public void write(TProtocol prot) throws TException {
+        prot.writeI32(0xCAFE);
+      }
+    });
+    return values;
+  }
+
+  private static Value list(final byte elemType, final int size) {
+    return new Value() {
+      public byte type() {
+        return TType.LIST;
+      }
+
+      public void write(TProtocol prot) throws TException {
+        prot.writeListBegin(new TList(elemType, size));
+        for (int i = 0; i < size; i++) {
+          switch (elemType) {
+          case TType.BOOL:
+            prot.writeBool(i % 3 == 0);
+            break;
+          case TType.BYTE:
+            prot.writeByte((byte) i);
+            break;
+          case TType.I16:
+            prot.writeI16((short) (i * 1000));
+            break;
+          case TType.I32:
+            prot.writeI32(i * 7919);
+            break;
+          case TType.I64:
+            prot.writeI64((long) i << 40);
+            break;
+          case TType.DOUBLE:
+            prot.writeDouble(i * 0.5);
+            break;
+          default:
+            throw new IllegalArgumentException("type " + elemType);
+          }
+        }
+        prot.writeListEnd();
+      }
+    };
+  }
+
+  private static Note note() {
+    Note note = new Note();
+    note.setTitle("title");
+    note.setContent("<en-note>content</en-note>");
+    note.setUpdated(1234567890123L);
+    note.setActive(true);
+    note.addToTagGuids("tag");
+    NoteAttributes attributes = new NoteAttributes();
+    attributes.setLatitude(1.5);
+    attributes.setSourceURL("https://example.com/");
+    note.setAttributes(attributes);
+    Resource resource = new Resource();
+    Data data = new Data();
+    data.setBody(new byte[5000]);
+    data.setSize(5000);
+    resource.setData(data);
+    resource.setMime("image/png");
+    note.addToResources(resource);
+    return note;
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.evernote.thrift.protocol;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.evernote.thrift.TException;
+import com.evernote.thrift.transport.TMemoryBuffer;
+
+/**
+ * Checks {@link TUtf8} against {@link String#getBytes(Charset)}, with scratch
+ * buffers small enough that characters are split across writes.
+ */
+public class TUtf8Test {
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  private static final int[] SCRATCH_SIZES = { 4, 5, 7, 1024 };
+
+  @Test
+  public void ascii() throws TException {
+    check("");
+    check("a");
+    check("hello world");
+  }
+
+  @Test
+  public void multiByte() throws TException {
+    check("éüß");
+    check("\u007f\u0080\u07ff\u0800\uffff");
+    check("中文 mixed with ascii");
+  }
+
+  @Test
+  public void surrogatePairs() throws TException {
+    check("😀");
+    check("a😀b\ud800\udc00\udbff\udfff");
+  }
+
+  @Test
+  public void unpairedSurrogates() throws TException {
+    check("\ud83d");
+    check("\ude00");
+    check("a\ud83db");
+    check("a\ude00\ud83d");
+    check("\ude00😀\ud83d");
+  }
+
+  @Test
+  public void longerThanScratch() throws TException {
+    check(repeat("a", 5000));
+    check(repeat("é", 3000));
+    check(repeat("中", 2000));
+    check(repeat("😀", 1500));
+    // move the multi-byte characters across every position of the buffer end
+    for (int shift = 0; shift < 4; shift++) {
+      check(repeat("a", 1018 + shift) + repeat("😀中é", 10));
+    }
+  }
+
+  @Test
+  public void random() throws TException {
+    Random random = new Random(42);
+    char[] pool = { 'a', '\u007f', 'é', '\u07ff', '\u0800', '中', '\uffff',
+        '\ud83d', '\ude00', '\ud800', '\udfff' };
+    for (int n = 0; n < 200; n++) {
+      StringBuilder sb = new StringBuilder();
+      int len = random.nextInt(3000);
+      for (int i = 0; i < len; i++) {
+        sb.append(pool[random.nextInt(pool.length)]);
+      }
+      check(sb.toString());
+    }
+  }
+
+  private static void check(String str) throws TException {
+    byte[] expected = str.getBytes(UTF8);
+    assertEquals("length of " + describe(str), expected.length,
+        TUtf8.encodedLength(str));
+    for (int size : SCRATCH_SIZES) {
+      TMemoryBuffer buffer = new TMemoryBuffer(expected.length + 1);
+      TUtf8.write(str, new byte[size], buffer);
+      assertArrayEquals(describe(str) + " with a scratch of " + size, expected,
+          buffer.toByteArray());
+    }
+  }
+
+  private static String describe(String str) {
+    if (str.length() > 20) {
+      return "string of " + str.length() + " chars";
+    }
+    List<String> chars = new ArrayList<String>();
+    for (int i = 0; i < str.length(); i++) {
+      chars.add(Integer.toHexString(str.charAt(i)));
+    }
+    return chars.toString();
+  }
+
+  private static String repeat(String s, int n) {
+    StringBuilder sb = new StringBuilder(s.length() * n);
+    for (int i = 0; i < n; i++) {
+      sb.append(s);
+    }
+    return sb.toString();
+  }
+}